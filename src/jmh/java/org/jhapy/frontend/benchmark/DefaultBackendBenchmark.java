@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.benchmark;
+
+import com.vaadin.flow.component.crud.CrudFilter;
+import com.vaadin.flow.data.provider.Query;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.jhapy.dto.domain.i18n.ElementTrl;
+import org.jhapy.frontend.dataproviders.DefaultBackend;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link DefaultBackend#fetchFromBackEnd} : one grid page out of the in-memory values of a custom
+ * list field, first page and middle of the list.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DefaultBackendBenchmark {
+
+  private static final int PAGE_SIZE = 50;
+
+  @Param({"100", "1000", "10000"})
+  private int size;
+
+  private Backend backend;
+  private Query<ElementTrl, CrudFilter> firstPage;
+  private Query<ElementTrl, CrudFilter> middlePage;
+
+  @Setup
+  public void setup() {
+    List<ElementTrl> values = new ArrayList<>(size);
+    for (long i = 0; i < size; i++) {
+      var value = new ElementTrl();
+      value.setId(i);
+      value.setName("element" + i);
+      value.setValue("Element " + i);
+      values.add(value);
+    }
+    backend = new Backend();
+    backend.setValues(values);
+    firstPage = new Query<>(0, PAGE_SIZE, Collections.emptyList(), null, null);
+    middlePage = new Query<>(size / 2, PAGE_SIZE, Collections.emptyList(), null, null);
+  }
+
+  @Benchmark
+  public List<ElementTrl> firstPage() {
+    return backend.fetch(firstPage);
+  }
+
+  @Benchmark
+  public List<ElementTrl> middlePage() {
+    return backend.fetch(middlePage);
+  }
+
+  private static class Backend extends DefaultBackend<ElementTrl> {
+
+    @Override
+    public Object getId(ElementTrl value) {
+      return value.getId();
+    }
+
+    @Override
+    public void setValues(Collection<ElementTrl> values) {
+      fieldsMap.clear();
+      fieldsMap.addAll(values);
+    }
+
+    @Override
+    public void persist(ElementTrl value) {
+      fieldsMap.add(value);
+    }
+
+    @Override
+    public void delete(ElementTrl value) {
+      fieldsMap.remove(value);
+    }
+
+    List<ElementTrl> fetch(Query<ElementTrl, CrudFilter> query) {
+      try (Stream<ElementTrl> page = fetchFromBackEnd(query)) {
+        return page.collect(Collectors.toList());
+      }
+    }
+  }
+}
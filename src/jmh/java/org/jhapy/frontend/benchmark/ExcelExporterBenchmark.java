@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+import org.jhapy.dto.domain.BaseEntity;
+import org.jhapy.dto.domain.i18n.ElementTrl;
+import org.jhapy.frontend.dataproviders.DefaultFilter;
+import org.jhapy.frontend.utils.ExcelExporter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link ExcelExporter} row building : the values of one exported item read through its getters,
+ * one cell per value. The grid and the data provider are not involved.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExcelExporterBenchmark {
+
+  private ExcelExporter<ElementTrl, DefaultFilter> exporter;
+  private MethodHandle buildRow;
+  private ElementTrl item;
+
+  @Setup
+  public void setup() throws ReflectiveOperationException {
+    exporter = new ExcelExporter<>(null, null, ElementTrl.class);
+    // Row building is private, called for every item of the export
+    buildRow = MethodHandles.privateLookupIn(ExcelExporter.class, MethodHandles.lookup())
+        .findVirtual(ExcelExporter.class, "buildRow",
+            MethodType.methodType(void.class, BaseEntity.class));
+
+    item = new ElementTrl();
+    item.setId(1L);
+    item.setName("securityUser.username");
+    item.setValue("Username");
+    item.setTooltip("Login of the user");
+  }
+
+  @Benchmark
+  public void buildRow() throws Throwable {
+    buildRow.invoke(exporter, item);
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.benchmark;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.jhapy.dto.domain.security.SecurityKeycloakUser;
+import org.jhapy.dto.serviceQuery.ServiceResult;
+import org.jhapy.dto.utils.Page;
+import org.jhapy.frontend.config.hazelcast.HazelcastSerializers;
+import org.jhapy.frontend.utils.SessionInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialized size and time of the values stored in Hazelcast, Java serialization vs the
+ * serializers registered by {@link HazelcastSerializers}. Sizes are printed during the trial
+ * setup, which also checks that the cached results come back with the type of their content.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HazelcastSerializationBenchmark {
+
+  @Param({"java", "compact"})
+  public String serializer;
+
+  @Param({"sessionInfo", "userPage"})
+  public String value;
+
+  private InternalSerializationService serializationService;
+  private Object object;
+  private Data data;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    var serializationConfig = new SerializationConfig();
+    if ("compact".equals(serializer)) {
+      HazelcastSerializers.register(serializationConfig);
+    }
+    serializationService = new DefaultSerializationServiceBuilder()
+        .setConfig(serializationConfig).build();
+
+    checkRoundTrip(new ServiceResult<>(42L), Function.identity());
+    checkRoundTrip(new ServiceResult<>(Boolean.TRUE), Function.identity());
+    checkRoundTrip(new ServiceResult<>(WireFormatBenchmark.samplePage(5)),
+        HazelcastSerializationBenchmark::describePage);
+
+    object = "sessionInfo".equals(value) ? sampleSessionInfo()
+        : new ServiceResult<>(WireFormatBenchmark.samplePage(50));
+    data = serializationService.toData(object);
+    System.out.println();
+    System.out.println("Serialized size (" + serializer + ", " + value + ") : "
+        + data.totalSize() + " bytes");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    serializationService.dispose();
+  }
+
+  @Benchmark
+  public Data serialize() {
+    return serializationService.toData(object);
+  }
+
+  @Benchmark
+  public Object deserialize() {
+    return serializationService.toObject(data);
+  }
+
+  private void checkRoundTrip(ServiceResult<?> expected, Function<Object, Object> describe) {
+    var actual = (ServiceResult<?>) serializationService
+        .toObject(serializationService.toData(expected));
+    var expectedData = expected.getData();
+    var actualData = actual.getData();
+    if (actualData == null || actualData.getClass() != expectedData.getClass()
+        || !Objects.equals(describe.apply(expectedData), describe.apply(actualData))) {
+      throw new IllegalStateException("ServiceResult<" + expectedData.getClass().getSimpleName()
+          + "> round trip failed (" + serializer + ") : " + actualData);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Object describePage(Object data) {
+    var page = (Page<SecurityKeycloakUser>) data;
+    return List.of(page.getTotalElements(), page.getNumber(), page.getContent().stream()
+        .map(user -> user.getClass().getName() + ":" + user.getUsername())
+        .collect(Collectors.toList()));
+  }
+
+  private static SessionInfo sampleSessionInfo() {
+    var sessionInfo = new SessionInfo();
+    sessionInfo.setUsername("user1@jhapy.org");
+    sessionInfo.setSourceIp("192.168.10.24");
+    sessionInfo.setJSessionId("5F2A9C0E4B7D41A3B8E6C2D9F0A1B3C4");
+    sessionInfo.setLoginDateTime(LocalDateTime.now().minusMinutes(20));
+    sessionInfo.setLastContact(LocalDateTime.now());
+    return sessionInfo;
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.benchmark;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.jhapy.dto.domain.i18n.ElementTrl;
+import org.jhapy.dto.serviceQuery.i18n.FindByIso3Query;
+import org.jhapy.frontend.client.i18n.ActionTrlService;
+import org.jhapy.frontend.client.i18n.ElementTrlService;
+import org.jhapy.frontend.client.i18n.I18NServices;
+import org.jhapy.frontend.client.i18n.MessageTrlService;
+import org.jhapy.frontend.utils.i18n.MyI18NProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * {@link MyI18NProvider#getTranslation} : key found in the loaded translations, key found through
+ * its {@code baseEntity} fallback, and key missing locally (remote lookup on the stubbed client).
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class I18NProviderBenchmark {
+
+  private static final int MISSING_KEYS = 4096;
+
+  private GenericApplicationContext context;
+  private MyI18NProvider provider;
+  private MyI18NProvider missProvider;
+  private String hitKey;
+  private String fallbackKey;
+  private String[] missingKeys;
+  private int missIndex;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    context = StubClients.start(ElementTrlService.class, ActionTrlService.class,
+        MessageTrlService.class);
+    provider = new MyI18NProvider();
+    missProvider = new MyI18NProvider();
+    provider.loadRemoteLocales(Locale.ENGLISH.getLanguage());
+    missProvider.loadRemoteLocales(Locale.ENGLISH.getLanguage());
+
+    ElementTrl loaded = I18NServices.getElementTrlService()
+        .findByIso3(new FindByIso3Query(Locale.ENGLISH.getLanguage())).getData().get(0);
+    hitKey = "element." + loaded.getName();
+
+    // The stubbed names have no entity prefix : register a baseEntity translation
+    var fallback = new ElementTrl();
+    fallback.setName("baseEntity.benchmark");
+    fallback.setValue("Benchmark");
+    var elementMapField = ReflectionUtils.findField(MyI18NProvider.class, "elementMap");
+    ReflectionUtils.makeAccessible(elementMapField);
+    ((Map<String, ElementTrl>) ReflectionUtils.getField(elementMapField, provider))
+        .put(fallback.getName(), fallback);
+    fallbackKey = "element.securityUser.benchmark";
+
+    missingKeys = new String[MISSING_KEYS];
+    for (int i = 0; i < MISSING_KEYS; i++) {
+      missingKeys[i] = "element.missing" + i;
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public String hit() {
+    return provider.getTranslation(hitKey, Locale.ENGLISH);
+  }
+
+  @Benchmark
+  public String fallback() {
+    return provider.getTranslation(fallbackKey, Locale.ENGLISH);
+  }
+
+  @Benchmark
+  public String miss() {
+    int index = missIndex++ & (MISSING_KEYS - 1);
+    if (index == 0) {
+      // Found remotely keys are cached : forget them so every key stays a miss
+      missProvider.reloadElements();
+    }
+    return missProvider.getTranslation(missingKeys[index], Locale.ENGLISH);
+  }
+}
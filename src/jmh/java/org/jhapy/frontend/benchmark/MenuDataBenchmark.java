@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.jhapy.frontend.views.menu.MenuData;
+import org.jhapy.frontend.views.menu.MenuEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link MenuData#getChildItems} on a three levels menu tree with the given number of entries per
+ * level, children of the root level and of the deepest level.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MenuDataBenchmark {
+
+  @Param({"5", "10"})
+  private int breadth;
+
+  private MenuData menuData;
+  private MenuEntry root;
+  private MenuEntry deepest;
+
+  @Setup
+  public void setup() {
+    menuData = new MenuData();
+    for (int i = 0; i < breadth; i++) {
+      var level1 = entry("menu" + i, null);
+      for (int j = 0; j < breadth; j++) {
+        var level2 = entry(level1.getId() + "/" + j, level1);
+        for (int k = 0; k < breadth; k++) {
+          entry(level2.getId() + "/" + k, level2);
+        }
+        deepest = level2;
+      }
+      root = level1;
+    }
+  }
+
+  @Benchmark
+  public List<MenuEntry> rootChildren() {
+    return menuData.getChildItems(root);
+  }
+
+  @Benchmark
+  public List<MenuEntry> deepestChildren() {
+    return menuData.getChildItems(deepest);
+  }
+
+  private MenuEntry entry(String id, MenuEntry parent) {
+    var menuEntry = new MenuEntry(id);
+    menuEntry.setTitle(id);
+    menuEntry.setTargetId(id);
+    menuEntry.setParentMenuEntry(parent);
+    menuData.addMenuEntry(menuEntry);
+    return menuEntry;
+  }
+}
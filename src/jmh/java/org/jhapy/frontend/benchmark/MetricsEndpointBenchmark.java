@@ -0,0 +1,107 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ClassLoaderMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmGcMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
+import io.micrometer.core.instrument.binder.system.ProcessorMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.jhapy.frontend.client.metrics.RemoteCallMetrics;
+import org.jhapy.frontend.endpoint.JHapyMetricsEndpoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link JHapyMetricsEndpoint#allMetrics()} on a registry holding the JVM meters, the HTTP server
+ * timers of the given number of URIs and the remote call timers of as many operations.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsEndpointBenchmark {
+
+  private static final List<String> METHODS = List.of("GET", "POST");
+  private static final List<String> OUTCOMES = List.of("success", "fallback");
+
+  @Param({"10", "100"})
+  private int uris;
+
+  private JvmGcMetrics jvmGcMetrics;
+  private JHapyMetricsEndpoint endpoint;
+
+  @Setup
+  public void setup() {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    new JvmMemoryMetrics().bindTo(meterRegistry);
+    new ClassLoaderMetrics().bindTo(meterRegistry);
+    new ProcessorMetrics().bindTo(meterRegistry);
+    jvmGcMetrics = new JvmGcMetrics();
+    jvmGcMetrics.bindTo(meterRegistry);
+
+    for (int i = 0; i < uris; i++) {
+      for (String method : METHODS) {
+        Timer.builder("http.server.requests")
+            .tags("uri", "/api/resource" + i, "method", method, "status", "200")
+            .register(meterRegistry)
+            .record(Duration.ofMillis(i % 50 + 1));
+      }
+      for (String outcome : OUTCOMES) {
+        Timer.builder(RemoteCallMetrics.CALLS)
+            .tags("service", "Service" + i, "method", "getById", "outcome", outcome)
+            .register(meterRegistry)
+            .record(Duration.ofMillis(i % 50 + 1));
+      }
+    }
+    endpoint = new JHapyMetricsEndpoint(meterRegistry);
+  }
+
+  @TearDown
+  public void tearDown() {
+    jvmGcMetrics.close();
+  }
+
+  @Benchmark
+  public Map<String, Map> allMetrics() {
+    return endpoint.allMetrics();
+  }
+}
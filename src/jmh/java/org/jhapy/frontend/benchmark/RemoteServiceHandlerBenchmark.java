@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jhapy.frontend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.jhapy.commons.exception.ErrorConstants;
+import org.jhapy.commons.exception.JHapyProblem;
+import org.jhapy.dto.serviceQuery.ServiceResult;
+import org.jhapy.frontend.client.RemoteServiceHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.zalando.problem.ProblemModule;
+
+/**
+ * Fallback path of the remote services under sustained failure : every call decodes the problem
+ * returned by the remote service. {@code legacyProblemDecoding} reproduces the decoding step of
+ * the previous implementation (one ObjectMapper per failure) as a reference.
+ *
+ * Logging is turned off to measure the decoding and logging context work only. Run with {@code
+ * -prof gc} to compare the allocation rates.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class RemoteServiceHandlerBenchmark {
+
+  private final RemoteServiceHandler remoteServiceHandler = new RemoteServiceHandler() {
+  };
+
+  private FeignException feignException;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME))
+        .setLevel(ch.qos.logback.classic.Level.OFF);
+
+    var body = ("{\"type\":\"" + ErrorConstants.SERVICE_EXCEPTION_TYPE + "\","
+        + "\"title\":\"Service exception\",\"status\":500,"
+        + "\"detail\":\"Cannot connect to the database\",\"serviceName\":\"app-i18n-server\"}")
+        .getBytes(StandardCharsets.UTF_8);
+    var request = Request.create(HttpMethod.POST, "http://i18n/api/elementTrlService/findByIso3",
+        Collections.emptyMap(), null, StandardCharsets.UTF_8, null);
+    var response = Response.builder().status(500).reason("Internal Server Error")
+        .request(request).headers(Collections.emptyMap()).body(body).build();
+    feignException = FeignException.errorStatus("ElementTrlService#findByIso3", response);
+  }
+
+  @Benchmark
+  public ServiceResult fallback() {
+    return remoteServiceHandler.defaultFallback(
+        remoteServiceHandler.getLoggerPrefix("findByIso3Fallback"), feignException,
+        Collections.emptyList());
+  }
+
+  @Benchmark
+  public Object legacyProblemDecoding() throws Exception {
+    var objectMapper = new ObjectMapper();
+    objectMapper.registerModule(new ProblemModule());
+    return objectMapper.readValue(new String(feignException.responseBody().orElseThrow().array()),
+        JHapyProblem.class);
+  }
+
+  /**
+   * Prefix of a call that logs nothing, never rendered.
+   */
+  @Benchmark
+  public Object loggerPrefix() {
+    return remoteServiceHandler.getLoggerPrefix("findByIso3Fallback", "eng");
+  }
+
+  @Benchmark
+  public String renderedLoggerPrefix() {
+    return remoteServiceHandler.getLoggerPrefix("findByIso3Fallback", "eng").toString();
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import org.jhapy.dto.domain.security.SecurityKeycloakUser;
+import org.jhapy.frontend.converter.SecurityConverter;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link SecurityConverter#convertToDto(UserRepresentation)} on Keycloak users carrying an inline
+ * (base64) picture of the given size, and on a page of such users.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SecurityConverterBenchmark {
+
+  private static final int PAGE_SIZE = 50;
+
+  /**
+   * Width and height of the picture, 0 for a user without picture.
+   */
+  @Param({"0", "128", "512"})
+  private int pictureSize;
+
+  private SecurityConverter converter;
+  private UserRepresentation user;
+  private List<UserRepresentation> users;
+
+  @Setup
+  public void setup() throws IOException {
+    converter = Mappers.getMapper(SecurityConverter.class);
+    String picture = pictureSize == 0 ? null : createPicture(pictureSize);
+    users = new ArrayList<>(PAGE_SIZE);
+    for (int i = 0; i < PAGE_SIZE; i++) {
+      users.add(createUser(i, picture));
+    }
+    user = users.get(0);
+  }
+
+  @Benchmark
+  public SecurityKeycloakUser convertToDto() {
+    return converter.convertToDto(user);
+  }
+
+  @Benchmark
+  public List<SecurityKeycloakUser> convertPage() {
+    return converter.convertToDtoSecurityKeycloakUsers(users);
+  }
+
+  private static UserRepresentation createUser(int index, String picture) {
+    var user = new UserRepresentation();
+    user.setId("user-" + index);
+    user.setUsername("user" + index);
+    user.setFirstName("First" + index);
+    user.setLastName("Last" + index);
+    user.setEmail("user" + index + "@jhapy.org");
+    user.setEnabled(true);
+    Map<String, List<String>> attributes = new HashMap<>();
+    attributes.put("title", List.of("Mr"));
+    attributes.put("phone", List.of("+33 6 00 00 00 00"));
+    attributes.put("locale", List.of("en"));
+    if (picture != null) {
+      attributes.put("picture", List.of(picture));
+    }
+    user.setAttributes(attributes);
+    return user;
+  }
+
+  private static String createPicture(int size) throws IOException {
+    var image = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+    var random = new Random(42);
+    for (int y = 0; y < size; y++) {
+      for (int x = 0; x < size; x++) {
+        image.setRGB(x, y, random.nextInt(0xFFFFFF));
+      }
+    }
+    var output = new ByteArrayOutputStream();
+    ImageIO.write(image, "png", output);
+    return Base64.getEncoder().encodeToString(output.toByteArray());
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.benchmark;
+
+import org.jhapy.frontend.client.ClientBeanRegistry;
+import org.jhapy.frontend.client.stub.StubDataFactory;
+import org.jhapy.frontend.client.stub.StubRemoteServiceInterceptor;
+import org.jhapy.frontend.config.AppProperties;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.context.support.GenericApplicationContext;
+
+/**
+ * Minimal application context for the benchmarks : the given clients are the {@code loadtest}
+ * stubs answering without latency, and the static service facades resolve them through the
+ * {@link ClientBeanRegistry}.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public final class StubClients {
+
+  private StubClients() {
+  }
+
+  public static GenericApplicationContext start(Class<?>... clientTypes) {
+    var loadTest = new AppProperties.LoadTest();
+    loadTest.setLatencyMillis(0L);
+    var stubDataFactory = new StubDataFactory(loadTest);
+
+    var context = new GenericApplicationContext();
+    context.registerBean(ClientBeanRegistry.class);
+    for (Class<?> clientType : clientTypes) {
+      register(context, clientType, stubDataFactory, loadTest);
+    }
+    context.refresh();
+    return context;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> void register(GenericApplicationContext context, Class<T> clientType,
+      StubDataFactory stubDataFactory, AppProperties.LoadTest loadTest) {
+    var proxyFactory = new ProxyFactory();
+    proxyFactory.addInterface(clientType);
+    proxyFactory.addAdvice(new StubRemoteServiceInterceptor(clientType, stubDataFactory,
+        loadTest));
+    var stub = (T) proxyFactory.getProxy(StubClients.class.getClassLoader());
+    context.registerBean(clientType, () -> stub);
+  }
+}
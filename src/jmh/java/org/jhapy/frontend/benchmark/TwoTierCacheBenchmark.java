@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.jhapy.dto.serviceQuery.ServiceResult;
+import org.jhapy.frontend.config.AppProperties;
+import org.jhapy.frontend.config.cache.TwoTierCacheManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+/**
+ * Read of a {@code ServiceResult<Page<...>>} found in the local tier of the two tier cache : the
+ * local copy is decoded on every hit. Compare with {@link HazelcastSerializationBenchmark}
+ * {@code deserialize}, the decoding part of a Hazelcast read.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TwoTierCacheBenchmark {
+
+  private static final String CACHE_NAME = "findUsers";
+  private static final String KEY = "page-0";
+
+  @Param({"1", "50"})
+  public int pageSize;
+
+  private Cache cache;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    // The Hazelcast instance is only needed for the invalidation topic, not used here
+    var cacheManager = new TwoTierCacheManager(new ConcurrentMapCacheManager(CACHE_NAME), null,
+        new AppProperties.LocalCache(), new SimpleMeterRegistry());
+    cache = cacheManager.getCache(CACHE_NAME);
+    cache.put(KEY, new ServiceResult<>(WireFormatBenchmark.samplePage(pageSize)));
+  }
+
+  @Benchmark
+  public Object l1Hit() {
+    return cache.get(KEY).get();
+  }
+}
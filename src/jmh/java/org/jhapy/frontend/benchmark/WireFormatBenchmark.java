@@ -0,0 +1,137 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jhapy.frontend.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.jhapy.dto.domain.security.SecurityKeycloakUser;
+import org.jhapy.dto.serviceQuery.ServiceResult;
+import org.jhapy.dto.utils.Page;
+import org.jhapy.frontend.client.codec.WireFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Payload size and decode time of a typical {@code ServiceResult<Page<...>>} response, JSON vs
+ * Smile, with and without gzip. Sizes are printed during the trial setup.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+  private static final TypeReference<ServiceResult<Page<SecurityKeycloakUser>>> PAGE_TYPE =
+      new TypeReference<>() {
+      };
+
+  @Param({"json", "json-gzip", "smile", "smile-gzip"})
+  public String format;
+
+  @Param({"50"})
+  public int pageSize;
+
+  private ObjectMapper mapper;
+  private ServiceResult<Page<SecurityKeycloakUser>> response;
+  private byte[] payload;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    mapper = format.startsWith("smile") ? new ObjectMapper(new SmileFactory())
+        : new ObjectMapper();
+    mapper.registerModule(new JavaTimeModule());
+
+    response = new ServiceResult<>(samplePage(pageSize));
+    payload = mapper.writeValueAsBytes(response);
+    if (format.endsWith("gzip")) {
+      payload = gzip(payload);
+    }
+    System.out.println();
+    System.out.println("Payload size (" + format + ", " + pageSize + " rows) : "
+        + payload.length + " bytes");
+  }
+
+  @Benchmark
+  public ServiceResult<Page<SecurityKeycloakUser>> decode() throws IOException {
+    return mapper.readValue(WireFormat.uncompressed(new ByteArrayInputStream(payload)), PAGE_TYPE);
+  }
+
+  @Benchmark
+  public byte[] encode() throws IOException {
+    var content = mapper.writeValueAsBytes(response);
+    return format.endsWith("gzip") ? gzip(content) : content;
+  }
+
+  static Page<SecurityKeycloakUser> samplePage(int size) {
+    List<SecurityKeycloakUser> users = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      var user = new SecurityKeycloakUser();
+      user.setUsername("user" + i + "@jhapy.org");
+      user.setEmail("user" + i + "@jhapy.org");
+      user.setFirstName("FirstName" + i);
+      user.setLastName("LastName" + i);
+      user.setTitle("Title " + i);
+      user.setMobileNumber("+33 6 00 00 " + String.format("%02d", i % 100) + " 00");
+      user.setEmailVerified(Boolean.TRUE);
+      user.setIsActivated(Boolean.TRUE);
+      user.setIsLocal(Boolean.FALSE);
+      users.add(user);
+    }
+    var page = new Page<SecurityKeycloakUser>();
+    page.setContent(users);
+    page.setSize(size);
+    page.setNumberOfElements(size);
+    page.setTotalElements((long) size * 20);
+    page.setTotalPages(20);
+    page.setNumber(0);
+    return page;
+  }
+
+  private static byte[] gzip(byte[] content) throws IOException {
+    var outputStream = new ByteArrayOutputStream(content.length);
+    try (var gzipOutputStream = new GZIPOutputStream(outputStream)) {
+      gzipOutputStream.write(content);
+    }
+    return outputStream.toByteArray();
+  }
+}
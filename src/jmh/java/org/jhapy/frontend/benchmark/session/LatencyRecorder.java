@@ -0,0 +1,141 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.benchmark.session;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+
+/**
+ * Round-trip latencies per scenario step. Samples are kept in full (a few hundred thousand longs
+ * for a large run) so the percentiles are exact and two runs of the same scenario compare.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class LatencyRecorder {
+
+  private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+  private volatile boolean recording;
+
+  public void setRecording(boolean recording) {
+    this.recording = recording;
+  }
+
+  public void record(String step, long nanos) {
+    if (recording) {
+      samples.computeIfAbsent(step, s -> new Samples()).add(nanos);
+    }
+  }
+
+  public void error(String step) {
+    if (recording) {
+      errors.computeIfAbsent(step, s -> new LongAdder()).increment();
+    }
+  }
+
+  /**
+   * @return statistics per step plus a {@code total} row over all the steps
+   */
+  public Map<String, Statistics> statistics() {
+    Map<String, Statistics> result = new TreeMap<>();
+    Samples total = new Samples();
+    samples.forEach((step, stepSamples) -> {
+      long[] values = stepSamples.toArray();
+      total.addAll(values);
+      result.put(step, Statistics.of(values, errorCount(step)));
+    });
+    long totalErrors = errors.values().stream().mapToLong(LongAdder::sum).sum();
+    result.put("total", Statistics.of(total.toArray(), totalErrors));
+    return result;
+  }
+
+  private long errorCount(String step) {
+    LongAdder count = errors.get(step);
+    return count == null ? 0 : count.sum();
+  }
+
+  private static final class Samples {
+
+    private long[] values = new long[1024];
+    private int size;
+
+    synchronized void add(long value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    synchronized void addAll(long[] others) {
+      if (size + others.length > values.length) {
+        values = Arrays.copyOf(values, Math.max(size + others.length, size * 2));
+      }
+      System.arraycopy(others, 0, values, size, others.length);
+      size += others.length;
+    }
+
+    synchronized long[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+
+  @Getter
+  public static final class Statistics {
+
+    private final long count;
+    private final long errors;
+    private final double p50Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+
+    private Statistics(long count, long errors, double p50Millis, double p99Millis,
+        double maxMillis) {
+      this.count = count;
+      this.errors = errors;
+      this.p50Millis = p50Millis;
+      this.p99Millis = p99Millis;
+      this.maxMillis = maxMillis;
+    }
+
+    static Statistics of(long[] values, long errors) {
+      if (values.length == 0) {
+        return new Statistics(0, errors, 0, 0, 0);
+      }
+      Arrays.sort(values);
+      return new Statistics(values.length, errors, millis(percentile(values, 0.50)),
+          millis(percentile(values, 0.99)), millis(values[values.length - 1]));
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+      int index = (int) Math.ceil(percentile * sorted.length) - 1;
+      return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+      return nanos / 1_000_000d;
+    }
+  }
+}
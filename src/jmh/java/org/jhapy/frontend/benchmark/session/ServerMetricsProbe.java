@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.benchmark.session;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.OptionalDouble;
+
+/**
+ * Reads the heap and the CPU usage of the application under load from its actuator metrics
+ * endpoint, through a session of its own authenticated with the load test header.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class ServerMetricsProbe {
+
+  private static final String MONITOR_USER = "loadtest-monitor";
+
+  private final HttpClient httpClient;
+  private final ObjectMapper objectMapper;
+  private final SessionLoadOptions options;
+
+  /**
+   * Session cookie of the monitor, so the probe does not add sessions of its own to the heap.
+   */
+  private volatile String sessionCookie;
+
+  public ServerMetricsProbe(HttpClient httpClient, ObjectMapper objectMapper,
+      SessionLoadOptions options) {
+    this.httpClient = httpClient;
+    this.objectMapper = objectMapper;
+    this.options = options;
+  }
+
+  /**
+   * Lowest used heap over a few samples one second apart : the lowest value is the closest to
+   * the live set, short of forcing a GC on the server.
+   */
+  public OptionalDouble heapBytes(int samples) throws InterruptedException {
+    OptionalDouble result = OptionalDouble.empty();
+    for (int i = 0; i < samples; i++) {
+      if (i > 0) {
+        Thread.sleep(1000);
+      }
+      OptionalDouble sample = metric("jvm.memory.used?tag=area:heap");
+      if (sample.isPresent() && (result.isEmpty()
+          || sample.getAsDouble() < result.getAsDouble())) {
+        result = sample;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return recent CPU usage of the application process, between 0 and 1 for all its cores
+   */
+  public OptionalDouble processCpuUsage() throws InterruptedException {
+    return metric("process.cpu.usage");
+  }
+
+  public OptionalDouble cpuCount() throws InterruptedException {
+    return metric("system.cpu.count");
+  }
+
+  private OptionalDouble metric(String metric) throws InterruptedException {
+    var builder = HttpRequest.newBuilder(
+        URI.create(options.getUrl() + options.getManagementPath() + "/metrics/" + metric))
+        .timeout(Duration.ofSeconds(options.getTimeoutSeconds()))
+        .header(options.getUserHeader(), MONITOR_USER)
+        .header("Accept", "application/json");
+    if (sessionCookie != null) {
+      builder.header("Cookie", sessionCookie);
+    }
+    try {
+      HttpResponse<String> response = httpClient.send(builder.GET().build(),
+          HttpResponse.BodyHandlers.ofString());
+      response.headers().firstValue("Set-Cookie")
+          .ifPresent(setCookie -> sessionCookie = setCookie.split(";", 2)[0]);
+      if (response.statusCode() != 200) {
+        return OptionalDouble.empty();
+      }
+      for (JsonNode measurement : objectMapper.readTree(response.body()).path("measurements")) {
+        if ("VALUE".equals(measurement.path("statistic").asText())) {
+          return OptionalDouble.of(measurement.path("value").asDouble());
+        }
+      }
+      return OptionalDouble.empty();
+    } catch (InterruptedException e) {
+      throw e;
+    } catch (Exception e) {
+      return OptionalDouble.empty();
+    }
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.benchmark.session;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Capacity benchmark of the frontend : simulates thousands of Vaadin sessions from one process
+ * against an application started with the {@code loadtest} profile (stubbed backends, header
+ * authentication), and reports the p50/p99 UIDL round-trip latency per step, the heap per session
+ * and the sessions per core.
+ *
+ * <p>The run is split in phases so two runs with the same options compare : all the sessions log
+ * in during the ramp-up and run the warmup iterations unmeasured, then the measured iterations
+ * run while the server CPU is sampled, and the heap is read while all the sessions are still
+ * open.</p>
+ *
+ * <pre>
+ * mvn -Pjmh compile exec:exec \
+ *   -Dbenchmark.main=org.jhapy.frontend.benchmark.session.SessionLoadGenerator \
+ *   -Djmh.args="--url=http://localhost:8080 --sessions=2000 --ramp-up-seconds=120"
+ * </pre>
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class SessionLoadGenerator {
+
+  private final SessionLoadOptions options;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final LatencyRecorder recorder = new LatencyRecorder();
+  private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+  private final ExecutorService executor = Executors
+      .newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+  private final HttpClient httpClient;
+  private final ServerMetricsProbe probe;
+
+  public SessionLoadGenerator(SessionLoadOptions options) {
+    this.options = options;
+    this.httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .followRedirects(HttpClient.Redirect.NEVER)
+        .connectTimeout(Duration.ofSeconds(options.getTimeoutSeconds()))
+        .executor(executor)
+        .build();
+    this.probe = new ServerMetricsProbe(httpClient, objectMapper, options);
+  }
+
+  public static void main(String[] args) throws Exception {
+    var generator = new SessionLoadGenerator(SessionLoadOptions.parse(args));
+    try {
+      generator.run();
+    } finally {
+      generator.shutdown();
+    }
+  }
+
+  public Map<String, Object> run() throws Exception {
+    OptionalDouble baselineHeap = probe.heapBytes(5);
+
+    System.out.printf("Ramp-up of %d sessions over %d s%n", options.getSessions(),
+        options.getRampUpSeconds());
+    List<VirtualSession> sessions = new ArrayList<>();
+    List<CompletableFuture<Void>> logins = new ArrayList<>();
+    long rampUpStepMillis = options.getSessions() == 0 ? 0
+        : options.getRampUpSeconds() * 1000L / options.getSessions();
+    for (int i = 0; i < options.getSessions(); i++) {
+      var session = new VirtualSession(i, httpClient, objectMapper, options, recorder, executor);
+      sessions.add(session);
+      logins.add(CompletableFuture.runAsync(() -> {
+      }, CompletableFuture.delayedExecutor(i * rampUpStepMillis, TimeUnit.MILLISECONDS, executor))
+          .thenCompose(v -> session.login()));
+    }
+    await(logins);
+    long loggedIn = sessions.stream().filter(VirtualSession::isAlive).count();
+    System.out.printf("%d sessions logged in, warmup%n", loggedIn);
+
+    await(iterations(sessions, options.getWarmupIterations()));
+
+    System.out.println("Measurement");
+    DoubleAdder cpuUsage = new DoubleAdder();
+    LongAdder cpuSamples = new LongAdder();
+    ScheduledFuture<?> cpuSampler = scheduler.scheduleAtFixedRate(() -> {
+      try {
+        probe.processCpuUsage().ifPresent(usage -> {
+          cpuUsage.add(usage);
+          cpuSamples.increment();
+        });
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }, 1, 1, TimeUnit.SECONDS);
+    recorder.setRecording(true);
+    long start = System.nanoTime();
+    await(iterations(sessions, options.getIterations()));
+    double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000d;
+    recorder.setRecording(false);
+    cpuSampler.cancel(false);
+
+    // Sessions are still open on the server : read the loaded heap now
+    OptionalDouble loadedHeap = probe.heapBytes(5);
+    OptionalDouble cpuCount = probe.cpuCount();
+
+    Map<String, LatencyRecorder.Statistics> statistics = recorder.statistics();
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("options", options);
+    result.put("sessions", loggedIn);
+    result.put("measuredSeconds", elapsedSeconds);
+    result.put("roundTripsPerSecond", statistics.get("total").getCount() / elapsedSeconds);
+    result.put("steps", statistics);
+    if (loggedIn > 0 && baselineHeap.isPresent() && loadedHeap.isPresent()) {
+      result.put("heapPerSessionBytes",
+          (loadedHeap.getAsDouble() - baselineHeap.getAsDouble()) / loggedIn);
+    }
+    if (cpuSamples.sum() > 0 && cpuCount.isPresent()) {
+      double usedCores = cpuUsage.sum() / cpuSamples.sum() * cpuCount.getAsDouble();
+      result.put("usedCores", usedCores);
+      // Sessions one fully busy core serves at this think time
+      result.put("sessionsPerCore", usedCores > 0 ? loggedIn / usedCores : null);
+    }
+    report(result, statistics);
+    return result;
+  }
+
+  public void shutdown() {
+    scheduler.shutdownNow();
+    executor.shutdownNow();
+  }
+
+  private List<CompletableFuture<Void>> iterations(List<VirtualSession> sessions, int count) {
+    List<CompletableFuture<Void>> runs = new ArrayList<>();
+    for (VirtualSession session : sessions) {
+      CompletableFuture<Void> run = CompletableFuture.completedFuture(null);
+      for (int i = 0; i < count; i++) {
+        run = run.thenCompose(after(session, VirtualSession::iteration));
+      }
+      runs.add(run);
+    }
+    return runs;
+  }
+
+  private static Function<Void, CompletableFuture<Void>> after(VirtualSession session,
+      Function<VirtualSession, CompletableFuture<Void>> step) {
+    return v -> session.isAlive() ? step.apply(session) : CompletableFuture.completedFuture(null);
+  }
+
+  private static void await(List<CompletableFuture<Void>> futures) {
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+  }
+
+  private void report(Map<String, Object> result,
+      Map<String, LatencyRecorder.Statistics> statistics) throws Exception {
+    System.out.printf("%n%-14s %10s %8s %10s %10s %10s%n", "Step", "Count", "Errors", "p50 (ms)",
+        "p99 (ms)", "max (ms)");
+    statistics.forEach((step, stats) -> System.out.printf("%-14s %10d %8d %10.1f %10.1f %10.1f%n",
+        step, stats.getCount(), stats.getErrors(), stats.getP50Millis(), stats.getP99Millis(),
+        stats.getMaxMillis()));
+    System.out.printf("%nSessions              : %s%n", result.get("sessions"));
+    System.out.printf("Round trips / s       : %.1f%n", result.get("roundTripsPerSecond"));
+    System.out.printf("Heap per session (KB) : %s%n", result.containsKey("heapPerSessionBytes")
+        ? String.format("%.1f", (Double) result.get("heapPerSessionBytes") / 1024) : "n/a");
+    System.out.printf("Sessions per core     : %s%n", result.get("sessionsPerCore") != null
+        ? String.format("%.0f", (Double) result.get("sessionsPerCore")) : "n/a");
+
+    var resultFile = new File(options.getResultFile());
+    if (resultFile.getParentFile() != null) {
+      resultFile.getParentFile().mkdirs();
+    }
+    objectMapper.writerWithDefaultPrettyPrinter().writeValue(resultFile, result);
+    System.out.printf("Result written to %s%n", resultFile.getPath());
+  }
+}
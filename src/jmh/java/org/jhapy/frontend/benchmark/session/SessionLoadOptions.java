@@ -0,0 +1,143 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.benchmark.session;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.Data;
+import org.jhapy.frontend.utils.AppConst;
+
+/**
+ * Options of the {@link SessionLoadGenerator}, given as {@code --name=value} arguments.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+@Data
+public class SessionLoadOptions {
+
+  /**
+   * Base URL of the application, started with the {@code loadtest} profile.
+   */
+  private String url = "http://localhost:8080";
+
+  /**
+   * Actuator base path, used to read the heap and the CPU usage of the application.
+   */
+  private String managementPath = "/management";
+
+  /**
+   * Header authenticating the sessions, see {@code jhapy.load-test.user-header}.
+   */
+  private String userHeader = "X-Load-Test-User";
+
+  private int sessions = 1000;
+
+  private int rampUpSeconds = 60;
+
+  /**
+   * Scenario iterations per session before the measurement starts.
+   */
+  private int warmupIterations = 1;
+
+  private int iterations = 5;
+
+  private long thinkTimeMillis = 1000;
+
+  /**
+   * Views visited by every iteration, in a per session random order.
+   */
+  private List<String> routes = List.of(AppConst.PAGE_SECURITY_USERS,
+      AppConst.PAGE_SECURITY_ROLES, AppConst.PAGE_SECURITY_GROUPS, AppConst.PAGE_ELEMENTS,
+      AppConst.PAGE_ACTIONS, AppConst.PAGE_MESSAGES, AppConst.PAGE_ACTUAL_SESSIONS_ADMIN);
+
+  /**
+   * Grid pages requested on each view, simulating the scrolling.
+   */
+  private int scrollPages = 3;
+
+  private int pageSize = 50;
+
+  private long seed = 42;
+
+  private int timeoutSeconds = 30;
+
+  private String resultFile = "target/session-load-result.json";
+
+  public static SessionLoadOptions parse(String[] args) {
+    var options = new SessionLoadOptions();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("Expected --name=value, got " + arg);
+      }
+      String name = arg.substring(2, arg.indexOf('='));
+      String value = arg.substring(arg.indexOf('=') + 1);
+      switch (name) {
+        case "url":
+          options.setUrl(value.endsWith("/") ? value.substring(0, value.length() - 1) : value);
+          break;
+        case "management-path":
+          options.setManagementPath(value);
+          break;
+        case "user-header":
+          options.setUserHeader(value);
+          break;
+        case "sessions":
+          options.setSessions(Integer.parseInt(value));
+          break;
+        case "ramp-up-seconds":
+          options.setRampUpSeconds(Integer.parseInt(value));
+          break;
+        case "warmup-iterations":
+          options.setWarmupIterations(Integer.parseInt(value));
+          break;
+        case "iterations":
+          options.setIterations(Integer.parseInt(value));
+          break;
+        case "think-time-millis":
+          options.setThinkTimeMillis(Long.parseLong(value));
+          break;
+        case "routes":
+          options.setRoutes(Arrays.stream(value.split(",")).map(String::trim)
+              .filter(route -> !route.isEmpty()).collect(Collectors.toList()));
+          break;
+        case "scroll-pages":
+          options.setScrollPages(Integer.parseInt(value));
+          break;
+        case "page-size":
+          options.setPageSize(Integer.parseInt(value));
+          break;
+        case "seed":
+          options.setSeed(Long.parseLong(value));
+          break;
+        case "timeout-seconds":
+          options.setTimeoutSeconds(Integer.parseInt(value));
+          break;
+        case "result-file":
+          options.setResultFile(value);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown option --" + name);
+      }
+    }
+    return options;
+  }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.benchmark.session;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One simulated browser : a Vaadin session driven through the UIDL protocol (bootstrap page, then
+ * XHR round trips carrying RPC invocations), one request in flight at a time like the Flow client.
+ * The session tracks the tag of the state nodes the server attaches, to find the grids, buttons and
+ * dialogs of the current view.
+ *
+ * <p>Every iteration visits the configured routes in a random (seeded) order and, on each view,
+ * scrolls the grid, opens the dialog of the last toolbar button and closes it.</p>
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class VirtualSession {
+
+  public static final String STEP_LOGIN = "login";
+  public static final String STEP_NAVIGATE = "navigate";
+  public static final String STEP_SCROLL = "scroll";
+  public static final String STEP_DIALOG_OPEN = "dialog-open";
+  public static final String STEP_DIALOG_CLOSE = "dialog-close";
+
+  private static final String UIDL_PREFIX = "for(;;);";
+  private static final Pattern UI_ID = Pattern.compile("\"v-uiId\"\\s*:\\s*(\\d+)");
+  private static final Pattern CSRF_TOKEN = Pattern
+      .compile("\"Vaadin-Security-Key\"\\s*:\\s*\"([^\"]+)\"");
+  private static final Pattern INITIAL_UIDL = Pattern.compile("\"uidl\"\\s*:\\s*\\{");
+  /**
+   * Feature id of the element properties in the state tree.
+   */
+  private static final int ELEMENT_PROPERTY_MAP = 1;
+
+  private final HttpClient httpClient;
+  private final ObjectMapper objectMapper;
+  private final SessionLoadOptions options;
+  private final LatencyRecorder recorder;
+  private final Executor executor;
+  private final String username;
+  private final Random random;
+
+  private final Map<String, String> cookies = new TreeMap<>();
+  private final Map<Integer, String> nodeTags = new TreeMap<>();
+  private int uiId;
+  private String csrfToken;
+  private int syncId;
+  private int clientId;
+  private volatile boolean alive;
+
+  public VirtualSession(int index, HttpClient httpClient, ObjectMapper objectMapper,
+      SessionLoadOptions options, LatencyRecorder recorder, Executor executor) {
+    this.httpClient = httpClient;
+    this.objectMapper = objectMapper;
+    this.options = options;
+    this.recorder = recorder;
+    this.executor = executor;
+    this.username = "loadtest-" + index;
+    this.random = new Random(options.getSeed() + index);
+  }
+
+  public boolean isAlive() {
+    return alive;
+  }
+
+  /**
+   * Loads the bootstrap page, authenticated through the load test header, and reads the UI id,
+   * the CSRF token and the initial state tree from it.
+   */
+  public CompletableFuture<Void> login() {
+    var request = HttpRequest.newBuilder(URI.create(options.getUrl() + "/"))
+        .timeout(Duration.ofSeconds(options.getTimeoutSeconds()))
+        .header(options.getUserHeader(), username)
+        .GET().build();
+    long start = System.nanoTime();
+    return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+        .thenAccept(response -> {
+          storeCookies(response);
+          String body = response.body();
+          Matcher uiIdMatcher = UI_ID.matcher(body);
+          Matcher csrfMatcher = CSRF_TOKEN.matcher(body);
+          if (response.statusCode() != 200 || !uiIdMatcher.find() || !csrfMatcher.find()) {
+            throw new IllegalStateException(
+                "Unexpected bootstrap response " + response.statusCode() + " for " + username);
+          }
+          uiId = Integer.parseInt(uiIdMatcher.group(1));
+          csrfToken = csrfMatcher.group(1);
+          Matcher uidlMatcher = INITIAL_UIDL.matcher(body);
+          if (uidlMatcher.find()) {
+            apply(readTree(body.substring(uidlMatcher.end() - 1)));
+          }
+          recorder.record(STEP_LOGIN, System.nanoTime() - start);
+          alive = true;
+        })
+        .exceptionally(t -> {
+          recorder.error(STEP_LOGIN);
+          alive = false;
+          return null;
+        });
+  }
+
+  /**
+   * One pass over the routes, with the think time before every user action.
+   */
+  public CompletableFuture<Void> iteration() {
+    List<String> routes = new ArrayList<>(options.getRoutes());
+    Collections.shuffle(routes, random);
+
+    CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+    for (String route : routes) {
+      chain = then(chain, () -> roundTrip(STEP_NAVIGATE, navigation(route)));
+      for (int page = 1; page <= options.getScrollPages(); page++) {
+        int first = page * options.getPageSize();
+        chain = then(chain, () -> lastNode("vaadin-grid")
+            .map(grid -> roundTrip(STEP_SCROLL, requestedRange(grid, first)))
+            .orElseGet(() -> CompletableFuture.completedFuture(null)));
+      }
+      chain = then(chain, () -> lastNode("vaadin-button")
+          .map(button -> roundTrip(STEP_DIALOG_OPEN, event(button, "click")))
+          .orElseGet(() -> CompletableFuture.completedFuture(null)));
+      chain = then(chain, () -> lastNode("vaadin-dialog")
+          .map(dialog -> roundTrip(STEP_DIALOG_CLOSE, closeDialog(dialog)))
+          .orElseGet(() -> CompletableFuture.completedFuture(null)));
+    }
+    return chain;
+  }
+
+  private CompletableFuture<Void> then(CompletableFuture<Void> chain,
+      Supplier<CompletableFuture<Void>> action) {
+    return chain
+        .thenCompose(v -> CompletableFuture.runAsync(() -> {
+        }, CompletableFuture.delayedExecutor(options.getThinkTimeMillis(), TimeUnit.MILLISECONDS,
+            executor)))
+        .thenCompose(v -> alive ? action.get() : CompletableFuture.completedFuture(null));
+  }
+
+  private CompletableFuture<Void> roundTrip(String step, ObjectNode... invocations) {
+    ObjectNode payload = objectMapper.createObjectNode();
+    payload.put("csrfToken", csrfToken);
+    ArrayNode rpc = payload.putArray("rpc");
+    for (ObjectNode invocation : invocations) {
+      rpc.add(invocation);
+    }
+    payload.put("syncId", syncId);
+    payload.put("clientId", clientId);
+
+    var request = HttpRequest.newBuilder(
+        URI.create(options.getUrl() + "/?v-r=uidl&v-uiId=" + uiId))
+        .timeout(Duration.ofSeconds(options.getTimeoutSeconds()))
+        .header("Content-Type", "application/json; charset=UTF-8")
+        .header("Cookie", cookieHeader())
+        .POST(HttpRequest.BodyPublishers.ofString(payload.toString()))
+        .build();
+    long start = System.nanoTime();
+    return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+        .thenAccept(response -> {
+          storeCookies(response);
+          String body = response.body();
+          if (response.statusCode() != 200 || !body.startsWith(UIDL_PREFIX)) {
+            throw new IllegalStateException(
+                "Unexpected UIDL response " + response.statusCode() + " for " + username);
+          }
+          JsonNode uidl = readTree(body.substring(UIDL_PREFIX.length())).path(0);
+          JsonNode meta = uidl.path("meta");
+          if (meta.path("sessionExpired").asBoolean() || meta.has("appError")) {
+            alive = false;
+            throw new IllegalStateException("Session lost for " + username);
+          }
+          apply(uidl);
+          clientId = uidl.has("clientId") ? uidl.get("clientId").asInt() : clientId + 1;
+          recorder.record(step, System.nanoTime() - start);
+        })
+        .exceptionally(t -> {
+          recorder.error(step);
+          return null;
+        });
+  }
+
+  private void apply(JsonNode uidl) {
+    if (uidl.has("syncId")) {
+      syncId = uidl.get("syncId").asInt();
+    }
+    for (JsonNode change : uidl.path("changes")) {
+      String type = change.path("type").asText();
+      if ("put".equals(type) && "tag".equals(change.path("key").asText())) {
+        nodeTags.put(change.path("node").asInt(), change.path("value").asText());
+      } else if ("detach".equals(type)) {
+        nodeTags.remove(change.path("node").asInt());
+      }
+    }
+  }
+
+  /**
+   * @return the most recently attached node with the given tag, i.e. the one of the current view
+   */
+  private Optional<Integer> lastNode(String tag) {
+    Integer result = null;
+    for (Map.Entry<Integer, String> entry : nodeTags.entrySet()) {
+      if (tag.equals(entry.getValue())) {
+        result = entry.getKey();
+      }
+    }
+    return Optional.ofNullable(result);
+  }
+
+  private ObjectNode navigation(String route) {
+    ObjectNode invocation = objectMapper.createObjectNode();
+    invocation.put("type", "navigation");
+    invocation.put("location", route);
+    invocation.put("link", 1);
+    return invocation;
+  }
+
+  private ObjectNode requestedRange(int grid, int first) {
+    ObjectNode invocation = objectMapper.createObjectNode();
+    invocation.put("type", "publishedEventHandler");
+    invocation.put("node", grid);
+    invocation.put("templateEventMethodName", "setRequestedRange");
+    invocation.putArray("templateEventMethodArgs").add(first).add(options.getPageSize());
+    return invocation;
+  }
+
+  private ObjectNode event(int node, String event) {
+    ObjectNode invocation = objectMapper.createObjectNode();
+    invocation.put("type", "event");
+    invocation.put("node", node);
+    invocation.put("event", event);
+    invocation.putObject("data");
+    return invocation;
+  }
+
+  private ObjectNode[] closeDialog(int dialog) {
+    ObjectNode sync = objectMapper.createObjectNode();
+    sync.put("type", "mSync");
+    sync.put("node", dialog);
+    sync.put("feature", ELEMENT_PROPERTY_MAP);
+    sync.put("property", "opened");
+    sync.put("value", false);
+    return new ObjectNode[]{sync, event(dialog, "opened-changed")};
+  }
+
+  private JsonNode readTree(String json) {
+    try {
+      // Trailing content (the rest of the bootstrap page) is ignored by the parser
+      return objectMapper.readTree(json);
+    } catch (Exception e) {
+      throw new IllegalStateException("Cannot parse UIDL for " + username, e);
+    }
+  }
+
+  private void storeCookies(HttpResponse<?> response) {
+    for (String setCookie : response.headers().allValues("Set-Cookie")) {
+      String pair = setCookie.split(";", 2)[0];
+      int separator = pair.indexOf('=');
+      if (separator > 0) {
+        cookies.put(pair.substring(0, separator).trim(), pair.substring(separator + 1).trim());
+      }
+    }
+  }
+
+  private String cookieHeader() {
+    var header = new StringBuilder();
+    cookies.forEach((name, value) -> {
+      if (header.length() > 0) {
+        header.append("; ");
+      }
+      header.append(name).append('=').append(value);
+    });
+    return header.toString();
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.aop;
+
+import org.aspectj.lang.annotation.Pointcut;
+
+/**
+ * Pointcuts shared by the remote call aspects, so they all advise the same methods.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public final class RemoteOperationPointcuts {
+
+  private RemoteOperationPointcuts() {
+  }
+
+  /**
+   * Pointcut that matches the remote operations of the Feign clients.
+   */
+  @Pointcut("@annotation(org.springframework.web.bind.annotation.PostMapping) && execution(org.jhapy.dto.serviceQuery.ServiceResult org.jhapy.frontend.client..*.*(..))")
+  public void remoteOperation() {
+    // Method is empty as this is just a Pointcut, the implementations are in the advices.
+  }
+}
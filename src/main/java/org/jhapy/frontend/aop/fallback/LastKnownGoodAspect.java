@@ -0,0 +1,76 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jhapy.frontend.aop.fallback;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.jhapy.commons.utils.HasLogger;
+import org.jhapy.dto.serviceQuery.ServiceResult;
+import org.jhapy.frontend.client.fallback.LastKnownGoodStore;
+import org.jhapy.frontend.client.fallback.StaleServiceResult;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Aspect recording successful read operations of the Feign clients and replacing a failed result
+ * (circuit breaker open, fallback called) by the last known good one.
+ *
+ * Runs outside of the circuit breaker aspect so that it sees the fallback result.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+public class LastKnownGoodAspect implements HasLogger {
+
+  private final LastKnownGoodStore lastKnownGoodStore;
+
+  public LastKnownGoodAspect(LastKnownGoodStore lastKnownGoodStore) {
+    this.lastKnownGoodStore = lastKnownGoodStore;
+  }
+
+  @Around("org.jhapy.frontend.aop.RemoteOperationPointcuts.remoteOperation()")
+  public Object serveLastKnownGood(ProceedingJoinPoint joinPoint) throws Throwable {
+    var serviceName = joinPoint.getSignature().getDeclaringType().getSimpleName();
+    var methodName = joinPoint.getSignature().getName();
+    if (!lastKnownGoodStore.isReadOperation(serviceName, methodName)) {
+      return joinPoint.proceed();
+    }
+
+    var operation = serviceName + "." + methodName;
+    var result = joinPoint.proceed();
+    if (!(result instanceof ServiceResult) || result instanceof StaleServiceResult) {
+      return result;
+    }
+
+    var serviceResult = (ServiceResult<?>) result;
+    if (Boolean.TRUE.equals(serviceResult.getIsSuccess())) {
+      lastKnownGoodStore.put(operation, joinPoint.getArgs(), serviceResult);
+      return result;
+    }
+
+    var staleResult = lastKnownGoodStore
+        .getStale(operation, joinPoint.getArgs(), serviceResult);
+    if (staleResult.isPresent()) {
+      var loggerPrefix = getLoggerPrefix("serveLastKnownGood", operation);
+      warn(loggerPrefix, "Remote call failed, serve result from {0} ago",
+          StaleServiceResult.formatAge(staleResult.get().getAge()));
+      return staleResult.get();
+    }
+    return result;
+  }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.aop.hedge;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.jhapy.commons.utils.HasLogger;
+import org.jhapy.dto.serviceQuery.ServiceResult;
+import org.jhapy.frontend.client.async.ContextPropagatingTaskDecorator;
+import org.jhapy.frontend.client.hedge.HedgingBudget;
+import org.jhapy.frontend.client.limit.RemoteCallLimiters;
+import org.jhapy.frontend.client.metrics.RemoteCallMetrics;
+import org.jhapy.frontend.config.AppProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Aspect hedging the configured idempotent reads : when the first attempt is slower than the
+ * latency percentile of the operation, a second one is sent. The second attempt reaches another
+ * instance only through the round robin of the load balancer, it is not pinned.
+ *
+ * <p>The first attempt runs on the caller thread, only the second one runs on the hedge
+ * executor. A saturated hedge executor means no hedge. A blocking Feign call cannot be aborted,
+ * so the caller gets the answer of the first attempt when successful, the second one being used
+ * when the first fails (timeout of a stuck instance). An attempt that is not used runs until its
+ * answer and is ignored.</p>
+ *
+ * <p>Runs inside of the limit aspect : the first attempt uses the slot of the logical call, the
+ * second one takes its own slot, released once its call is finished.</p>
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 200)
+public class HedgingAspect implements HasLogger {
+
+  public static final String HEDGES = "jhapy.remote.hedges";
+
+  private final AppProperties.RemoteCalls.Hedging properties;
+  private final RemoteCallLimiters remoteCallLimiters;
+  private final RemoteCallMetrics remoteCallMetrics;
+  private final MeterRegistry meterRegistry;
+
+  private final ScheduledThreadPoolExecutor hedgeTimer;
+  private final ThreadPoolExecutor hedgeExecutor;
+  private final ContextPropagatingTaskDecorator contextPropagation =
+      new ContextPropagatingTaskDecorator();
+
+  private final Map<String, HedgingBudget> budgets = new ConcurrentHashMap<>();
+  private final Map<String, Boolean> hedgedOperations = new ConcurrentHashMap<>();
+
+  public HedgingAspect(AppProperties.RemoteCalls.Hedging properties,
+      RemoteCallLimiters remoteCallLimiters, RemoteCallMetrics remoteCallMetrics,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.remoteCallLimiters = remoteCallLimiters;
+    this.remoteCallMetrics = remoteCallMetrics;
+    this.meterRegistry = meterRegistry;
+
+    var timerThreadFactory = new CustomizableThreadFactory("remote-hedge-timer-");
+    timerThreadFactory.setDaemon(true);
+    this.hedgeTimer = new ScheduledThreadPoolExecutor(1, timerThreadFactory);
+    this.hedgeTimer.setRemoveOnCancelPolicy(true);
+
+    // No queue : a hedge waiting for a thread would come too late
+    var threadFactory = new CustomizableThreadFactory("remote-hedge-");
+    threadFactory.setDaemon(true);
+    this.hedgeExecutor = new ThreadPoolExecutor(properties.getMaxConcurrentHedges(),
+        properties.getMaxConcurrentHedges(), 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+        threadFactory);
+    this.hedgeExecutor.allowCoreThreadTimeOut(true);
+  }
+
+  public void shutdown() {
+    hedgeTimer.shutdownNow();
+    hedgeExecutor.shutdownNow();
+  }
+
+  @Around("org.jhapy.frontend.aop.RemoteOperationPointcuts.remoteOperation()")
+  public Object hedge(ProceedingJoinPoint joinPoint) throws Throwable {
+    if (!Boolean.TRUE.equals(properties.getEnabled())) {
+      return joinPoint.proceed();
+    }
+    var serviceName = joinPoint.getSignature().getDeclaringType().getSimpleName();
+    var methodName = joinPoint.getSignature().getName();
+    if (!isHedged(serviceName, methodName)) {
+      return joinPoint.proceed();
+    }
+
+    var budget = budgets.computeIfAbsent(serviceName,
+        key -> new HedgingBudget(properties.getBudgetRatio(), properties.getBudgetBurst()));
+    budget.onCall();
+
+    var delay = getDelay(serviceName, methodName);
+    var hedge = new CompletableFuture<Object>();
+    // Decorated by the caller thread, the timer thread has no user
+    var hedgeTask = contextPropagation
+        .decorate(() -> runHedge(joinPoint, serviceName, methodName, delay, hedge));
+    var trigger = hedgeTimer.schedule(() -> sendHedge(serviceName, methodName, budget,
+        hedgeTask, hedge), delay.toNanos(), TimeUnit.NANOSECONDS);
+
+    Object result = null;
+    Throwable failure = null;
+    try {
+      result = joinPoint.proceed();
+    } catch (Throwable t) {
+      failure = t;
+    }
+    // Not sent yet : not needed anymore
+    boolean hedgeSent = !trigger.cancel(false);
+
+    if (hedgeSent && (failure != null || !isSuccess(result))) {
+      var hedgeResult = awaitHedge(hedge);
+      if (isSuccess(hedgeResult)) {
+        countHedge(serviceName, methodName, "won");
+        return hedgeResult;
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+    return result;
+  }
+
+  protected boolean isHedged(String serviceName, String methodName) {
+    return hedgedOperations.computeIfAbsent(serviceName + "." + methodName,
+        operation -> properties.getOperations().contains(methodName)
+            || properties.getOperations().contains(operation));
+  }
+
+  protected Duration getDelay(String serviceName, String methodName) {
+    var delay = remoteCallMetrics
+        .getPercentile(serviceName, methodName, properties.getPercentile())
+        .orElse(Duration.ofMillis(properties.getDefaultDelayMillis()));
+    var minDelay = Duration.ofMillis(properties.getMinDelayMillis());
+    return delay.compareTo(minDelay) < 0 ? minDelay : delay;
+  }
+
+  /**
+   * Runs on the timer thread once the first attempt is late.
+   */
+  private void sendHedge(String serviceName, String methodName, HedgingBudget budget,
+      Runnable hedgeTask, CompletableFuture<Object> hedge) {
+    if (!budget.tryHedge()) {
+      countHedge(serviceName, methodName, "skipped");
+      hedge.complete(null);
+      return;
+    }
+    try {
+      hedgeExecutor.execute(hedgeTask);
+    } catch (RejectedExecutionException e) {
+      countHedge(serviceName, methodName, "rejected");
+      hedge.complete(null);
+    }
+  }
+
+  /**
+   * Runs on the hedge executor, the limiter slot is kept until the remote call is finished.
+   */
+  private void runHedge(ProceedingJoinPoint joinPoint, String serviceName, String methodName,
+      Duration delay, CompletableFuture<Object> hedge) {
+    var serviceLimiter = remoteCallLimiters.isEnabled() ? remoteCallLimiters
+        .forClient(joinPoint.getSignature().getDeclaringType()) : null;
+    if (serviceLimiter != null && !serviceLimiter.tryAcquire()) {
+      countHedge(serviceName, methodName, "limited");
+      hedge.complete(null);
+      return;
+    }
+    try {
+      var loggerPrefix = getLoggerPrefix("hedge", serviceName, methodName);
+      debug(loggerPrefix, "No answer after {0} ms, send a second attempt", delay.toMillis());
+      countHedge(serviceName, methodName, "sent");
+      hedge.complete(joinPoint.proceed());
+    } catch (Throwable t) {
+      hedge.completeExceptionally(t);
+    } finally {
+      if (serviceLimiter != null) {
+        // The logical call gives the latency sample
+        serviceLimiter.releaseWithoutSample();
+      }
+    }
+  }
+
+  private Object awaitHedge(CompletableFuture<Object> hedge) throws InterruptedException {
+    try {
+      return hedge.get();
+    } catch (ExecutionException e) {
+      return null;
+    }
+  }
+
+  private boolean isSuccess(Object result) {
+    return result instanceof ServiceResult && Boolean.TRUE
+        .equals(((ServiceResult<?>) result).getIsSuccess());
+  }
+
+  private void countHedge(String serviceName, String methodName, String result) {
+    Counter.builder(HEDGES)
+        .description("Hedged remote calls")
+        .tags("service", serviceName, "method", methodName, "result", result)
+        .register(meterRegistry)
+        .increment();
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.aop.limit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.jhapy.commons.utils.HasLogger;
+import org.jhapy.dto.serviceQuery.ServiceResult;
+import org.jhapy.frontend.client.fallback.ShortCircuitServiceResult;
+import org.jhapy.frontend.client.limit.RemoteCallLimiters;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Aspect applying the bulkhead and the concurrency limit of the remote service to the Feign
+ * client operations. A rejected call returns a failed result right away, like a fallback.
+ *
+ * Runs inside of the last known good aspect so that a rejected read can still be served from
+ * it. A failed result counts as a dropped call, a call refused by the open circuit breaker is not
+ * timed as the service was not reached.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 150)
+public class RemoteCallLimitAspect implements HasLogger {
+
+  private final RemoteCallLimiters remoteCallLimiters;
+
+  public RemoteCallLimitAspect(RemoteCallLimiters remoteCallLimiters) {
+    this.remoteCallLimiters = remoteCallLimiters;
+  }
+
+  @Around("org.jhapy.frontend.aop.RemoteOperationPointcuts.remoteOperation()")
+  public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+    if (!remoteCallLimiters.isEnabled()) {
+      return joinPoint.proceed();
+    }
+    var serviceLimiter = remoteCallLimiters
+        .forClient(joinPoint.getSignature().getDeclaringType());
+    if (!serviceLimiter.tryAcquire()) {
+      var loggerPrefix = getLoggerPrefix("limit", joinPoint.getSignature().getName());
+      warn(loggerPrefix, "Too many concurrent calls to {0}, call rejected",
+          serviceLimiter.getServiceName());
+      return new ServiceResult<>(false,
+          "Too many concurrent calls to " + serviceLimiter.getServiceName(), null);
+    }
+
+    long start = System.nanoTime();
+    // Same named operations of different clients have their own latencies
+    var operation = joinPoint.getSignature().getDeclaringType().getSimpleName() + "."
+        + joinPoint.getSignature().getName();
+    Object result = null;
+    try {
+      result = joinPoint.proceed();
+      return result;
+    } finally {
+      if (result instanceof ShortCircuitServiceResult) {
+        serviceLimiter.releaseWithoutSample();
+      } else {
+        boolean dropped = !(result instanceof ServiceResult) || !Boolean.TRUE
+            .equals(((ServiceResult<?>) result).getIsSuccess());
+        serviceLimiter.release(operation, System.nanoTime() - start, dropped);
+      }
+    }
+  }
+}
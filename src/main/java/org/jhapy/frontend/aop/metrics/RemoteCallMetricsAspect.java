@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.aop.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.jhapy.dto.serviceQuery.ServiceResult;
+import org.jhapy.frontend.client.fallback.StaleServiceResult;
+import org.jhapy.frontend.client.metrics.RemoteCallMetrics;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Aspect timing the remote operations of the Feign clients, tagged with their outcome : success,
+ * fallback (circuit breaker or fallback method), stale (last known good result) or error.
+ *
+ * Runs outside of all the other remote call aspects so that it sees the final result.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 50)
+public class RemoteCallMetricsAspect {
+
+  private final RemoteCallMetrics remoteCallMetrics;
+
+  public RemoteCallMetricsAspect(RemoteCallMetrics remoteCallMetrics) {
+    this.remoteCallMetrics = remoteCallMetrics;
+  }
+
+  @Around("org.jhapy.frontend.aop.RemoteOperationPointcuts.remoteOperation()")
+  public Object recordCall(ProceedingJoinPoint joinPoint) throws Throwable {
+    if (!remoteCallMetrics.isEnabled()) {
+      return joinPoint.proceed();
+    }
+    var serviceName = joinPoint.getSignature().getDeclaringType().getSimpleName();
+    var methodName = joinPoint.getSignature().getName();
+
+    long start = System.nanoTime();
+    String outcome = RemoteCallMetrics.OUTCOME_ERROR;
+    try {
+      var result = joinPoint.proceed();
+      outcome = getOutcome(result);
+      return result;
+    } finally {
+      remoteCallMetrics.recordCall(serviceName, methodName, outcome, System.nanoTime() - start);
+    }
+  }
+
+  protected String getOutcome(Object result) {
+    if (result instanceof StaleServiceResult) {
+      return RemoteCallMetrics.OUTCOME_STALE;
+    }
+    if (result instanceof ServiceResult && Boolean.TRUE
+        .equals(((ServiceResult<?>) result).getIsSuccess())) {
+      return RemoteCallMetrics.OUTCOME_SUCCESS;
+    }
+    return RemoteCallMetrics.OUTCOME_FALLBACK;
+  }
+}
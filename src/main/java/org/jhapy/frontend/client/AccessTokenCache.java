@@ -0,0 +1,221 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.jhapy.commons.security.oauth2.AuthorizationHeaderUtil;
+import org.jhapy.commons.utils.HasLogger;
+import org.jhapy.frontend.config.AppProperties;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+
+/**
+ * Authorization headers of the logged users, shared by the Feign token relay and the actuator
+ * views.
+ *
+ * <p>A token is refreshed in the background once the first caller enters the refresh window, all
+ * the callers keep using the still valid token meanwhile. A failed refresh is tried again after
+ * {@code refresh-retry-seconds}. When there is no valid token, the concurrent callers wait for a
+ * single authorization.</p>
+ *
+ * <p>Tokens are kept per client registration and principal, like the authorized clients they are
+ * read from : the sessions of a user share the same token.</p>
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class AccessTokenCache implements HasLogger {
+
+  private static final int REFRESH_THREADS = 2;
+  private static final int MAX_QUEUED_REFRESHES = 1000;
+
+  private final OAuth2AuthorizedClientManager authorizedClientManager;
+  private final AuthorizationHeaderUtil authorizationHeaderUtil;
+  private final AppProperties.RemoteCalls.TokenCache properties;
+
+  private final Map<String, CachedToken> tokens = new ConcurrentHashMap<>();
+  private final Map<String, CompletableFuture<Optional<String>>> inFlight =
+      new ConcurrentHashMap<>();
+  private final ThreadPoolExecutor refreshExecutor;
+
+  public AccessTokenCache(OAuth2AuthorizedClientManager authorizedClientManager,
+      AuthorizationHeaderUtil authorizationHeaderUtil,
+      AppProperties.RemoteCalls.TokenCache properties) {
+    this.authorizedClientManager = authorizedClientManager;
+    this.authorizationHeaderUtil = authorizationHeaderUtil;
+    this.properties = properties;
+
+    var threadFactory = new CustomizableThreadFactory("token-refresh-");
+    threadFactory.setDaemon(true);
+    this.refreshExecutor = new ThreadPoolExecutor(REFRESH_THREADS, REFRESH_THREADS, 0L,
+        TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(MAX_QUEUED_REFRESHES), threadFactory);
+  }
+
+  public void shutdown() {
+    refreshExecutor.shutdownNow();
+  }
+
+  public Optional<String> getAuthorizationHeader() {
+    return getAuthorizationHeader(SecurityContextHolder.getContext().getAuthentication());
+  }
+
+  public Optional<String> getAuthorizationHeader(Authentication authentication) {
+    if (!properties.getEnabled() || !(authentication instanceof OAuth2AuthenticationToken)) {
+      return authentication == null ? authorizationHeaderUtil.getAuthorizationHeader()
+          : authorizationHeaderUtil.getAuthorizationHeader(authentication);
+    }
+    var oAuth2AuthenticationToken = (OAuth2AuthenticationToken) authentication;
+    var key = getKey(oAuth2AuthenticationToken);
+
+    var now = Instant.now();
+    var cachedToken = tokens.get(key);
+    if (cachedToken != null && now.isBefore(cachedToken.expiresAt)) {
+      if (!now.isBefore(cachedToken.refreshAt)
+          && cachedToken.refreshing.compareAndSet(false, true)) {
+        refreshAhead(key, oAuth2AuthenticationToken, cachedToken);
+      }
+      return Optional.of(cachedToken.header);
+    }
+    return authorize(key, oAuth2AuthenticationToken);
+  }
+
+  public void evict(Authentication authentication) {
+    if (authentication instanceof OAuth2AuthenticationToken) {
+      tokens.remove(getKey((OAuth2AuthenticationToken) authentication));
+    }
+  }
+
+  public int size() {
+    return tokens.size();
+  }
+
+  /**
+   * Refresh the token in the background, the caller keeps the current one.
+   */
+  protected void refreshAhead(String key, OAuth2AuthenticationToken authentication,
+      CachedToken cachedToken) {
+    var loggerPrefix = getLoggerPrefix("refreshAhead");
+    try {
+      refreshExecutor.execute(() -> {
+        try {
+          authorize(key, authentication);
+        } catch (RuntimeException e) {
+          warn(loggerPrefix, "Refresh ahead failed, keep current token and retry in {0}s : {1}",
+              properties.getRefreshRetrySeconds(), e.getMessage());
+          cachedToken.retryLater(Instant.now()
+              .plusSeconds(properties.getRefreshRetrySeconds()));
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // Tried again by the next caller
+      cachedToken.refreshing.set(false);
+    }
+  }
+
+  /**
+   * Single flight authorization : the first caller runs it, the others wait for its result.
+   */
+  protected Optional<String> authorize(String key, OAuth2AuthenticationToken authentication) {
+    var future = new CompletableFuture<Optional<String>>();
+    var running = inFlight.putIfAbsent(key, future);
+    if (running != null) {
+      return running.join();
+    }
+    try {
+      Optional<String> header = loadAuthorizationHeader(key, authentication);
+      future.complete(header);
+      return header;
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, future);
+    }
+  }
+
+  protected Optional<String> loadAuthorizationHeader(String key,
+      OAuth2AuthenticationToken authentication) {
+    OAuth2AuthorizedClient authorizedClient = authorizedClientManager.authorize(
+        OAuth2AuthorizeRequest
+            .withClientRegistrationId(authentication.getAuthorizedClientRegistrationId())
+            .principal(authentication).build());
+    if (authorizedClient == null || authorizedClient.getAccessToken() == null) {
+      tokens.remove(key);
+      return authorizationHeaderUtil.getAuthorizationHeader(authentication);
+    }
+
+    var accessToken = authorizedClient.getAccessToken();
+    var header = accessToken.getTokenType().getValue() + " " + accessToken.getTokenValue();
+    var expiresAt = accessToken.getExpiresAt() == null ? Instant.now()
+        .plusSeconds(properties.getRefreshAheadSeconds()) : accessToken.getExpiresAt();
+
+    var refreshAt = expiresAt.minus(Duration.ofSeconds(properties.getRefreshAheadSeconds()));
+    var previousToken = tokens.get(key);
+    if (previousToken != null && previousToken.expiresAt.equals(expiresAt)) {
+      // Not renewed (no refresh token), do not try again before it expires
+      refreshAt = expiresAt;
+    }
+
+    if (tokens.size() >= properties.getMaxEntries()) {
+      var now = Instant.now();
+      tokens.values().removeIf(cachedToken -> !now.isBefore(cachedToken.expiresAt));
+    }
+    tokens.put(key, new CachedToken(header, expiresAt, refreshAt));
+    return Optional.of(header);
+  }
+
+  protected String getKey(OAuth2AuthenticationToken authentication) {
+    return authentication.getAuthorizedClientRegistrationId() + ":" + authentication.getName();
+  }
+
+  private static class CachedToken {
+
+    private final String header;
+    private final Instant expiresAt;
+    private volatile Instant refreshAt;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    CachedToken(String header, Instant expiresAt, Instant refreshAt) {
+      this.header = header;
+      this.expiresAt = expiresAt;
+      this.refreshAt = refreshAt;
+    }
+
+    void retryLater(Instant retryAt) {
+      refreshAt = retryAt;
+      refreshing.set(false);
+    }
+  }
+}
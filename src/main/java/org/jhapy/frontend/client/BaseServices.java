@@ -18,11 +18,15 @@
 
 package org.jhapy.frontend.client;
 
-import com.vaadin.flow.spring.SpringServlet;
-import javax.servlet.ServletContext;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.jhapy.dto.serviceQuery.generic.GetByStrIdQuery;
+import org.jhapy.dto.utils.StoredFile;
+import org.jhapy.frontend.client.async.AsyncRemoteCalls;
+import org.jhapy.frontend.client.batch.GetByStrIdsQuery;
+import org.jhapy.frontend.client.batch.RoundTripBatcher;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
-import org.springframework.web.context.support.WebApplicationContextUtils;
 
 /**
  * @author jHapy Lead Dev.
@@ -32,12 +36,35 @@ import org.springframework.web.context.support.WebApplicationContextUtils;
 @Service
 public class BaseServices {
 
+  private static final RoundTripBatcher<String, StoredFile> STORED_FILE_BATCHER =
+      new RoundTripBatcher<>("storedFile",
+          ids -> {
+            var result = getResourceService().getByIds(new GetByStrIdsQuery(ids));
+            return result.getIsSuccess() && result.getData() != null ? result.getData().stream()
+                .collect(Collectors.toMap(StoredFile::getId, Function.identity(), (a, b) -> a))
+                : null;
+          },
+          id -> {
+            var result = getResourceService().getById(new GetByStrIdQuery(id));
+            return result.getIsSuccess() ? result.getData() : null;
+          }, 50);
+
   public static ResourceService getResourceService() {
-    return getApplicationContext().getBean(ResourceService.class);
+    return ClientBeanRegistry.get(ResourceService.class);
+  }
+
+  /**
+   * Stored files of the current UI round trip, loaded with one {@code getByIds} call.
+   */
+  public static RoundTripBatcher<String, StoredFile> getStoredFileBatcher() {
+    return STORED_FILE_BATCHER;
+  }
+
+  public static AsyncRemoteCalls getAsyncRemoteCalls() {
+    return ClientBeanRegistry.get(AsyncRemoteCalls.class);
   }
 
   public static ApplicationContext getApplicationContext() {
-    ServletContext servletContext = SpringServlet.getCurrent().getServletContext();
-    return WebApplicationContextUtils.getWebApplicationContext(servletContext);
+    return ClientBeanRegistry.getApplicationContext();
   }
 }
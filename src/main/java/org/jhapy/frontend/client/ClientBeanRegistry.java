@@ -0,0 +1,90 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jhapy.commons.utils.HasLogger;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Client beans resolved once, used by the static service facades. Unlike a lookup through the
+ * current Vaadin servlet it works from any thread : data providers, schedulers, async tasks...
+ *
+ * <p>The Feign clients are resolved at startup, any other bean on its first use.</p>
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+@Component
+public class ClientBeanRegistry implements ApplicationContextAware, SmartInitializingSingleton,
+    HasLogger {
+
+  private static final Map<Class<?>, Object> beans = new ConcurrentHashMap<>();
+  private static volatile ApplicationContext applicationContext;
+
+  public static <T> T get(Class<T> beanClass) {
+    Object bean = beans.get(beanClass);
+    if (bean == null) {
+      bean = beans.computeIfAbsent(beanClass, aClass -> getApplicationContext().getBean(aClass));
+    }
+    return beanClass.cast(bean);
+  }
+
+  public static ApplicationContext getApplicationContext() {
+    if (applicationContext == null) {
+      throw new IllegalStateException("Application context not initialized yet");
+    }
+    return applicationContext;
+  }
+
+  @Override
+  public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+    // A refreshed context (devtools restart) must not serve the beans of the previous one
+    beans.clear();
+    ClientBeanRegistry.applicationContext = applicationContext;
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    var loggerPrefix = getLoggerPrefix("afterSingletonsInstantiated");
+
+    applicationContext.getBeansOfType(RemoteServiceHandler.class).values().stream()
+        .flatMap(bean -> ClassUtils.getAllInterfacesForClassAsSet(bean.getClass()).stream())
+        .filter(aClass -> aClass != RemoteServiceHandler.class
+            && RemoteServiceHandler.class.isAssignableFrom(aClass))
+        .distinct()
+        .forEach(aClass -> {
+          try {
+            // Resolved by type : the Feign client wins over its fallback (primary bean)
+            beans.put(aClass, applicationContext.getBean(aClass));
+          } catch (BeansException e) {
+            warn(loggerPrefix, "Cannot resolve {0} : {1}", aClass.getName(), e.getMessage());
+          }
+        });
+
+    info(loggerPrefix, "{0} client beans resolved", beans.size());
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client;
+
+import java.util.Arrays;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Logger prefix of {@link RemoteServiceHandler}, rendered on first use only : the current user is
+ * not resolved and the parameters are not formatted when nothing is logged.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public final class LoggerPrefix {
+
+  private static final Object[] NO_PARAMS = new Object[0];
+
+  private final String methodName;
+  private final Object[] params;
+  private String rendered;
+
+  LoggerPrefix(String methodName, Object[] params) {
+    this.methodName = methodName;
+    this.params = params == null ? NO_PARAMS : params;
+  }
+
+  @Override
+  public String toString() {
+    if (rendered == null) {
+      rendered = render();
+    }
+    return rendered;
+  }
+
+  private String render() {
+    String username = RemoteServiceSupport.getCurrentUsername();
+
+    var prefix = new StringBuilder(RemoteServiceSupport.LOGGER_PREFIX_WIDTH + 4)
+        .append(methodName).append('(');
+    if (StringUtils.isNotBlank(username)) {
+      prefix.append(username).append(params.length > 0 ? ", " : "");
+    }
+    for (int i = 0; i < params.length; i++) {
+      Object p = params[i];
+      if (i > 0) {
+        prefix.append(", ");
+      }
+      if (p != null && p.getClass().isArray()) {
+        prefix.append(Arrays.toString((Object[]) p));
+      } else {
+        prefix.append(p);
+      }
+    }
+    return RemoteServiceSupport.padRight(prefix.append(')'),
+        RemoteServiceSupport.LOGGER_PREFIX_WIDTH);
+  }
+}
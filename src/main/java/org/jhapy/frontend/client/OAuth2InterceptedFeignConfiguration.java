@@ -19,14 +19,13 @@
 package org.jhapy.frontend.client;
 
 import feign.RequestInterceptor;
-import org.jhapy.commons.security.oauth2.AuthorizationHeaderUtil;
 import org.springframework.context.annotation.Bean;
 
 public class OAuth2InterceptedFeignConfiguration {
 
   @Bean(name = "oauth2RequestInterceptor")
   public RequestInterceptor getOAuth2RequestInterceptor(
-      AuthorizationHeaderUtil authorizationHeaderUtil) {
-    return new TokenRelayRequestInterceptor(authorizationHeaderUtil);
+      AccessTokenCache accessTokenCache) {
+    return new TokenRelayRequestInterceptor(accessTokenCache);
   }
 }
@@ -1,19 +1,15 @@
 package org.jhapy.frontend.client;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import feign.FeignException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import java.text.MessageFormat;
-import java.util.Arrays;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Logger;
-import org.apache.logging.log4j.ThreadContext;
 import org.jhapy.commons.exception.ErrorConstants;
 import org.jhapy.commons.exception.JHapyProblem;
-import org.jhapy.commons.security.SecurityUtils;
 import org.jhapy.dto.serviceQuery.ServiceResult;
-import org.jhapy.dto.utils.AppContextThread;
-import org.zalando.problem.ProblemModule;
+import org.jhapy.frontend.client.fallback.ShortCircuitServiceResult;
 
 /**
  * @author Alexandre Clavaud.
@@ -22,22 +18,23 @@ import org.zalando.problem.ProblemModule;
  */
 public interface RemoteServiceHandler {
 
-  default ServiceResult defaultFallback(String loggerPrefix, Exception e, Object defaultResult) {
+  default ServiceResult defaultFallback(LoggerPrefix loggerPrefix, Exception e,
+      Object defaultResult) {
     error(loggerPrefix, "An error has occurred {0}", e.getLocalizedMessage());
-    var objectMapper = new ObjectMapper();
-    objectMapper.registerModule(new ProblemModule());
+    if (e instanceof CallNotPermittedException) {
+      return new ShortCircuitServiceResult<>(e.getLocalizedMessage(), defaultResult);
+    }
     try {
       if (e instanceof FeignException) {
-        var responseBody = new String(((FeignException) e).responseBody()
-            .orElseThrow(() -> new Exception("Cannot decode body")).array());
-        JHapyProblem problem = objectMapper.readValue(responseBody, JHapyProblem.class);
+        JHapyProblem problem = RemoteServiceSupport.readProblem(((FeignException) e)
+            .responseBody().orElseThrow(() -> new Exception("Cannot decode body")).array());
 
         ServiceResult result;
         if (problem.getType().equals(ErrorConstants.SERVICE_EXCEPTION_TYPE)) {
           var serviceName = problem.getServiceName();
           var message = problem.getTitle();
           if (problem.getErrors() != null) {
-            message += " : " + String.join(", ", Arrays.asList(problem.getErrors()));
+            message += " : " + String.join(", ", problem.getErrors());
           }
           result = new ServiceResult<>(false, message, defaultResult);
           result.setMessageTitle(serviceName);
@@ -50,7 +47,7 @@ public interface RemoteServiceHandler {
         }
 
         if (problem.getStacktrace() != null) {
-          result.setExceptionString(String.join("\n", Arrays.asList(problem.getStacktrace())));
+          result.setExceptionString(String.join("\n", problem.getStacktrace()));
         }
         return result;
       } else {
@@ -63,90 +60,62 @@ public interface RemoteServiceHandler {
     }
   }
 
-  default String getLoggerPrefix(final String methodName) {
-    String username = SecurityUtils.getCurrentUserLogin()
-        .orElse(AppContextThread.getCurrentUsername());
-    String sessionId = AppContextThread.getCurrentSessionId() == null ? "local"
-        : AppContextThread.getCurrentSessionId();
-    ThreadContext.put("jhapy.username", username);
-    ThreadContext.put("jhapy.sessionId", sessionId);
-    var params = "";
-    if (StringUtils.isNotBlank(username)) {
-      params += username;
-    }
-
-    return String.format("%-30s", methodName + "(" + params + ")") + " :: ";
+  /**
+   * @return a prefix rendered on first use, nothing is resolved when nothing is logged
+   */
+  default LoggerPrefix getLoggerPrefix(final String methodName) {
+    return new LoggerPrefix(methodName, null);
   }
 
-  default String getLoggerPrefix(final String methodName, Object... params) {
-    String username = SecurityUtils.getCurrentUserLogin()
-        .orElse(AppContextThread.getCurrentUsername());
-    String sessionId = AppContextThread.getCurrentSessionId() == null ? "local"
-        : AppContextThread.getCurrentSessionId();
-    ThreadContext.put("jhapy.username", username);
-    ThreadContext.put("jhapy.sessionId", sessionId);
-    var paramsStr = new StringBuilder();
-    if (StringUtils.isNotBlank(username)) {
-      paramsStr.append(username).append(params.length > 0 ? ", " : "");
-    }
-
-    if (params.length > 0) {
-      for (Object p : params) {
-        if (p == null) {
-          paramsStr.append("null").append(", ");
-        } else if (p.getClass().isArray()) {
-          paramsStr.append(Arrays.asList((Object[]) p)).append(", ");
-        } else {
-          paramsStr.append(p).append(", ");
-        }
-      }
-      paramsStr = new StringBuilder(paramsStr.substring(0, paramsStr.length() - 2));
-    }
-    return String.format("%-30s", methodName + "(" + paramsStr + ")") + " :: ";
+  default LoggerPrefix getLoggerPrefix(final String methodName, Object... params) {
+    return new LoggerPrefix(methodName, params);
   }
 
   default Logger logger() {
-    return LogManager.getLogger(getClass());
+    return RemoteServiceSupport.logger(getClass());
   }
 
-  default void trace(String prefix, String message, Object... params) {
-    logger()
-        .trace(() -> MessageFormat.format("{0}{1}", prefix, MessageFormat.format(message, params)));
+  default void trace(Object prefix, String message, Object... params) {
+    log(Level.TRACE, prefix, null, message, params);
   }
 
-  default void debug(String prefix, String message, Object... params) {
-    logger()
-        .debug(() -> MessageFormat.format("{0}{1}", prefix, MessageFormat.format(message, params)));
+  default void debug(Object prefix, String message, Object... params) {
+    log(Level.DEBUG, prefix, null, message, params);
   }
 
-  default void info(String prefix, String message, Object... params) {
-    logger()
-        .info(() -> MessageFormat.format("{0}{1}", prefix, MessageFormat.format(message, params)));
+  default void info(Object prefix, String message, Object... params) {
+    log(Level.INFO, prefix, null, message, params);
   }
 
-  default void warn(String prefix, String message, Object... params) {
-    logger()
-        .warn(() -> MessageFormat.format("{0}{1}", prefix, MessageFormat.format(message, params)));
+  default void warn(Object prefix, String message, Object... params) {
+    log(Level.WARN, prefix, null, message, params);
   }
 
-  default void warn(String prefix, Throwable exception, String message, Object... params) {
-    logger()
-        .warn(() -> MessageFormat.format("{0}{1}", prefix, MessageFormat.format(message, params)),
-            exception);
+  default void warn(Object prefix, Throwable exception, String message, Object... params) {
+    log(Level.WARN, prefix, exception, message, params);
   }
 
-  default void error(String prefix, String message, Object... params) {
-    logger()
-        .error(() -> MessageFormat.format("{0}{1}", prefix, MessageFormat.format(message, params)));
+  default void error(Object prefix, String message, Object... params) {
+    log(Level.ERROR, prefix, null, message, params);
   }
 
-  default void error(String prefix, Throwable exception, String message, Object... params) {
-    logger()
-        .error(() -> MessageFormat.format("{0}{1}", prefix, MessageFormat.format(message, params)),
-            exception);
+  default void error(Object prefix, Throwable exception, String message, Object... params) {
+    log(Level.ERROR, prefix, exception, message, params);
+  }
+
+  /**
+   * The logging context (username, session id) is only written when the level is enabled.
+   */
+  default void log(Level level, Object prefix, Throwable exception, String message,
+      Object... params) {
+    var logger = logger();
+    if (logger.isEnabled(level)) {
+      RemoteServiceSupport.updateLoggingContext();
+      logger.log(level, prefix + MessageFormat.format(message, params), exception);
+    }
   }
 
   default Logger logger(Class aClass) {
-    return LogManager.getLogger(aClass);
+    return RemoteServiceSupport.logger(aClass);
   }
 }
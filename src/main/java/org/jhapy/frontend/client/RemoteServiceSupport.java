@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jhapy.frontend.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.IOException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.jhapy.commons.exception.JHapyProblem;
+import org.jhapy.commons.security.SecurityUtils;
+import org.jhapy.dto.utils.AppContextThread;
+import org.jhapy.frontend.client.codec.WireFormat;
+import org.zalando.problem.ProblemModule;
+
+/**
+ * Shared, preconfigured, state used by {@link RemoteServiceHandler}. Fallbacks can fire thousands
+ * of times per second during an outage, nothing here allocates per call beyond what is needed.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+final class RemoteServiceSupport {
+
+  static final int LOGGER_PREFIX_WIDTH = 30;
+
+  private static final ObjectReader JSON_PROBLEM_READER = new ObjectMapper()
+      .registerModule(new ProblemModule()).readerFor(JHapyProblem.class);
+
+  private static final ObjectReader SMILE_PROBLEM_READER = new ObjectMapper(new SmileFactory())
+      .registerModule(new ProblemModule()).readerFor(JHapyProblem.class);
+
+  private static final ClassValue<Logger> LOGGERS = new ClassValue<>() {
+    @Override
+    protected Logger computeValue(Class<?> type) {
+      return LogManager.getLogger(type);
+    }
+  };
+
+  private RemoteServiceSupport() {
+  }
+
+  static JHapyProblem readProblem(byte[] responseBody) throws IOException {
+    var content = WireFormat.uncompressed(responseBody);
+    return WireFormat.isSmile(content) ? SMILE_PROBLEM_READER.readValue(content)
+        : JSON_PROBLEM_READER.readValue(content);
+  }
+
+  static Logger logger(Class<?> type) {
+    return LOGGERS.get(type);
+  }
+
+  static String getCurrentUsername() {
+    return SecurityUtils.getCurrentUserLogin().orElse(AppContextThread.getCurrentUsername());
+  }
+
+  /**
+   * Set the username and session id of the logging context, right before logging.
+   */
+  static void updateLoggingContext() {
+    String sessionId = AppContextThread.getCurrentSessionId() == null ? "local"
+        : AppContextThread.getCurrentSessionId();
+    putThreadContext("jhapy.username", getCurrentUsername());
+    putThreadContext("jhapy.sessionId", sessionId);
+  }
+
+  /**
+   * The default ThreadContext map is copy on write, only write when the value changes.
+   */
+  static void putThreadContext(String key, String value) {
+    if (value == null) {
+      if (ThreadContext.containsKey(key)) {
+        ThreadContext.remove(key);
+      }
+    } else if (!value.equals(ThreadContext.get(key))) {
+      ThreadContext.put(key, value);
+    }
+  }
+
+  static String padRight(StringBuilder value, int width) {
+    while (value.length() < width) {
+      value.append(' ');
+    }
+    return value.append(" :: ").toString();
+  }
+}
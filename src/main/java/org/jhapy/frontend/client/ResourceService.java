@@ -19,11 +19,14 @@
 package org.jhapy.frontend.client;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import java.util.Collections;
+import java.util.List;
 import org.jhapy.dto.serviceQuery.ServiceResult;
 import org.jhapy.dto.serviceQuery.generic.DeleteByStrIdQuery;
 import org.jhapy.dto.serviceQuery.generic.GetByStrIdQuery;
 import org.jhapy.dto.serviceQuery.generic.SaveQuery;
 import org.jhapy.dto.utils.StoredFile;
+import org.jhapy.frontend.client.batch.GetByStrIdsQuery;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.context.annotation.Primary;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -54,6 +57,14 @@ public interface ResourceService extends RemoteServiceHandler {
     return defaultFallback(getLoggerPrefix("getByIdFallback"), e, null);
   }
 
+  @PostMapping(value = "/getByIds")
+  @CircuitBreaker(name = "defaultServiceCircuitBreaker", fallbackMethod = "getByIdsFallback")
+  ServiceResult<List<StoredFile>> getByIds(@RequestBody GetByStrIdsQuery query);
+
+  default ServiceResult<List<StoredFile>> getByIdsFallback(GetByStrIdsQuery query, Exception e) {
+    return defaultFallback(getLoggerPrefix("getByIdsFallback"), e, Collections.emptyList());
+  }
+
   @PostMapping(value = "/getByIdNoContent")
   @CircuitBreaker(name = "defaultServiceCircuitBreaker", fallbackMethod = "getByIdNoContentFallback")
   ServiceResult<StoredFile> getByIdNoContent(@RequestBody GetByStrIdQuery query);
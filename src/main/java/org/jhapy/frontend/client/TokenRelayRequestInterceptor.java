@@ -21,7 +21,6 @@ package org.jhapy.frontend.client;
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
 import java.util.Optional;
-import org.jhapy.commons.security.oauth2.AuthorizationHeaderUtil;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -29,16 +28,16 @@ public class TokenRelayRequestInterceptor implements RequestInterceptor {
 
   public static final String AUTHORIZATION = "Authorization";
 
-  private final AuthorizationHeaderUtil authorizationHeaderUtil;
+  private final AccessTokenCache accessTokenCache;
 
-  public TokenRelayRequestInterceptor(AuthorizationHeaderUtil authorizationHeaderUtil) {
+  public TokenRelayRequestInterceptor(AccessTokenCache accessTokenCache) {
     super();
-    this.authorizationHeaderUtil = authorizationHeaderUtil;
+    this.accessTokenCache = accessTokenCache;
   }
 
   @Override
   public void apply(RequestTemplate template) {
-    Optional<String> authorizationHeader = authorizationHeaderUtil.getAuthorizationHeader();
+    Optional<String> authorizationHeader = accessTokenCache.getAuthorizationHeader();
     authorizationHeader.ifPresent(s -> template.header(AUTHORIZATION, s));
   }
 }
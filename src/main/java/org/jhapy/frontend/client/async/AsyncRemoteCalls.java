@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Run independent remote calls in parallel, the caller fans out and joins so the latency is the
+ * one of the slowest call instead of the sum of all of them.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class AsyncRemoteCalls {
+
+  private final ThreadPoolTaskExecutor executor;
+
+  public AsyncRemoteCalls(ThreadPoolTaskExecutor executor) {
+    this.executor = executor;
+  }
+
+  public <T> CompletableFuture<T> supply(Supplier<T> call) {
+    return CompletableFuture.supplyAsync(call, executor);
+  }
+
+  public <S> AsyncService<S> of(S service) {
+    return new AsyncService<>(service, executor);
+  }
+
+  public Executor getExecutor() {
+    return executor;
+  }
+
+  public void shutdown() {
+    executor.shutdown();
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client.async;
+
+import java.util.Map;
+import org.apache.logging.log4j.ThreadContext;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Carry the security context, the request attributes and the logging context of the submitting
+ * thread to the thread running the remote call, so the token relay and the logger prefixes keep
+ * working.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class ContextPropagatingTaskDecorator implements TaskDecorator {
+
+  @Override
+  public Runnable decorate(Runnable runnable) {
+    SecurityContext securityContext = SecurityContextHolder.getContext();
+    RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+    Map<String, String> threadContext = ThreadContext.getImmutableContext();
+
+    return () -> {
+      SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+      RequestAttributes previousRequestAttributes = RequestContextHolder.getRequestAttributes();
+      // Not empty when the caller runs the task itself (saturated executor)
+      Map<String, String> previousThreadContext = ThreadContext.getImmutableContext();
+      try {
+        SecurityContextHolder.setContext(securityContext);
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        ThreadContext.putAll(threadContext);
+
+        runnable.run();
+      } finally {
+        ThreadContext.clearMap();
+        ThreadContext.putAll(previousThreadContext);
+        if (previousRequestAttributes == null) {
+          RequestContextHolder.resetRequestAttributes();
+        } else {
+          RequestContextHolder.setRequestAttributes(previousRequestAttributes);
+        }
+        SecurityContextHolder.setContext(previousSecurityContext);
+      }
+    };
+  }
+}
@@ -18,11 +18,9 @@
 
 package org.jhapy.frontend.client.audit;
 
-import com.vaadin.flow.spring.SpringServlet;
-import javax.servlet.ServletContext;
+import org.jhapy.frontend.client.ClientBeanRegistry;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
-import org.springframework.web.context.support.WebApplicationContextUtils;
 
 /**
  * @author jHapy Lead Dev.
@@ -33,15 +31,14 @@ import org.springframework.web.context.support.WebApplicationContextUtils;
 public class AuditServices {
 
   public static AuditServiceQueue getAuditServiceQueue() {
-    return getApplicationContext().getBean(AuditServiceQueue.class);
+    return ClientBeanRegistry.get(AuditServiceQueue.class);
   }
 
   public static SessionService getSessionService() {
-    return getApplicationContext().getBean(SessionService.class);
+    return ClientBeanRegistry.get(SessionService.class);
   }
 
   public static ApplicationContext getApplicationContext() {
-    ServletContext servletContext = SpringServlet.getCurrent().getServletContext();
-    return WebApplicationContextUtils.getWebApplicationContext(servletContext);
+    return ClientBeanRegistry.getApplicationContext();
   }
 }
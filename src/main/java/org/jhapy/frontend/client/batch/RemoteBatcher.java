@@ -0,0 +1,146 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jhapy.frontend.client.batch;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.jhapy.commons.utils.HasLogger;
+
+/**
+ * Merge concurrent single key lookups into batched remote calls.
+ *
+ * <p>One caller of {@link #get(Object)} at a time resolves all the queued keys with one batch
+ * call. The keys requested while that call is in flight are queued and resolved together by the
+ * next call, so under load the number of remote calls follows the latency, not the lookups.</p>
+ *
+ * <p>The calls are made with the security context of the dispatching caller : only share a
+ * batcher between users for data that is not user specific. Lookups made one after the other by
+ * a UI thread are merged by {@link RoundTripBatcher} instead.</p>
+ *
+ * <p>When the batch loader returns {@code null} (batch operation failed or not supported by the
+ * remote service), the keys are resolved one by one with the single loader and the batch loader
+ * is tried again after {@value #BATCH_RETRY_DELAY_SECONDS} seconds.</p>
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class RemoteBatcher<K, V> implements HasLogger {
+
+  public static final long BATCH_RETRY_DELAY_SECONDS = 60;
+
+  private final String name;
+  private final Function<List<K>, Map<K, V>> batchLoader;
+  private final Function<K, V> singleLoader;
+  private final int maxBatchSize;
+
+  private final Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+  private boolean dispatching = false;
+  private volatile long batchRetryAt = System.nanoTime();
+  private volatile boolean batchSuspended = false;
+
+  public RemoteBatcher(String name, Function<List<K>, Map<K, V>> batchLoader,
+      Function<K, V> singleLoader, int maxBatchSize) {
+    this.name = name;
+    this.batchLoader = batchLoader;
+    this.singleLoader = singleLoader;
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  public V get(K key) {
+    CompletableFuture<V> future;
+    synchronized (this) {
+      future = pending.computeIfAbsent(key, k -> new CompletableFuture<>());
+    }
+    while (!future.isDone()) {
+      synchronized (this) {
+        while (dispatching && !future.isDone()) {
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return singleLoader.apply(key);
+          }
+        }
+        if (future.isDone()) {
+          break;
+        }
+        dispatching = true;
+      }
+      try {
+        dispatch();
+      } finally {
+        synchronized (this) {
+          dispatching = false;
+          notifyAll();
+        }
+      }
+    }
+    return future.join();
+  }
+
+  private void dispatch() {
+    var loggerPrefix = getLoggerPrefix("dispatch", name);
+    Map<K, CompletableFuture<V>> batch;
+    synchronized (this) {
+      if (pending.isEmpty()) {
+        return;
+      }
+      batch = new LinkedHashMap<>(pending);
+      pending.clear();
+    }
+
+    var keys = new ArrayList<>(batch.keySet());
+    for (int start = 0; start < keys.size(); start += maxBatchSize) {
+      var chunk = keys.subList(start, Math.min(start + maxBatchSize, keys.size()));
+      try {
+        Map<K, V> values = null;
+        if (chunk.size() > 1 && isBatchAvailable()) {
+          values = batchLoader.apply(chunk);
+          if (values == null) {
+            warn(loggerPrefix, "Batch call failed, single calls for the next {0} seconds",
+                BATCH_RETRY_DELAY_SECONDS);
+            batchRetryAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(BATCH_RETRY_DELAY_SECONDS);
+            batchSuspended = true;
+          } else {
+            batchSuspended = false;
+            debug(loggerPrefix, "{0} keys resolved in one call", chunk.size());
+          }
+        }
+        for (K key : chunk) {
+          batch.get(key)
+              .complete(values != null ? values.get(key) : singleLoader.apply(key));
+        }
+      } catch (RuntimeException e) {
+        error(loggerPrefix, e, "Unexpected error while resolving {0} keys", chunk.size());
+        chunk.forEach(key -> batch.get(key).completeExceptionally(e));
+      }
+    }
+  }
+
+  private boolean isBatchAvailable() {
+    return !batchSuspended || System.nanoTime() - batchRetryAt > 0;
+  }
+}
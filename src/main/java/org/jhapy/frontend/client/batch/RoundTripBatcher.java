@@ -0,0 +1,139 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client.batch;
+
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.function.SerializableConsumer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.jhapy.commons.utils.HasLogger;
+
+/**
+ * Collect the keys requested during one UI round trip and resolve them with one batch call, right
+ * before the response is written.
+ *
+ * <p>The values are handed over to callbacks once the round trip ends : only usable where the
+ * value is read later, by a {@code StreamResource} or a listener. Outside of a UI the key is
+ * resolved right away.</p>
+ *
+ * <p>The calls are made by the UI thread, with the security context of its user, so one batcher
+ * can be shared by all the UIs.</p>
+ *
+ * <p>When the batch loader returns {@code null} (batch operation failed or not supported by the
+ * remote service), the keys are resolved one by one with the single loader and the batch loader
+ * is tried again after {@value RemoteBatcher#BATCH_RETRY_DELAY_SECONDS} seconds.</p>
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class RoundTripBatcher<K, V> implements HasLogger {
+
+  private final String name;
+  private final Function<List<K>, Map<K, V>> batchLoader;
+  private final Function<K, V> singleLoader;
+  private final int maxBatchSize;
+
+  private volatile long batchRetryAt = System.nanoTime();
+  private volatile boolean batchSuspended = false;
+
+  public RoundTripBatcher(String name, Function<List<K>, Map<K, V>> batchLoader,
+      Function<K, V> singleLoader, int maxBatchSize) {
+    this.name = name;
+    this.batchLoader = batchLoader;
+    this.singleLoader = singleLoader;
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  /**
+   * Resolve the key with the others of the current round trip, the callback gets {@code null}
+   * when not found.
+   */
+  public void load(K key, SerializableConsumer<V> callback) {
+    var ui = UI.getCurrent();
+    if (ui == null) {
+      callback.accept(singleLoader.apply(key));
+      return;
+    }
+    var dataKey = getDataKey();
+    @SuppressWarnings("unchecked")
+    var pending = (LinkedHashMap<K, List<SerializableConsumer<V>>>) ComponentUtil
+        .getData(ui, dataKey);
+    if (pending == null) {
+      pending = new LinkedHashMap<>();
+      ComponentUtil.setData(ui, dataKey, pending);
+      ui.beforeClientResponse(ui, context -> flush(context.getUI()));
+    }
+    pending.computeIfAbsent(key, k -> new ArrayList<>()).add(callback);
+  }
+
+  protected void flush(UI ui) {
+    var loggerPrefix = getLoggerPrefix("flush", name);
+    var dataKey = getDataKey();
+    @SuppressWarnings("unchecked")
+    var pending = (LinkedHashMap<K, List<SerializableConsumer<V>>>) ComponentUtil
+        .getData(ui, dataKey);
+    ComponentUtil.setData(ui, dataKey, null);
+    if (pending == null || pending.isEmpty()) {
+      return;
+    }
+
+    var keys = new ArrayList<>(pending.keySet());
+    for (int start = 0; start < keys.size(); start += maxBatchSize) {
+      var chunk = keys.subList(start, Math.min(start + maxBatchSize, keys.size()));
+      Map<K, V> values = null;
+      try {
+        if (chunk.size() > 1 && isBatchAvailable()) {
+          values = batchLoader.apply(chunk);
+          if (values == null) {
+            warn(loggerPrefix, "Batch call failed, single calls for the next {0} seconds",
+                RemoteBatcher.BATCH_RETRY_DELAY_SECONDS);
+            batchRetryAt = System.nanoTime() + TimeUnit.SECONDS
+                .toNanos(RemoteBatcher.BATCH_RETRY_DELAY_SECONDS);
+            batchSuspended = true;
+          } else {
+            batchSuspended = false;
+            debug(loggerPrefix, "{0} keys resolved in one call", chunk.size());
+          }
+        }
+        for (K key : chunk) {
+          V value = values != null ? values.get(key) : singleLoader.apply(key);
+          pending.get(key).forEach(callback -> callback.accept(value));
+        }
+      } catch (RuntimeException e) {
+        error(loggerPrefix, e, "Unexpected error while resolving {0} keys", chunk.size());
+      }
+    }
+  }
+
+  private String getDataKey() {
+    return RoundTripBatcher.class.getName() + "." + name;
+  }
+
+  private boolean isBatchAvailable() {
+    return !batchSuspended || System.nanoTime() - batchRetryAt > 0;
+  }
+}
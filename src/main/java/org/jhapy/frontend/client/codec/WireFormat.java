@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jhapy.frontend.client.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.Collection;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Constants and helpers shared by the Feign wire format codec.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public final class WireFormat {
+
+  public static final String SMILE_MEDIA_TYPE = "application/x-jackson-smile";
+  public static final String JSON_MEDIA_TYPE = "application/json";
+  public static final String GZIP = "gzip";
+
+  private static final int GZIP_MAGIC_1 = 0x1f;
+  private static final int GZIP_MAGIC_2 = 0x8b;
+
+  /**
+   * Smile documents start with ":)\n"
+   */
+  private static final byte[] SMILE_HEADER = {':', ')', '\n'};
+
+  private WireFormat() {
+  }
+
+  public static String firstHeader(Map<String, Collection<String>> headers, String name) {
+    if (headers == null) {
+      return null;
+    }
+    for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+      if (name.equalsIgnoreCase(header.getKey()) && header.getValue() != null
+          && !header.getValue().isEmpty()) {
+        return header.getValue().iterator().next();
+      }
+    }
+    return null;
+  }
+
+  public static boolean isSmile(byte[] content) {
+    if (content == null || content.length < SMILE_HEADER.length) {
+      return false;
+    }
+    for (int i = 0; i < SMILE_HEADER.length; i++) {
+      if (content[i] != SMILE_HEADER[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Return a stream on the uncompressed content. The gzip magic number is sniffed rather than
+   * trusting the Content-Encoding header, as some HTTP clients already inflate the body while
+   * keeping the header.
+   */
+  public static InputStream uncompressed(InputStream inputStream) throws IOException {
+    var pushbackInputStream = new PushbackInputStream(inputStream, 2);
+    int b1 = pushbackInputStream.read();
+    int b2 = pushbackInputStream.read();
+    if (b2 != -1) {
+      pushbackInputStream.unread(b2);
+    }
+    if (b1 != -1) {
+      pushbackInputStream.unread(b1);
+    }
+    if (b1 == GZIP_MAGIC_1 && b2 == GZIP_MAGIC_2) {
+      return new GZIPInputStream(pushbackInputStream);
+    } else {
+      return pushbackInputStream;
+    }
+  }
+
+  public static byte[] uncompressed(byte[] content) throws IOException {
+    if (content == null || content.length < 2 || (content[0] & 0xff) != GZIP_MAGIC_1
+        || (content[1] & 0xff) != GZIP_MAGIC_2) {
+      return content;
+    }
+    try (var inputStream = new GZIPInputStream(new ByteArrayInputStream(content))) {
+      return inputStream.readAllBytes();
+    }
+  }
+}
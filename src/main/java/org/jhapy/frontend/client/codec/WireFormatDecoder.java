@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jhapy.frontend.client.codec;
+
+import feign.Response;
+import feign.codec.Decoder;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Feign decoder inflating gzip compressed responses before handing them over to the regular
+ * decoder, whose message converters read both JSON and Smile.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class WireFormatDecoder implements Decoder {
+
+  private final Decoder decoder;
+
+  public WireFormatDecoder(Decoder decoder) {
+    this.decoder = decoder;
+  }
+
+  @Override
+  public Object decode(Response response, Type type) throws IOException {
+    var contentEncoding = WireFormat
+        .firstHeader(response.headers(), HttpHeaders.CONTENT_ENCODING);
+    if (response.body() == null || !WireFormat.GZIP.equalsIgnoreCase(contentEncoding)) {
+      return decoder.decode(response, type);
+    }
+
+    try (var body = WireFormat.uncompressed(response.body().asInputStream())) {
+      var headers = new LinkedHashMap<>(response.headers());
+      headers.keySet().removeIf(HttpHeaders.CONTENT_ENCODING::equalsIgnoreCase);
+      return decoder
+          .decode(response.toBuilder().headers(headers).body(body.readAllBytes()).build(), type);
+    }
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jhapy.frontend.client.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.RequestTemplate;
+import feign.codec.EncodeException;
+import feign.codec.Encoder;
+import java.lang.reflect.Type;
+import org.jhapy.frontend.config.AppProperties;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Feign encoder writing Smile request bodies for the services listed in {@code
+ * jhapy.remote-calls.wire-format.binary-request-services}, JSON for all the others.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class WireFormatEncoder implements Encoder {
+
+  private final Encoder jsonEncoder;
+  private final ObjectMapper smileMapper;
+  private final AppProperties.RemoteCalls.WireFormat wireFormat;
+
+  public WireFormatEncoder(Encoder jsonEncoder, ObjectMapper smileMapper,
+      AppProperties.RemoteCalls.WireFormat wireFormat) {
+    this.jsonEncoder = jsonEncoder;
+    this.smileMapper = smileMapper;
+    this.wireFormat = wireFormat;
+  }
+
+  @Override
+  public void encode(Object object, Type bodyType, RequestTemplate template) {
+    if (object == null || !acceptsSmileRequest(template)) {
+      jsonEncoder.encode(object, bodyType, template);
+      return;
+    }
+    try {
+      var content = smileMapper.writerFor(smileMapper.constructType(bodyType))
+          .writeValueAsBytes(object);
+      template.removeHeader(HttpHeaders.CONTENT_TYPE);
+      template.header(HttpHeaders.CONTENT_TYPE, WireFormat.SMILE_MEDIA_TYPE);
+      template.body(content, null);
+    } catch (JsonProcessingException e) {
+      throw new EncodeException(e.getMessage(), e);
+    }
+  }
+
+  private boolean acceptsSmileRequest(RequestTemplate template) {
+    return Boolean.TRUE.equals(wireFormat.getBinaryEnabled()) && template.feignTarget() != null
+        && wireFormat.getBinaryRequestServices().contains(template.feignTarget().name());
+  }
+}
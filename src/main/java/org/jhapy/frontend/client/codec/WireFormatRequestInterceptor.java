@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jhapy.frontend.client.codec;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import org.jhapy.frontend.config.AppProperties;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Negotiate the response format : gzip compression and Smile encoding when enabled, JSON remains
+ * acceptable so that services without Smile support keep working.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class WireFormatRequestInterceptor implements RequestInterceptor {
+
+  private final AppProperties.RemoteCalls.WireFormat wireFormat;
+
+  public WireFormatRequestInterceptor(AppProperties.RemoteCalls.WireFormat wireFormat) {
+    this.wireFormat = wireFormat;
+  }
+
+  @Override
+  public void apply(RequestTemplate template) {
+    if (Boolean.TRUE.equals(wireFormat.getCompressionEnabled())) {
+      template.header(HttpHeaders.ACCEPT_ENCODING, WireFormat.GZIP);
+    }
+    if (Boolean.TRUE.equals(wireFormat.getBinaryEnabled())) {
+      template.removeHeader(HttpHeaders.ACCEPT);
+      template.header(HttpHeaders.ACCEPT,
+          WireFormat.SMILE_MEDIA_TYPE + ", " + WireFormat.JSON_MEDIA_TYPE + ";q=0.9");
+    }
+  }
+}
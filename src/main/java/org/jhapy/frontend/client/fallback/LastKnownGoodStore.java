@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jhapy.frontend.client.fallback;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.Value;
+import org.jhapy.commons.security.SecurityUtils;
+import org.jhapy.dto.serviceQuery.ServiceResult;
+import org.jhapy.frontend.config.AppProperties;
+
+/**
+ * Bounded, in memory, store of the last successful result of each read operation. Entries are
+ * keyed by operation, arguments and current user so that a stale result is only served to the
+ * user who could read it.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class LastKnownGoodStore {
+
+  private final AppProperties.RemoteCalls.StaleFallback staleFallback;
+  private final Map<Key, Entry> entries;
+
+  public LastKnownGoodStore(AppProperties.RemoteCalls.StaleFallback staleFallback) {
+    this.staleFallback = staleFallback;
+    this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+        return size() > staleFallback.getMaxEntries();
+      }
+    };
+  }
+
+  public boolean isReadOperation(String serviceName, String methodName) {
+    if (!Boolean.TRUE.equals(staleFallback.getEnabled()) || staleFallback.getExcludedServices()
+        .contains(serviceName)) {
+      return false;
+    }
+    return staleFallback.getReadOperationPrefixes().stream().anyMatch(methodName::startsWith);
+  }
+
+  public void put(String operation, Object[] args, ServiceResult<?> result) {
+    var entry = new Entry(result.getData(), Instant.now());
+    synchronized (entries) {
+      entries.put(key(operation, args), entry);
+    }
+  }
+
+  /**
+   * Return the last known good result for this call, with its age, when not older than {@code
+   * jhapy.remote-calls.stale-fallback.max-age-seconds}.
+   */
+  public Optional<StaleServiceResult<Object>> getStale(String operation, Object[] args,
+      ServiceResult<?> failure) {
+    var key = key(operation, args);
+    Entry entry;
+    synchronized (entries) {
+      entry = entries.get(key);
+      if (entry != null && entry.getFetchedAt()
+          .plusSeconds(staleFallback.getMaxAgeSeconds()).isBefore(Instant.now())) {
+        entries.remove(key);
+        entry = null;
+      }
+    }
+    return Optional.ofNullable(entry)
+        .map(e -> new StaleServiceResult<>(e.getData(), e.getFetchedAt(), failure));
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  private Key key(String operation, Object[] args) {
+    return new Key(operation, SecurityUtils.getCurrentUserLogin().orElse(null),
+        Arrays.asList(args));
+  }
+
+  @Value
+  private static class Key {
+
+    String operation;
+    String username;
+    List<Object> args;
+  }
+
+  @Value
+  private static class Entry {
+
+    Object data;
+    Instant fetchedAt;
+  }
+}
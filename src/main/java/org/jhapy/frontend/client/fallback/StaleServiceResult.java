@@ -0,0 +1,56 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jhapy.frontend.client.fallback;
+
+import java.time.Duration;
+import java.time.Instant;
+import lombok.Getter;
+import org.jhapy.dto.serviceQuery.ServiceResult;
+
+/**
+ * Last successful result of a read operation, served while the remote service is unavailable.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+@Getter
+public class StaleServiceResult<T> extends ServiceResult<T> {
+
+  private final Instant fetchedAt;
+
+  private final Duration age;
+
+  public StaleServiceResult(T data, Instant fetchedAt, ServiceResult<?> failure) {
+    super(true, "Service unavailable, data from " + formatAge(
+        Duration.between(fetchedAt, Instant.now())) + " ago : " + failure.getMessage(), data);
+    this.fetchedAt = fetchedAt;
+    this.age = Duration.between(fetchedAt, Instant.now());
+    setMessageTitle(failure.getMessageTitle());
+  }
+
+  public static String formatAge(Duration age) {
+    if (age.toHours() > 0) {
+      return age.toHours() + "h" + age.toMinutesPart() + "m";
+    } else if (age.toMinutes() > 0) {
+      return age.toMinutes() + "m" + age.toSecondsPart() + "s";
+    } else {
+      return age.toSeconds() + "s";
+    }
+  }
+}
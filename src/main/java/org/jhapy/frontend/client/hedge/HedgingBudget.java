@@ -0,0 +1,56 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client.hedge;
+
+/**
+ * Token bucket bounding the hedged attempts : every call earns {@code ratio} token, a hedge costs
+ * one, up to {@code burst} tokens are kept.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class HedgingBudget {
+
+  private final double ratio;
+  private final double burst;
+  private double tokens;
+
+  public HedgingBudget(double ratio, double burst) {
+    this.ratio = ratio;
+    this.burst = burst;
+    this.tokens = burst;
+  }
+
+  public synchronized void onCall() {
+    tokens = Math.min(burst, tokens + ratio);
+  }
+
+  public synchronized boolean tryHedge() {
+    if (tokens < 1) {
+      return false;
+    }
+    tokens -= 1;
+    return true;
+  }
+
+  public synchronized double getTokens() {
+    return tokens;
+  }
+}
@@ -32,6 +32,7 @@ import org.jhapy.dto.serviceQuery.i18n.actionTrl.CountByActionQuery;
 import org.jhapy.dto.serviceQuery.i18n.actionTrl.FindByActionQuery;
 import org.jhapy.frontend.client.AuthorizedFeignClient;
 import org.jhapy.frontend.client.RemoteServiceHandler;
+import org.jhapy.frontend.client.batch.GetByNamesAndIso3Query;
 import org.springframework.context.annotation.Primary;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -79,6 +80,16 @@ public interface ActionTrlService extends RemoteServiceHandler {
     return defaultFallback(getLoggerPrefix("getByNameAndIso3Fallback"), e, null);
   }
 
+  @PostMapping(value = "/getByNamesAndIso3")
+  @CircuitBreaker(name = "defaultServiceCircuitBreaker", fallbackMethod = "getByNamesAndIso3Fallback")
+  ServiceResult<List<ActionTrl>> getByNamesAndIso3(@RequestBody GetByNamesAndIso3Query query);
+
+  default ServiceResult<List<ActionTrl>> getByNamesAndIso3Fallback(GetByNamesAndIso3Query query,
+      Exception e) {
+    return defaultFallback(getLoggerPrefix("getByNamesAndIso3Fallback"), e,
+        Collections.emptyList());
+  }
+
   @PostMapping(value = "/getById")
   @CircuitBreaker(name = "defaultServiceCircuitBreaker", fallbackMethod = "getByIdFallback")
   ServiceResult<ActionTrl> getById(@RequestBody GetByIdQuery query);
@@ -18,11 +18,9 @@
 
 package org.jhapy.frontend.client.i18n;
 
-import com.vaadin.flow.spring.SpringServlet;
-import javax.servlet.ServletContext;
+import org.jhapy.frontend.client.ClientBeanRegistry;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
-import org.springframework.web.context.support.WebApplicationContextUtils;
 
 /**
  * @author jHapy Lead Dev.
@@ -33,35 +31,34 @@ import org.springframework.web.context.support.WebApplicationContextUtils;
 public class I18NServices {
 
   public static I18NService getI18NService() {
-    return getApplicationContext().getBean(I18NService.class);
+    return ClientBeanRegistry.get(I18NService.class);
   }
 
   public static ActionService getActionService() {
-    return getApplicationContext().getBean(ActionService.class);
+    return ClientBeanRegistry.get(ActionService.class);
   }
 
   public static ActionTrlService getActionTrlService() {
-    return getApplicationContext().getBean(ActionTrlService.class);
+    return ClientBeanRegistry.get(ActionTrlService.class);
   }
 
   public static ElementService getElementService() {
-    return getApplicationContext().getBean(ElementService.class);
+    return ClientBeanRegistry.get(ElementService.class);
   }
 
   public static ElementTrlService getElementTrlService() {
-    return getApplicationContext().getBean(ElementTrlService.class);
+    return ClientBeanRegistry.get(ElementTrlService.class);
   }
 
   public static MessageService getMessageService() {
-    return getApplicationContext().getBean(MessageService.class);
+    return ClientBeanRegistry.get(MessageService.class);
   }
 
   public static MessageTrlService getMessageTrlService() {
-    return getApplicationContext().getBean(MessageTrlService.class);
+    return ClientBeanRegistry.get(MessageTrlService.class);
   }
 
   public static ApplicationContext getApplicationContext() {
-    ServletContext servletContext = SpringServlet.getCurrent().getServletContext();
-    return WebApplicationContextUtils.getWebApplicationContext(servletContext);
+    return ClientBeanRegistry.getApplicationContext();
   }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client.limit;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jhapy.frontend.config.AppProperties;
+
+/**
+ * Gradient based limit of the in-flight calls, compares the short term latency of each operation
+ * with its long term latency :
+ * <ul>
+ *   <li>gradient = tolerance * long term latency / short term latency, between 0.5 and 1</li>
+ *   <li>new limit = limit * gradient + sqrt(limit), the headroom probing for more capacity</li>
+ *   <li>the limit moves towards the new limit by the smoothing factor</li>
+ * </ul>
+ * While the short term latency stays within the tolerance of the long term one, the gradient is 1
+ * and the limit grows, as long as it is used. Ordinary jitter averages out in both moving
+ * averages instead of shrinking the limit. A failed call shrinks the limit by the backoff ratio.
+ *
+ * <p>Latencies are tracked per operation (client interface and method), a slow search and a fast
+ * lookup of the same service are not compared with each other. When the short term latency is
+ * far below the long term one, the long term latency decays faster, so it follows a service that
+ * became faster.</p>
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class AdaptiveConcurrencyLimiter {
+
+  private static final double MIN_GRADIENT = 0.5;
+
+  private final AppProperties.RemoteCalls.ConcurrencyLimit properties;
+  private final double shortAlpha;
+  private final double longAlpha;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private volatile int limit;
+
+  /**
+   * Guarded by this
+   */
+  private double estimatedLimit;
+  private final Map<String, Latency> latencies = new HashMap<>();
+
+  public AdaptiveConcurrencyLimiter(AppProperties.RemoteCalls.ConcurrencyLimit properties) {
+    this.properties = properties;
+    this.shortAlpha = 2.0 / (properties.getShortWindowSamples() + 1);
+    this.longAlpha = 2.0 / (properties.getLongWindowSamples() + 1);
+    this.estimatedLimit = properties.getInitialLimit();
+    this.limit = properties.getInitialLimit();
+  }
+
+  public boolean tryAcquire() {
+    int current;
+    do {
+      current = inFlight.get();
+      if (current >= limit) {
+        return false;
+      }
+    } while (!inFlight.compareAndSet(current, current + 1));
+    return true;
+  }
+
+  /**
+   * @param operation called operation, the latency is compared with its own history
+   * @param latencyNanos duration of the call
+   * @param dropped the call failed
+   */
+  public void release(String operation, long latencyNanos, boolean dropped) {
+    int inFlightBefore = inFlight.getAndDecrement();
+
+    synchronized (this) {
+      if (dropped) {
+        estimatedLimit = estimatedLimit * properties.getBackoffRatio();
+      } else {
+        var latency = latencies.computeIfAbsent(operation, key -> new Latency(latencyNanos));
+        latency.shortNanos += shortAlpha * (latencyNanos - latency.shortNanos);
+        latency.longNanos += longAlpha * (latencyNanos - latency.longNanos);
+        if (latency.longNanos > latency.shortNanos * 2) {
+          // Faster than it used to be, follow it
+          latency.longNanos *= 0.95;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0,
+            properties.getLatencyTolerance() * latency.longNanos / latency.shortNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        if (newLimit < estimatedLimit || inFlightBefore * 2 >= limit) {
+          // Only grow when the current limit is actually used
+          estimatedLimit = estimatedLimit * (1 - properties.getSmoothing())
+              + newLimit * properties.getSmoothing();
+        }
+      }
+      estimatedLimit = Math.max(properties.getMinLimit(),
+          Math.min(properties.getMaxLimit(), estimatedLimit));
+      limit = (int) estimatedLimit;
+    }
+  }
+
+  /**
+   * Releases a call which did not reach the service, its latency says nothing about it.
+   */
+  public void releaseWithoutSample() {
+    inFlight.decrementAndGet();
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  private static final class Latency {
+
+    private double shortNanos;
+    private double longNanos;
+
+    private Latency(long latencyNanos) {
+      this.shortNanos = latencyNanos;
+      this.longNanos = latencyNanos;
+    }
+  }
+}
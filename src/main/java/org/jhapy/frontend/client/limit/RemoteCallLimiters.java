@@ -0,0 +1,76 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client.limit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.StringUtils;
+import org.jhapy.frontend.config.AppProperties;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+
+/**
+ * One {@link ServiceLimiter} per remote service, the service being the name of the Feign client
+ * so that all the client interfaces of a server share its limits.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class RemoteCallLimiters {
+
+  private final AppProperties.RemoteCalls remoteCalls;
+  private final MeterRegistry meterRegistry;
+  private final Environment environment;
+
+  private final Map<String, ServiceLimiter> limiters = new ConcurrentHashMap<>();
+  private final ClassValue<String> serviceNames = new ClassValue<>() {
+    @Override
+    protected String computeValue(Class<?> type) {
+      var feignClient = AnnotatedElementUtils.findMergedAnnotation(type, FeignClient.class);
+      var name = feignClient == null ? null
+          : environment.resolvePlaceholders(feignClient.name());
+      return StringUtils.isBlank(name) || "null".equals(name) ? type.getSimpleName() : name;
+    }
+  };
+
+  public RemoteCallLimiters(AppProperties.RemoteCalls remoteCalls, MeterRegistry meterRegistry,
+      Environment environment) {
+    this.remoteCalls = remoteCalls;
+    this.meterRegistry = meterRegistry;
+    this.environment = environment;
+  }
+
+  public boolean isEnabled() {
+    return Boolean.TRUE.equals(remoteCalls.getBulkhead().getEnabled()) || Boolean.TRUE
+        .equals(remoteCalls.getConcurrencyLimit().getEnabled());
+  }
+
+  public String getServiceName(Class<?> clientInterface) {
+    return serviceNames.get(clientInterface);
+  }
+
+  public ServiceLimiter forClient(Class<?> clientInterface) {
+    return limiters.computeIfAbsent(getServiceName(clientInterface),
+        serviceName -> new ServiceLimiter(serviceName, remoteCalls.getBulkhead(),
+            remoteCalls.getConcurrencyLimit(), meterRegistry));
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.jhapy.frontend.config.AppProperties;
+
+/**
+ * Bulkhead and adaptive concurrency limit of one remote service.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class ServiceLimiter {
+
+  public static final String BULKHEAD_AVAILABLE = "jhapy.remote.bulkhead.available";
+  public static final String LIMITER_LIMIT = "jhapy.remote.limiter.limit";
+  public static final String LIMITER_IN_FLIGHT = "jhapy.remote.limiter.inflight";
+  public static final String REJECTED = "jhapy.remote.limiter.rejected";
+
+  private final String serviceName;
+  private final Semaphore bulkhead;
+  private final long maxWaitMillis;
+  private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+  private final Counter bulkheadRejected;
+  private final Counter limitRejected;
+
+  public ServiceLimiter(String serviceName, AppProperties.RemoteCalls.Bulkhead bulkhead,
+      AppProperties.RemoteCalls.ConcurrencyLimit concurrencyLimit, MeterRegistry meterRegistry) {
+    this.serviceName = serviceName;
+    this.maxWaitMillis = bulkhead.getMaxWaitMillis();
+    this.bulkhead = Boolean.TRUE.equals(bulkhead.getEnabled()) ? new Semaphore(
+        bulkhead.getServices().getOrDefault(serviceName, bulkhead.getMaxConcurrentCalls()), true)
+        : null;
+    this.concurrencyLimiter = Boolean.TRUE.equals(concurrencyLimit.getEnabled())
+        ? new AdaptiveConcurrencyLimiter(concurrencyLimit) : null;
+
+    if (this.bulkhead != null) {
+      Gauge.builder(BULKHEAD_AVAILABLE, this.bulkhead, Semaphore::availablePermits)
+          .description("Free slots of the remote service bulkhead")
+          .tag("service", serviceName)
+          .register(meterRegistry);
+    }
+    if (this.concurrencyLimiter != null) {
+      Gauge.builder(LIMITER_LIMIT, concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+          .description("Current concurrency limit of the remote service")
+          .tag("service", serviceName)
+          .register(meterRegistry);
+      Gauge.builder(LIMITER_IN_FLIGHT, concurrencyLimiter,
+          AdaptiveConcurrencyLimiter::getInFlight)
+          .description("In-flight calls to the remote service")
+          .tag("service", serviceName)
+          .register(meterRegistry);
+    }
+    this.bulkheadRejected = Counter.builder(REJECTED).tag("service", serviceName)
+        .tag("reason", "bulkhead").register(meterRegistry);
+    this.limitRejected = Counter.builder(REJECTED).tag("service", serviceName)
+        .tag("reason", "limit").register(meterRegistry);
+  }
+
+  /**
+   * @return false when the call must not be made, {@link #release} must be called otherwise
+   */
+  public boolean tryAcquire() {
+    if (bulkhead != null) {
+      try {
+        if (!bulkhead.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+          bulkheadRejected.increment();
+          return false;
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    }
+    if (concurrencyLimiter != null && !concurrencyLimiter.tryAcquire()) {
+      if (bulkhead != null) {
+        bulkhead.release();
+      }
+      limitRejected.increment();
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * @param operation called operation
+   * @param latencyNanos duration of the call
+   * @param dropped the call failed
+   */
+  public void release(String operation, long latencyNanos, boolean dropped) {
+    if (concurrencyLimiter != null) {
+      concurrencyLimiter.release(operation, latencyNanos, dropped);
+    }
+    if (bulkhead != null) {
+      bulkhead.release();
+    }
+  }
+
+  /**
+   * Releases a call answered without reaching the service, by an open circuit breaker.
+   */
+  public void releaseWithoutSample() {
+    if (concurrencyLimiter != null) {
+      concurrencyLimiter.releaseWithoutSample();
+    }
+    if (bulkhead != null) {
+      bulkhead.release();
+    }
+  }
+
+  public String getServiceName() {
+    return serviceName;
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client.metrics;
+
+import feign.Response;
+import feign.codec.Decoder;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Decoder recording the size of the response bodies as received on the wire (before any
+ * decompression).
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class PayloadSizeDecoder implements Decoder {
+
+  private final Decoder delegate;
+  private final RemoteCallMetrics remoteCallMetrics;
+
+  public PayloadSizeDecoder(Decoder delegate, RemoteCallMetrics remoteCallMetrics) {
+    this.delegate = delegate;
+    this.remoteCallMetrics = remoteCallMetrics;
+  }
+
+  @Override
+  public Object decode(Response response, Type type) throws IOException {
+    if (response.body() == null || !remoteCallMetrics.isEnabled()) {
+      return delegate.decode(response, type);
+    }
+    var body = new CountingInputStream(response.body().asInputStream());
+    try {
+      return delegate
+          .decode(response.toBuilder().body(body, response.body().length()).build(), type);
+    } finally {
+      remoteCallMetrics.recordPayload(getServiceName(response),
+          RemoteCallMetrics.DIRECTION_RESPONSE, body.count);
+    }
+  }
+
+  static String getServiceName(Response response) {
+    var requestTemplate = response.request().requestTemplate();
+    return requestTemplate != null && requestTemplate.feignTarget() != null
+        ? requestTemplate.feignTarget().name() : "unknown";
+  }
+
+  private static class CountingInputStream extends FilterInputStream {
+
+    private long count;
+
+    CountingInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b >= 0) {
+        count++;
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int n = super.read(b, off, len);
+      if (n > 0) {
+        count += n;
+      }
+      return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      long skipped = super.skip(n);
+      count += skipped;
+      return skipped;
+    }
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client.metrics;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.jhapy.commons.utils.HasLogger;
+import org.jhapy.frontend.config.AppProperties;
+
+/**
+ * Micrometer meters of the remote calls :
+ * <ul>
+ *   <li>{@value #CALLS} : latency per service, method and outcome</li>
+ *   <li>{@value #PAYLOAD} : payload size in bytes per service and direction</li>
+ *   <li>{@value #CIRCUIT_BREAKER_TRANSITIONS} : circuit breaker state transitions</li>
+ * </ul>
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class RemoteCallMetrics implements HasLogger {
+
+  public static final String CALLS = "jhapy.remote.calls";
+  public static final String PAYLOAD = "jhapy.remote.payload";
+  public static final String CIRCUIT_BREAKER_TRANSITIONS =
+      "jhapy.remote.circuitbreaker.transitions";
+
+  public static final String OUTCOME_SUCCESS = "success";
+  public static final String OUTCOME_FALLBACK = "fallback";
+  public static final String OUTCOME_STALE = "stale";
+  public static final String OUTCOME_ERROR = "error";
+
+  public static final String DIRECTION_REQUEST = "request";
+  public static final String DIRECTION_RESPONSE = "response";
+
+  private final MeterRegistry meterRegistry;
+  private final AppProperties.RemoteCalls.Metrics properties;
+  private final double[] percentiles;
+
+  /**
+   * Meters by name and tags, building a meter id on each call is not free.
+   */
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+  private final Map<String, DistributionSummary> payloads = new ConcurrentHashMap<>();
+
+  public RemoteCallMetrics(MeterRegistry meterRegistry,
+      AppProperties.RemoteCalls.Metrics properties) {
+    this(meterRegistry, properties, List.of());
+  }
+
+  /**
+   * @param requiredPercentiles read through {@link #getPercentile}, computed on top of the
+   * configured ones
+   */
+  public RemoteCallMetrics(MeterRegistry meterRegistry,
+      AppProperties.RemoteCalls.Metrics properties, Collection<Double> requiredPercentiles) {
+    this.meterRegistry = meterRegistry;
+    this.properties = properties;
+    this.percentiles = Stream.concat(properties.getPercentiles().stream(),
+        requiredPercentiles.stream()).distinct().mapToDouble(Double::doubleValue).toArray();
+  }
+
+  public boolean isEnabled() {
+    return Boolean.TRUE.equals(properties.getEnabled());
+  }
+
+  public void recordCall(String service, String method, String outcome, long durationNanos) {
+    if (isEnabled()) {
+      getTimer(service, method, outcome).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  public Timer getTimer(String service, String method, String outcome) {
+    return timers.computeIfAbsent(service + "." + method + ":" + outcome,
+        key -> Timer.builder(CALLS)
+            .description("Remote service calls")
+            .tags("service", service, "method", method, "outcome", outcome)
+            .publishPercentiles(percentiles)
+            .publishPercentileHistogram(properties.getPercentileHistogram())
+            .register(meterRegistry));
+  }
+
+  /**
+   * Locally computed latency percentile of the successful calls, empty until one is recorded or
+   * when the percentile is neither configured nor required.
+   */
+  public Optional<Duration> getPercentile(String service, String method, double percentile) {
+    var timer = timers.get(service + "." + method + ":" + OUTCOME_SUCCESS);
+    if (timer == null || timer.count() == 0) {
+      return Optional.empty();
+    }
+    for (ValueAtPercentile valueAtPercentile : timer.takeSnapshot().percentileValues()) {
+      if (valueAtPercentile.percentile() == percentile) {
+        return Optional.of(
+            Duration.ofNanos((long) valueAtPercentile.value(TimeUnit.NANOSECONDS)));
+      }
+    }
+    return Optional.empty();
+  }
+
+  public void recordPayload(String service, String direction, long bytes) {
+    if (isEnabled()) {
+      payloads.computeIfAbsent(service + ":" + direction,
+          key -> DistributionSummary.builder(PAYLOAD)
+              .description("Remote service payload sizes")
+              .baseUnit("bytes")
+              .tags("service", service, "direction", direction)
+              .register(meterRegistry))
+          .record(bytes);
+    }
+  }
+
+  /**
+   * Count the state transitions of the existing and future circuit breakers.
+   */
+  public void bindCircuitBreakers(CircuitBreakerRegistry circuitBreakerRegistry) {
+    circuitBreakerRegistry.getAllCircuitBreakers().forEach(this::bindCircuitBreaker);
+    circuitBreakerRegistry.getEventPublisher()
+        .onEntryAdded(event -> bindCircuitBreaker(event.getAddedEntry()));
+  }
+
+  protected void bindCircuitBreaker(CircuitBreaker circuitBreaker) {
+    circuitBreaker.getEventPublisher().onStateTransition(event -> {
+      var from = event.getStateTransition().getFromState().name();
+      var to = event.getStateTransition().getToState().name();
+
+      var loggerPrefix = getLoggerPrefix("circuitBreakerTransition",
+          circuitBreaker.getName());
+      warn(loggerPrefix, "{0} -> {1}", from, to);
+
+      Counter.builder(CIRCUIT_BREAKER_TRANSITIONS)
+          .description("Circuit breaker state transitions")
+          .tags("name", circuitBreaker.getName(), "from", from, "to", to)
+          .register(meterRegistry)
+          .increment();
+    });
+  }
+}
@@ -18,11 +18,9 @@
 
 package org.jhapy.frontend.client.notification;
 
-import com.vaadin.flow.spring.SpringServlet;
-import javax.servlet.ServletContext;
+import org.jhapy.frontend.client.ClientBeanRegistry;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
-import org.springframework.web.context.support.WebApplicationContextUtils;
 
 /**
  * @author jHapy Lead Dev.
@@ -33,23 +31,22 @@ import org.springframework.web.context.support.WebApplicationContextUtils;
 public class NotificationServices {
 
   public static MailService getMailService() {
-    return getApplicationContext().getBean(MailService.class);
+    return ClientBeanRegistry.get(MailService.class);
   }
 
   public static SmsService getSmsService() {
-    return getApplicationContext().getBean(SmsService.class);
+    return ClientBeanRegistry.get(SmsService.class);
   }
 
   public static MailTemplateService getMailTemplateService() {
-    return getApplicationContext().getBean(MailTemplateService.class);
+    return ClientBeanRegistry.get(MailTemplateService.class);
   }
 
   public static SmsTemplateService getSmsTemplateService() {
-    return getApplicationContext().getBean(SmsTemplateService.class);
+    return ClientBeanRegistry.get(SmsTemplateService.class);
   }
 
   public static ApplicationContext getApplicationContext() {
-    ServletContext servletContext = SpringServlet.getCurrent().getServletContext();
-    return WebApplicationContextUtils.getWebApplicationContext(servletContext);
+    return ClientBeanRegistry.getApplicationContext();
   }
 }
@@ -18,11 +18,9 @@
 
 package org.jhapy.frontend.client.reference;
 
-import com.vaadin.flow.spring.SpringServlet;
-import javax.servlet.ServletContext;
+import org.jhapy.frontend.client.ClientBeanRegistry;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
-import org.springframework.web.context.support.WebApplicationContextUtils;
 
 /**
  * @author jHapy Lead Dev.
@@ -33,39 +31,38 @@ import org.springframework.web.context.support.WebApplicationContextUtils;
 public class ReferenceServices {
 
   public static CountryService getCountryService() {
-    return getApplicationContext().getBean(CountryService.class);
+    return ClientBeanRegistry.get(CountryService.class);
   }
 
   public static CountryTrlService getCountryTrlService() {
-    return getApplicationContext().getBean(CountryTrlService.class);
+    return ClientBeanRegistry.get(CountryTrlService.class);
   }
 
   public static IntermediateRegionService getIntermediateRegionService() {
-    return getApplicationContext().getBean(IntermediateRegionService.class);
+    return ClientBeanRegistry.get(IntermediateRegionService.class);
   }
 
   public static IntermediateRegionTrlService getIntermediateRegionTrlService() {
-    return getApplicationContext().getBean(IntermediateRegionTrlService.class);
+    return ClientBeanRegistry.get(IntermediateRegionTrlService.class);
   }
 
   public static RegionService getRegionService() {
-    return getApplicationContext().getBean(RegionService.class);
+    return ClientBeanRegistry.get(RegionService.class);
   }
 
   public static RegionTrlService getRegionTrlService() {
-    return getApplicationContext().getBean(RegionTrlService.class);
+    return ClientBeanRegistry.get(RegionTrlService.class);
   }
 
   public static SubRegionService getSubRegionService() {
-    return getApplicationContext().getBean(SubRegionService.class);
+    return ClientBeanRegistry.get(SubRegionService.class);
   }
 
   public static SubRegionTrlService getSubRegionTrlService() {
-    return getApplicationContext().getBean(SubRegionTrlService.class);
+    return ClientBeanRegistry.get(SubRegionTrlService.class);
   }
 
   public static ApplicationContext getApplicationContext() {
-    ServletContext servletContext = SpringServlet.getCurrent().getServletContext();
-    return WebApplicationContextUtils.getWebApplicationContext(servletContext);
+    return ClientBeanRegistry.getApplicationContext();
   }
 }
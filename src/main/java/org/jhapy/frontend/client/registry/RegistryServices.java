@@ -18,11 +18,9 @@
 
 package org.jhapy.frontend.client.registry;
 
-import com.vaadin.flow.spring.SpringServlet;
-import javax.servlet.ServletContext;
+import org.jhapy.frontend.client.ClientBeanRegistry;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
-import org.springframework.web.context.support.WebApplicationContextUtils;
 
 /**
  * @author jHapy Lead Dev.
@@ -33,11 +31,10 @@ import org.springframework.web.context.support.WebApplicationContextUtils;
 public class RegistryServices {
 
   public static EurekaService getEurekaService() {
-    return getApplicationContext().getBean(EurekaService.class);
+    return ClientBeanRegistry.get(EurekaService.class);
   }
 
   public static ApplicationContext getApplicationContext() {
-    ServletContext servletContext = SpringServlet.getCurrent().getServletContext();
-    return WebApplicationContextUtils.getWebApplicationContext(servletContext);
+    return ClientBeanRegistry.getApplicationContext();
   }
 }
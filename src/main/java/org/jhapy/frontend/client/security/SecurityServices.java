@@ -18,12 +18,11 @@
 
 package org.jhapy.frontend.client.security;
 
-import com.vaadin.flow.spring.SpringServlet;
-import javax.servlet.ServletContext;
+import org.jhapy.frontend.client.ClientBeanRegistry;
+import org.jhapy.frontend.client.security.keycloak.KeycloakBulkTransfer;
 import org.jhapy.frontend.client.security.keycloak.KeycloakClient;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
-import org.springframework.web.context.support.WebApplicationContextUtils;
 
 /**
  * @author jHapy Lead Dev.
@@ -34,19 +33,22 @@ import org.springframework.web.context.support.WebApplicationContextUtils;
 public class SecurityServices {
 
   public static SecurityUserService getSecurityUserService() {
-    return getApplicationContext().getBean(SecurityUserService.class);
+    return ClientBeanRegistry.get(SecurityUserService.class);
   }
 
   public static SecurityRoleService getSecurityRoleService() {
-    return getApplicationContext().getBean(SecurityRoleService.class);
+    return ClientBeanRegistry.get(SecurityRoleService.class);
   }
 
   public static KeycloakClient getKeycloakClient() {
-    return getApplicationContext().getBean(KeycloakClient.class);
+    return ClientBeanRegistry.get(KeycloakClient.class);
+  }
+
+  public static KeycloakBulkTransfer getKeycloakBulkTransfer() {
+    return ClientBeanRegistry.get(KeycloakBulkTransfer.class);
   }
 
   public static ApplicationContext getApplicationContext() {
-    ServletContext servletContext = SpringServlet.getCurrent().getServletContext();
-    return WebApplicationContextUtils.getWebApplicationContext(servletContext);
+    return ClientBeanRegistry.getApplicationContext();
   }
 }
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client.security.keycloak;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.core.Form;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.jboss.resteasy.client.jaxrs.engines.ApacheHttpClient43Engine;
+import org.jhapy.commons.utils.HasLogger;
+import org.jhapy.frontend.config.AppProperties;
+import org.keycloak.admin.client.Keycloak;
+import org.keycloak.admin.client.KeycloakBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * One Keycloak admin client for the application : its HTTP connections are pooled and its master
+ * realm token is reused, refreshed in the background before it expires instead of a new login for
+ * every admin operation.
+ *
+ * <p>The client is created on first use, the application starts without Keycloak.</p>
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class KeycloakAdminClientProvider implements HasLogger {
+
+  public static final String TOKEN_REQUESTS = "jhapy.keycloak.admin.token.requests";
+  public static final String POOL = "jhapy.keycloak.admin.pool";
+
+  private static final String TOKEN_PATH = "/protocol/openid-connect/token";
+
+  private final AppProperties appProperties;
+  private final AppProperties.KeycloakAdminPool pool;
+  private final MeterRegistry meterRegistry;
+
+  private volatile Keycloak keycloak;
+  private volatile PoolingHttpClientConnectionManager connectionManager;
+
+  public KeycloakAdminClientProvider(AppProperties appProperties, MeterRegistry meterRegistry) {
+    this.appProperties = appProperties;
+    this.pool = appProperties.getKeycloakAdminPool();
+    this.meterRegistry = meterRegistry;
+
+    gauge("leased", PoolStats::getLeased);
+    gauge("available", PoolStats::getAvailable);
+    gauge("pending", PoolStats::getPending);
+    gauge("max", PoolStats::getMax);
+  }
+
+  public Keycloak getKeycloak() {
+    Keycloak result = keycloak;
+    if (result == null) {
+      synchronized (this) {
+        result = keycloak;
+        if (result == null) {
+          result = keycloak = createKeycloak();
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Refreshes the admin token when it is about to expire, so the requests always find a valid one.
+   */
+  @Scheduled(fixedDelayString = "${jhapy.keycloak-admin-pool.token-refresh-interval-millis:15000}")
+  public void refreshToken() {
+    var current = keycloak;
+    if (current == null) {
+      return;
+    }
+    try {
+      current.tokenManager().getAccessTokenString();
+    } catch (RuntimeException e) {
+      warn(getLoggerPrefix("refreshToken"), "Cannot refresh the Keycloak admin token : {0}",
+          e.getMessage());
+    }
+  }
+
+  public synchronized void close() {
+    if (keycloak != null) {
+      info(getLoggerPrefix("close"), "Close the Keycloak admin client");
+      // Closes the RESTEasy client, its engine and the connection pool
+      keycloak.close();
+      keycloak = null;
+      connectionManager = null;
+    }
+  }
+
+  protected Keycloak createKeycloak() {
+    var loggerPrefix = getLoggerPrefix("createKeycloak");
+    var keycloakAdmin = appProperties.getKeycloakAdmin();
+
+    var manager = new PoolingHttpClientConnectionManager(pool.getConnectionTtlSeconds(),
+        TimeUnit.SECONDS);
+    manager.setMaxTotal(pool.getConnectionPoolSize());
+    manager.setDefaultMaxPerRoute(pool.getConnectionPoolSize());
+
+    var httpClient = HttpClients.custom()
+        .setConnectionManager(manager)
+        .setDefaultRequestConfig(RequestConfig.custom()
+            .setConnectTimeout(pool.getConnectTimeoutMillis())
+            .setSocketTimeout(pool.getSocketTimeoutMillis())
+            .setConnectionRequestTimeout(pool.getCheckoutTimeoutMillis())
+            .build())
+        .evictIdleConnections(pool.getIdleTimeoutSeconds(), TimeUnit.SECONDS)
+        .build();
+
+    var resteasyClient = ((ResteasyClientBuilder) ResteasyClientBuilder.newBuilder())
+        .httpEngine(new ApacheHttpClient43Engine(httpClient, true))
+        .register(new TokenRequestCounter())
+        .build();
+
+    var result = KeycloakBuilder.builder()
+        .serverUrl(keycloakAdmin.getServerAuthUrl())
+        .realm(keycloakAdmin.getMasterRealm())
+        .username(keycloakAdmin.getUsername())
+        .password(keycloakAdmin.getPassword())
+        .clientId(keycloakAdmin.getClientId())
+        .resteasyClient(resteasyClient)
+        .build();
+    result.tokenManager().setMinTokenValidity(pool.getMinTokenValiditySeconds());
+
+    connectionManager = manager;
+    info(loggerPrefix, "Keycloak admin client created, pool of {0} connections",
+        pool.getConnectionPoolSize());
+    return result;
+  }
+
+  private void gauge(String state, ToIntFunction<PoolStats> value) {
+    Gauge.builder(POOL, this, provider -> {
+      var manager = provider.connectionManager;
+      return manager == null ? 0 : value.applyAsInt(manager.getTotalStats());
+    })
+        .tag("state", state)
+        .description("Connections of the Keycloak admin client pool")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Counts the token requests of the admin client per grant type : {@code password} is a login,
+   * {@code refresh_token} a refresh.
+   */
+  private class TokenRequestCounter implements ClientRequestFilter {
+
+    @Override
+    public void filter(ClientRequestContext requestContext) {
+      if (!requestContext.getUri().getPath().endsWith(TOKEN_PATH)) {
+        return;
+      }
+      String grantType = "unknown";
+      if (requestContext.getEntity() instanceof Form) {
+        String value = ((Form) requestContext.getEntity()).asMap().getFirst("grant_type");
+        if (value != null) {
+          grantType = value;
+        }
+      }
+      Counter.builder(TOKEN_REQUESTS)
+          .tag("grant_type", grantType)
+          .description("Token requests of the Keycloak admin client")
+          .register(meterRegistry)
+          .increment();
+    }
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client.security.keycloak;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.List;
+import javax.ws.rs.NotFoundException;
+import org.jhapy.commons.utils.HasLogger;
+import org.jhapy.frontend.config.AppProperties;
+import org.keycloak.admin.client.resource.RealmResource;
+import org.keycloak.representations.idm.AdminEventRepresentation;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Reads the admin events of the application realm to invalidate the entries changed directly in
+ * Keycloak (admin console, other applications). Admin events must be enabled on the realm.
+ *
+ * <p>Only the oldest member of the cluster polls, the time of the last handled event is shared in
+ * a Hazelcast map so another member takes over where it stopped.</p>
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class KeycloakAdminEventPoller implements HasLogger {
+
+  private static final String STATE_MAP_NAME = "keycloakAdminEventPoller";
+  private static final String LAST_EVENT_TIME = "lastEventTime";
+
+  private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE
+      .withZone(ZoneOffset.UTC);
+
+  /**
+   * Pages read in one poll. Events come newest first : past this, the older events are not read
+   * and every Keycloak cache is invalidated instead.
+   */
+  private static final int MAX_PAGES = 10;
+
+  private final KeycloakAdminClientProvider keycloakAdminClientProvider;
+  private final KeycloakCacheInvalidator cacheInvalidator;
+  private final HazelcastInstance hazelcastInstance;
+  private final AppProperties appProperties;
+
+  public KeycloakAdminEventPoller(KeycloakAdminClientProvider keycloakAdminClientProvider,
+      KeycloakCacheInvalidator cacheInvalidator, HazelcastInstance hazelcastInstance,
+      AppProperties appProperties) {
+    this.keycloakAdminClientProvider = keycloakAdminClientProvider;
+    this.cacheInvalidator = cacheInvalidator;
+    this.hazelcastInstance = hazelcastInstance;
+    this.appProperties = appProperties;
+  }
+
+  @Scheduled(fixedDelayString = "${jhapy.keycloak-admin-pool.admin-event-poll-millis:30000}")
+  public void poll() {
+    var loggerPrefix = getLoggerPrefix("poll");
+    if (!appProperties.getKeycloakAdminPool().getAdminEventPollEnabled() || !isOldestMember()) {
+      return;
+    }
+    try {
+      IMap<String, Long> state = hazelcastInstance.getMap(STATE_MAP_NAME);
+      Long lastEventTime = state.get(LAST_EVENT_TIME);
+      if (lastEventTime == null) {
+        // First poll of the cluster : the caches were filled after the past events
+        state.put(LAST_EVENT_TIME, System.currentTimeMillis());
+        return;
+      }
+
+      KeycloakCacheInvalidation invalidation = new KeycloakCacheInvalidation();
+      long newestEventTime = readEvents(lastEventTime, invalidation);
+
+      if (!invalidation.isEmpty()) {
+        debug(loggerPrefix, "Admin events up to {0} : {1}", newestEventTime, invalidation);
+        cacheInvalidator.invalidate(invalidation);
+      }
+      if (newestEventTime > lastEventTime) {
+        state.put(LAST_EVENT_TIME, newestEventTime);
+      }
+    } catch (RuntimeException e) {
+      // Retried from the same point by the next poll
+      warn(loggerPrefix, "Cannot read the admin events : {0}", e.getMessage());
+    }
+  }
+
+  /**
+   * Events come newest first. Pages are read until an already handled event is found, when not
+   * found within {@link #MAX_PAGES} pages the unread events may touch anything : all the caches
+   * are invalidated.
+   *
+   * @return the time of the newest event read
+   */
+  protected long readEvents(long lastEventTime, KeycloakCacheInvalidation invalidation) {
+    RealmResource realm = getRealm();
+    int batchSize = appProperties.getKeycloakAdminPool().getAdminEventPollBatchSize();
+    // Filtered by day on Keycloak, by time here
+    String dateFrom = DATE_FORMATTER.format(Instant.ofEpochMilli(lastEventTime));
+
+    long newestEventTime = lastEventTime;
+    for (int page = 0; page < MAX_PAGES; page++) {
+      List<AdminEventRepresentation> events = realm
+          .getAdminEvents(null, null, null, null, null, null, dateFrom, null, page * batchSize,
+              batchSize);
+      for (AdminEventRepresentation event : events) {
+        if (event.getTime() <= lastEventTime) {
+          return newestEventTime;
+        }
+        newestEventTime = Math.max(newestEventTime, event.getTime());
+        handle(realm, event, invalidation);
+      }
+      if (events.size() < batchSize) {
+        return newestEventTime;
+      }
+    }
+    warn(getLoggerPrefix("readEvents"),
+        "More than {0} admin events since the last poll, invalidate all", MAX_PAGES * batchSize);
+    invalidation.allUsers().allGroups().roles();
+    return newestEventTime;
+  }
+
+  protected void handle(RealmResource realm, AdminEventRepresentation event,
+      KeycloakCacheInvalidation invalidation) {
+    if (event.getResourceType() == null || event.getResourcePath() == null) {
+      return;
+    }
+    String[] path = event.getResourcePath().split("/");
+    boolean created = "CREATE".equals(event.getOperationType());
+    boolean deleted = "DELETE".equals(event.getOperationType());
+
+    switch (event.getResourceType()) {
+      case "USER":
+        invalidation.user(path[1], deleted ? null : getUsername(realm, path[1]));
+        if (created || deleted) {
+          invalidation.userCountChanged();
+        }
+        if (deleted) {
+          // Its groups are not known anymore, their members changed
+          invalidation.allGroups();
+        }
+        break;
+      case "GROUP_MEMBERSHIP":
+        // users/{userId}/groups/{groupId}
+        invalidation.user(path[1], getUsername(realm, path[1]));
+        if (path.length > 3) {
+          invalidation.group(path[3]);
+        }
+        break;
+      case "REALM_ROLE_MAPPING":
+        // users/{userId}/role-mappings/realm or groups/{groupId}/role-mappings/realm
+        if ("users".equals(path[0])) {
+          invalidation.user(path[1], getUsername(realm, path[1]));
+        } else if ("groups".equals(path[0])) {
+          // Effective roles of the members changed
+          invalidation.group(path[1]).allUsers();
+        }
+        break;
+      case "GROUP":
+        invalidation.group(path[1]).groups();
+        if (deleted) {
+          // Memberships of its former members
+          invalidation.allUsers();
+        }
+        break;
+      case "REALM_ROLE":
+        invalidation.roles();
+        if (deleted) {
+          // Role mappings of the users and groups holding it
+          invalidation.allUsers().allGroups();
+        }
+        break;
+      default:
+        break;
+    }
+  }
+
+  protected String getUsername(RealmResource realm, String userId) {
+    try {
+      UserRepresentation userRepresentation = realm.users().get(userId).toRepresentation();
+      return userRepresentation.getUsername();
+    } catch (NotFoundException e) {
+      // Deleted, its entry by username is found by clearing them all
+      return null;
+    }
+  }
+
+  protected boolean isOldestMember() {
+    Iterator<Member> members = hazelcastInstance.getCluster().getMembers().iterator();
+    return members.hasNext() && members.next().localMember();
+  }
+
+  protected RealmResource getRealm() {
+    return keycloakAdminClientProvider.getKeycloak()
+        .realm(appProperties.getKeycloakAdmin().getApplicationRealm());
+  }
+}
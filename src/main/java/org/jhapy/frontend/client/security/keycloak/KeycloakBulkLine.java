@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client.security.keycloak;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import java.util.Map;
+import lombok.Data;
+
+/**
+ * One line of a bulk import or export file (JSON Lines), a group or a user.
+ *
+ * <p>On import, {@code roles} and {@code groups} are the complete set of the line : missing
+ * fields leave the current assignments untouched, an empty list removes them. Only the {@code
+ * ROLE*} realm roles of a user are managed. Groups must be declared before the users joining
+ * them, exports write the groups first.</p>
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class KeycloakBulkLine {
+
+  public static final String TYPE_GROUP = "group";
+  public static final String TYPE_USER = "user";
+
+  private String type;
+
+  /**
+   * Group name.
+   */
+  private String name;
+
+  private String username;
+
+  private String email;
+
+  private String firstName;
+
+  private String lastName;
+
+  private Boolean enabled;
+
+  private Boolean emailVerified;
+
+  /**
+   * Import only, never exported.
+   */
+  private String password;
+
+  /**
+   * The user must change the imported password on the next login.
+   */
+  private Boolean temporaryPassword;
+
+  /**
+   * Exported without the picture.
+   */
+  private Map<String, List<String>> attributes;
+
+  /**
+   * Realm role names.
+   */
+  private List<String> roles;
+
+  /**
+   * Group names of a user.
+   */
+  private List<String> groups;
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client.security.keycloak;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a running bulk import or export, updated by its workers.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class KeycloakBulkReport {
+
+  /**
+   * Errors kept for display, the others are only counted and logged.
+   */
+  private static final int MAX_ERRORS = 100;
+
+  private final Instant startedAt = Instant.now();
+  private final AtomicLong processed = new AtomicLong();
+  private final AtomicLong succeeded = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicLong retries = new AtomicLong();
+  private final List<String> errors = new ArrayList<>();
+  private volatile Instant finishedAt;
+
+  void success() {
+    succeeded.incrementAndGet();
+    processed.incrementAndGet();
+  }
+
+  /**
+   * @param item the failed line or user, as displayed
+   */
+  void failure(String item, String message) {
+    failed.incrementAndGet();
+    processed.incrementAndGet();
+    synchronized (errors) {
+      if (errors.size() < MAX_ERRORS) {
+        errors.add(item + " : " + message);
+      }
+    }
+  }
+
+  void retry() {
+    retries.incrementAndGet();
+  }
+
+  void finish() {
+    finishedAt = Instant.now();
+  }
+
+  public long getProcessed() {
+    return processed.get();
+  }
+
+  public long getSucceeded() {
+    return succeeded.get();
+  }
+
+  public long getFailed() {
+    return failed.get();
+  }
+
+  public long getRetries() {
+    return retries.get();
+  }
+
+  public List<String> getErrors() {
+    synchronized (errors) {
+      return new ArrayList<>(errors);
+    }
+  }
+
+  public boolean isFinished() {
+    return finishedAt != null;
+  }
+
+  public Duration getElapsed() {
+    return Duration.between(startedAt, finishedAt != null ? finishedAt : Instant.now());
+  }
+
+  /**
+   * @return lines processed per second
+   */
+  public double getThroughput() {
+    long elapsedMillis = Math.max(1, getElapsed().toMillis());
+    return getProcessed() * 1000.0 / elapsedMillis;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d processed (%d succeeded, %d failed, %d retries) in %ds, %.1f/s",
+        getProcessed(), getSucceeded(), getFailed(), getRetries(), getElapsed().toSeconds(),
+        getThroughput());
+  }
+}
@@ -0,0 +1,502 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client.security.keycloak;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+import org.apache.commons.lang3.StringUtils;
+import org.jhapy.commons.utils.HasLogger;
+import org.jhapy.frontend.config.AppProperties;
+import org.keycloak.admin.client.resource.GroupResource;
+import org.keycloak.admin.client.resource.RealmResource;
+import org.keycloak.admin.client.resource.UserResource;
+import org.keycloak.representations.idm.CredentialRepresentation;
+import org.keycloak.representations.idm.GroupRepresentation;
+import org.keycloak.representations.idm.RoleRepresentation;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Streaming import and export of the groups, users and role assignments of the application
+ * realm, one {@link KeycloakBulkLine} per line.
+ *
+ * <p>Lines are read or written as they go, never loaded as a whole. Users are handled by {@code
+ * jhapy.keycloak-admin-pool.bulk-parallelism} threads, with at most twice as many lines waiting,
+ * and their calls retried with an exponential backoff on I/O errors, 5xx and 429 answers. The
+ * report is passed to the progress listener every {@value #PROGRESS_INTERVAL} lines.</p>
+ *
+ * <p>Background imports run one at a time on their own thread, never on the shared remote call
+ * executor, whose callers would run the whole import when it is saturated.</p>
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class KeycloakBulkTransfer implements HasLogger {
+
+  private static final int PROGRESS_INTERVAL = 100;
+
+  private final KeycloakAdminClientProvider keycloakAdminClientProvider;
+  private final KeycloakRealmIndex realmIndex;
+  private final KeycloakCacheInvalidator cacheInvalidator;
+  private final AppProperties appProperties;
+
+  private final ObjectMapper objectMapper = new ObjectMapper()
+      .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+  private final ExecutorService backgroundExecutor;
+
+  public KeycloakBulkTransfer(KeycloakAdminClientProvider keycloakAdminClientProvider,
+      KeycloakRealmIndex realmIndex, KeycloakCacheInvalidator cacheInvalidator,
+      AppProperties appProperties) {
+    this.keycloakAdminClientProvider = keycloakAdminClientProvider;
+    this.realmIndex = realmIndex;
+    this.cacheInvalidator = cacheInvalidator;
+    this.appProperties = appProperties;
+
+    var threadFactory = new CustomizableThreadFactory("keycloak-bulk-");
+    threadFactory.setDaemon(true);
+    this.backgroundExecutor = Executors.newSingleThreadExecutor(threadFactory);
+  }
+
+  public void shutdown() {
+    backgroundExecutor.shutdownNow();
+  }
+
+  /**
+   * Imports the file in the background, after the imports already queued. The file is deleted
+   * once read.
+   */
+  public CompletableFuture<KeycloakBulkReport> importInBackground(File file,
+      Consumer<KeycloakBulkReport> progressListener) {
+    return CompletableFuture.supplyAsync(() -> {
+      try (InputStream inputStream = new FileInputStream(file)) {
+        return importFrom(inputStream, progressListener);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      } finally {
+        if (!file.delete()) {
+          warn(getLoggerPrefix("importInBackground"), "Cannot delete {0}", file);
+        }
+      }
+    }, backgroundExecutor);
+  }
+
+  /**
+   * Writes the groups, then the users page by page. The memberships of the users of a page are
+   * looked up in parallel.
+   */
+  public KeycloakBulkReport exportTo(OutputStream outputStream,
+      Consumer<KeycloakBulkReport> progressListener) throws IOException {
+    var loggerPrefix = getLoggerPrefix("exportTo");
+    var report = new KeycloakBulkReport();
+    int pageSize = appProperties.getKeycloakAdminPool().getBulkPageSize();
+    RealmResource realm = getRealm();
+    ExecutorService executor = newExecutor("keycloak-export-");
+
+    Writer writer = new BufferedWriter(
+        new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    try {
+      for (GroupRepresentation group : realmIndex.getGroups()) {
+        var line = new KeycloakBulkLine();
+        line.setType(KeycloakBulkLine.TYPE_GROUP);
+        line.setName(group.getName());
+        line.setRoles(group.getRealmRoles());
+        write(writer, line);
+        report.success();
+      }
+
+      int first = 0;
+      List<UserRepresentation> users;
+      do {
+        int offset = first;
+        users = withRetries(report, () -> realm.users().list(offset, pageSize));
+        List<Future<KeycloakBulkLine>> lines = new ArrayList<>();
+        for (UserRepresentation user : users) {
+          lines.add(executor.submit(() -> withRetries(report, () -> toLine(realm, user))));
+        }
+        // Written in the order of the page
+        for (int i = 0; i < lines.size(); i++) {
+          try {
+            write(writer, lines.get(i).get());
+            report.success();
+          } catch (ExecutionException e) {
+            report.failure("User " + users.get(i).getUsername(), e.getCause().getMessage());
+          }
+        }
+        first += users.size();
+        progressListener.accept(report);
+      } while (users.size() == pageSize);
+      writer.flush();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Export interrupted");
+    } finally {
+      executor.shutdownNow();
+      report.finish();
+    }
+    info(loggerPrefix, "Export done : {0}", report);
+    progressListener.accept(report);
+    return report;
+  }
+
+  /**
+   * Group lines are applied in the reading thread, so the users of the next lines can join
+   * them. User lines are applied in parallel. Every Keycloak cache is invalidated at the end.
+   */
+  public KeycloakBulkReport importFrom(InputStream inputStream,
+      Consumer<KeycloakBulkReport> progressListener) throws IOException {
+    var loggerPrefix = getLoggerPrefix("importFrom");
+    var report = new KeycloakBulkReport();
+    int maxInFlight = appProperties.getKeycloakAdminPool().getBulkParallelism() * 2;
+    var inFlight = new Semaphore(maxInFlight);
+    RealmResource realm = getRealm();
+    ExecutorService executor = newExecutor("keycloak-import-");
+
+    try (BufferedReader reader = new BufferedReader(
+        new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+      long lineNumber = 0;
+      String text;
+      while ((text = reader.readLine()) != null) {
+        lineNumber++;
+        if (lineNumber % PROGRESS_INTERVAL == 0) {
+          progressListener.accept(report);
+        }
+        if (StringUtils.isBlank(text)) {
+          continue;
+        }
+        String item = "Line " + lineNumber;
+        KeycloakBulkLine line;
+        try {
+          line = objectMapper.readValue(text, KeycloakBulkLine.class);
+        } catch (JsonProcessingException e) {
+          report.failure(item, "Invalid line : " + e.getOriginalMessage());
+          continue;
+        }
+
+        if (KeycloakBulkLine.TYPE_GROUP.equals(line.getType())) {
+          apply(report, item, () -> importGroup(realm, line));
+        } else if (KeycloakBulkLine.TYPE_USER.equals(line.getType())) {
+          inFlight.acquire();
+          executor.execute(() -> {
+            try {
+              apply(report, item, () -> importUser(realm, line));
+            } finally {
+              inFlight.release();
+            }
+          });
+        } else {
+          report.failure(item, "Unknown type '" + line.getType() + "'");
+        }
+      }
+      // Wait for the last users
+      inFlight.acquire(maxInFlight);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Import interrupted");
+    } finally {
+      executor.shutdownNow();
+      report.finish();
+      cacheInvalidator.invalidate(new KeycloakCacheInvalidation().allUsers().userCountChanged()
+          .groups().allGroups());
+    }
+    info(loggerPrefix, "Import done : {0}", report);
+    progressListener.accept(report);
+    return report;
+  }
+
+  protected KeycloakBulkLine toLine(RealmResource realm, UserRepresentation user) {
+    UserResource userResource = realm.users().get(user.getId());
+
+    var line = new KeycloakBulkLine();
+    line.setType(KeycloakBulkLine.TYPE_USER);
+    line.setUsername(user.getUsername());
+    line.setEmail(user.getEmail());
+    line.setFirstName(user.getFirstName());
+    line.setLastName(user.getLastName());
+    line.setEnabled(user.isEnabled());
+    line.setEmailVerified(user.isEmailVerified());
+    if (user.getAttributes() != null) {
+      // Pictures would make most of the file
+      line.setAttributes(new HashMap<>(user.getAttributes()));
+      line.getAttributes().remove("picture");
+    }
+    line.setGroups(userResource.groups().stream().map(GroupRepresentation::getName)
+        .collect(Collectors.toList()));
+    line.setRoles(userResource.roles().realmLevel().listAll().stream()
+        .map(RoleRepresentation::getName)
+        .filter(name -> name.startsWith("ROLE"))
+        .collect(Collectors.toList()));
+    return line;
+  }
+
+  protected void importGroup(RealmResource realm, KeycloakBulkLine line) {
+    if (StringUtils.isBlank(line.getName())) {
+      throw new IllegalArgumentException("No group name");
+    }
+    List<RoleRepresentation> roles = line.getRoles() == null ? null : resolveRoles(line.getRoles());
+
+    String groupId = realmIndex.getGroupByName(line.getName()).map(GroupRepresentation::getId)
+        .orElse(null);
+    if (groupId == null) {
+      var groupRepresentation = new GroupRepresentation();
+      groupRepresentation.setName(line.getName());
+      groupId = getCreatedId(realm.groups().add(groupRepresentation));
+      realmIndex.invalidateGroups();
+      if (groupId == null) {
+        // Created by a previous attempt
+        groupId = realmIndex.getGroupByName(line.getName())
+            .orElseThrow(() -> new IllegalStateException("Group not found once created"))
+            .getId();
+      }
+    }
+
+    if (roles != null) {
+      GroupResource groupResource = realm.groups().group(groupId);
+      List<RoleRepresentation> currentRoles = groupResource.roles().realmLevel().listAll();
+      Set<String> currentNames = names(currentRoles);
+      Set<String> wantedNames = names(roles);
+
+      List<RoleRepresentation> removedRoles = currentRoles.stream()
+          .filter(role -> !wantedNames.contains(role.getName())).collect(Collectors.toList());
+      List<RoleRepresentation> addedRoles = roles.stream()
+          .filter(role -> !currentNames.contains(role.getName())).collect(Collectors.toList());
+      if (!removedRoles.isEmpty()) {
+        groupResource.roles().realmLevel().remove(removedRoles);
+      }
+      if (!addedRoles.isEmpty()) {
+        groupResource.roles().realmLevel().add(addedRoles);
+      }
+      realmIndex.invalidateGroups();
+    }
+  }
+
+  protected void importUser(RealmResource realm, KeycloakBulkLine line) {
+    if (StringUtils.isBlank(line.getUsername())) {
+      throw new IllegalArgumentException("No username");
+    }
+    // Unknown names fail the line before anything is written
+    List<RoleRepresentation> roles = line.getRoles() == null ? null : resolveRoles(line.getRoles());
+    List<GroupRepresentation> groups =
+        line.getGroups() == null ? null : resolveGroups(line.getGroups());
+
+    List<UserRepresentation> existing = realm.users().search(line.getUsername(), true);
+    String userId;
+    if (existing.isEmpty()) {
+      userId = getCreatedId(realm.users().create(toRepresentation(line, new UserRepresentation())));
+      if (userId == null) {
+        // Created by a previous attempt
+        userId = realm.users().search(line.getUsername(), true).get(0).getId();
+      }
+    } else {
+      userId = existing.get(0).getId();
+      realm.users().get(userId).update(toRepresentation(line, existing.get(0)));
+    }
+    UserResource userResource = realm.users().get(userId);
+
+    if (StringUtils.isNotBlank(line.getPassword())) {
+      CredentialRepresentation passwordCred = new CredentialRepresentation();
+      passwordCred.setTemporary(Boolean.TRUE.equals(line.getTemporaryPassword()));
+      passwordCred.setType(CredentialRepresentation.PASSWORD);
+      passwordCred.setValue(line.getPassword());
+      userResource.resetPassword(passwordCred);
+    }
+
+    if (roles != null) {
+      List<RoleRepresentation> currentRoles = userResource.roles().realmLevel().listAll();
+      Set<String> currentNames = names(currentRoles);
+      Set<String> wantedNames = names(roles);
+
+      List<RoleRepresentation> removedRoles = currentRoles.stream()
+          .filter(role -> role.getName().startsWith("ROLE"))
+          .filter(role -> !wantedNames.contains(role.getName())).collect(Collectors.toList());
+      List<RoleRepresentation> addedRoles = roles.stream()
+          .filter(role -> !currentNames.contains(role.getName())).collect(Collectors.toList());
+      if (!removedRoles.isEmpty()) {
+        userResource.roles().realmLevel().remove(removedRoles);
+      }
+      if (!addedRoles.isEmpty()) {
+        userResource.roles().realmLevel().add(addedRoles);
+      }
+    }
+
+    if (groups != null) {
+      Set<String> currentIds = userResource.groups().stream().map(GroupRepresentation::getId)
+          .collect(Collectors.toSet());
+      Set<String> wantedIds = groups.stream().map(GroupRepresentation::getId)
+          .collect(Collectors.toSet());
+      currentIds.stream().filter(groupId -> !wantedIds.contains(groupId))
+          .forEach(userResource::leaveGroup);
+      wantedIds.stream().filter(groupId -> !currentIds.contains(groupId))
+          .forEach(userResource::joinGroup);
+    }
+  }
+
+  protected UserRepresentation toRepresentation(KeycloakBulkLine line,
+      UserRepresentation userRepresentation) {
+    userRepresentation.setUsername(line.getUsername());
+    if (line.getEmail() != null) {
+      userRepresentation.setEmail(line.getEmail());
+    }
+    if (line.getFirstName() != null) {
+      userRepresentation.setFirstName(line.getFirstName());
+    }
+    if (line.getLastName() != null) {
+      userRepresentation.setLastName(line.getLastName());
+    }
+    if (line.getEnabled() != null) {
+      userRepresentation.setEnabled(line.getEnabled());
+    }
+    if (line.getEmailVerified() != null) {
+      userRepresentation.setEmailVerified(line.getEmailVerified());
+    }
+    if (line.getAttributes() != null) {
+      if (userRepresentation.getAttributes() == null) {
+        userRepresentation.setAttributes(new HashMap<>());
+      }
+      userRepresentation.getAttributes().putAll(line.getAttributes());
+    }
+    return userRepresentation;
+  }
+
+  protected List<RoleRepresentation> resolveRoles(List<String> names) {
+    return names.stream().map(name -> realmIndex.getRoleByName(name)
+        .orElseThrow(() -> new IllegalArgumentException("Unknown role '" + name + "'")))
+        .collect(Collectors.toList());
+  }
+
+  protected List<GroupRepresentation> resolveGroups(List<String> names) {
+    return names.stream().map(name -> realmIndex.getGroupByName(name)
+        .orElseThrow(() -> new IllegalArgumentException("Unknown group '" + name + "'")))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * @return the id of the created resource, null when it already exists
+   */
+  protected String getCreatedId(Response response) {
+    try {
+      if (response.getStatus() == 201) {
+        return response.getLocation().getPath().replaceAll(".*/([^/]+)$", "$1");
+      } else if (response.getStatus() == 409) {
+        return null;
+      } else {
+        throw new WebApplicationException("Not created (status " + response.getStatus() + ")",
+            response.getStatus());
+      }
+    } finally {
+      response.close();
+    }
+  }
+
+  protected void apply(KeycloakBulkReport report, String item, Runnable action) {
+    var loggerPrefix = getLoggerPrefix("apply");
+    try {
+      withRetries(report, () -> {
+        action.run();
+        return null;
+      });
+      report.success();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      report.failure(item, "Interrupted");
+    } catch (RuntimeException e) {
+      debug(loggerPrefix, "{0} failed : {1}", item, e.getMessage());
+      report.failure(item, e.getMessage());
+    }
+  }
+
+  protected <T> T withRetries(KeycloakBulkReport report, Supplier<T> call)
+      throws InterruptedException {
+    var pool = appProperties.getKeycloakAdminPool();
+    int attempt = 0;
+    while (true) {
+      try {
+        return call.get();
+      } catch (ProcessingException | WebApplicationException e) {
+        if (!isRetryable(e) || attempt >= pool.getBulkMaxRetries()) {
+          throw e;
+        }
+        report.retry();
+        Thread.sleep(pool.getBulkRetryBackoffMillis() << attempt);
+        attempt++;
+      }
+    }
+  }
+
+  protected boolean isRetryable(RuntimeException e) {
+    if (e instanceof WebApplicationException) {
+      int status = ((WebApplicationException) e).getResponse().getStatus();
+      return status >= 500 || status == 429;
+    }
+    return true;
+  }
+
+  protected ExecutorService newExecutor(String threadNamePrefix) {
+    var threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+    threadFactory.setDaemon(true);
+    return Executors
+        .newFixedThreadPool(appProperties.getKeycloakAdminPool().getBulkParallelism(),
+            threadFactory);
+  }
+
+  protected RealmResource getRealm() {
+    return keycloakAdminClientProvider.getKeycloak()
+        .realm(appProperties.getKeycloakAdmin().getApplicationRealm());
+  }
+
+  private void write(Writer writer, KeycloakBulkLine line) throws IOException {
+    writer.write(objectMapper.writeValueAsString(line));
+    writer.write('\n');
+  }
+
+  private static Set<String> names(List<RoleRepresentation> roles) {
+    return roles.stream().map(RoleRepresentation::getName).collect(Collectors.toSet());
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client.security.keycloak;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Set;
+import lombok.Data;
+
+/**
+ * Cache entries made stale by a change in the application realm, published to every node of the
+ * cluster by {@link KeycloakCacheInvalidator}.
+ *
+ * <p>Users and groups are invalidated by key. The pages of users and groups embed the entries, they
+ * are cleared as soon as one of them changes. Roles are only held by the realm index.</p>
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+@Data
+public class KeycloakCacheInvalidation implements Serializable {
+
+  private Set<String> userIds = new HashSet<>();
+
+  private Set<String> usernames = new HashSet<>();
+
+  /**
+   * Some changed users are only known by id, every entry by username is stale.
+   */
+  private boolean unknownUsernames;
+
+  /**
+   * Users were created or deleted, the counts are stale.
+   */
+  private boolean userCountChanged;
+
+  /**
+   * Every user entry is stale, the changed users are not known.
+   */
+  private boolean allUsers;
+
+  private Set<String> groupIds = new HashSet<>();
+
+  /**
+   * The realm groups themselves changed, not only their members.
+   */
+  private boolean groups;
+
+  /**
+   * Every group entry is stale, the changed groups are not known.
+   */
+  private boolean allGroups;
+
+  private boolean roles;
+
+  public KeycloakCacheInvalidation user(String id, String username) {
+    if (id != null) {
+      userIds.add(id);
+    }
+    if (username != null) {
+      usernames.add(username);
+    } else {
+      unknownUsernames = true;
+    }
+    return this;
+  }
+
+  public KeycloakCacheInvalidation userCountChanged() {
+    userCountChanged = true;
+    return this;
+  }
+
+  public KeycloakCacheInvalidation allUsers() {
+    allUsers = true;
+    return this;
+  }
+
+  /**
+   * A group entry is stale, its members or its roles changed.
+   */
+  public KeycloakCacheInvalidation group(String id) {
+    if (id != null) {
+      groupIds.add(id);
+    }
+    return this;
+  }
+
+  public KeycloakCacheInvalidation groups() {
+    groups = true;
+    return this;
+  }
+
+  public KeycloakCacheInvalidation allGroups() {
+    allGroups = true;
+    return this;
+  }
+
+  public KeycloakCacheInvalidation roles() {
+    roles = true;
+    return this;
+  }
+
+  public boolean hasUsers() {
+    return allUsers || userCountChanged || unknownUsernames || !userIds.isEmpty()
+        || !usernames.isEmpty();
+  }
+
+  public boolean hasGroups() {
+    return groups || allGroups || !groupIds.isEmpty();
+  }
+
+  public boolean isEmpty() {
+    return !hasUsers() && !hasGroups() && !roles;
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client.security.keycloak;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.MessageListener;
+import java.util.UUID;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.jhapy.commons.utils.HasLogger;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Targeted invalidation of the Keycloak caches after a change in the application realm.
+ *
+ * <p>The Spring caches are distributed Hazelcast maps : their entries are evicted once, by the
+ * node making the change, the cache manager drops the local copies of the other nodes. The realm
+ * index is local to each node, the invalidation is published on a Hazelcast topic so every other
+ * node drops its copy.</p>
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class KeycloakCacheInvalidator implements MessageListener<KeycloakCacheInvalidation>,
+    HasLogger {
+
+  public static final String TOPIC_NAME = "keycloakCacheInvalidation";
+
+  public static final String USER_BY_ID_CACHE = "userById";
+  public static final String USER_BY_NAME_CACHE = "userByName";
+  public static final String FIND_USERS_CACHE = "findUsers";
+  public static final String COUNT_USERS_CACHE = "countUsers";
+  public static final String GROUP_BY_ID_CACHE = "groupById";
+  public static final String FIND_GROUPS_CACHE = "findGroups";
+
+  private final CacheManager cacheManager;
+  private final HazelcastInstance hazelcastInstance;
+  private final KeycloakRealmIndex realmIndex;
+
+  private ITopic<KeycloakCacheInvalidation> topic;
+  private UUID listenerId;
+
+  public KeycloakCacheInvalidator(CacheManager cacheManager,
+      HazelcastInstance hazelcastInstance, KeycloakRealmIndex realmIndex) {
+    this.cacheManager = cacheManager;
+    this.hazelcastInstance = hazelcastInstance;
+    this.realmIndex = realmIndex;
+  }
+
+  @PostConstruct
+  public void postConstruct() {
+    topic = hazelcastInstance.getTopic(TOPIC_NAME);
+    listenerId = topic.addMessageListener(this);
+  }
+
+  @PreDestroy
+  public void preDestroy() {
+    var loggerPrefix = getLoggerPrefix("preDestroy");
+    try {
+      topic.removeMessageListener(listenerId);
+    } catch (RuntimeException e) {
+      // Hazelcast may already be shut down
+      debug(loggerPrefix, "Cannot remove the listener : {0}", e.getMessage());
+    }
+  }
+
+  /**
+   * Evicts the stale entries, on this node synchronously so the caller reads its own change, and
+   * on the other nodes through the topic.
+   */
+  public void invalidate(KeycloakCacheInvalidation invalidation) {
+    var loggerPrefix = getLoggerPrefix("invalidate");
+    if (invalidation.isEmpty()) {
+      return;
+    }
+    evictSharedEntries(invalidation);
+    invalidateLocalState(invalidation);
+    try {
+      topic.publish(invalidation);
+    } catch (RuntimeException e) {
+      // The other nodes catch up with the next refresh of their index
+      warn(loggerPrefix, "Cannot publish the invalidation : {0}", e.getMessage());
+    }
+  }
+
+  @Override
+  public void onMessage(Message<KeycloakCacheInvalidation> message) {
+    if (message.getPublishingMember() != null && message.getPublishingMember().localMember()) {
+      return;
+    }
+    invalidateLocalState(message.getMessageObject());
+  }
+
+  protected void evictSharedEntries(KeycloakCacheInvalidation invalidation) {
+    var loggerPrefix = getLoggerPrefix("evictSharedEntries");
+    debug(loggerPrefix, "Evict {0}", invalidation);
+
+    if (invalidation.isAllUsers()) {
+      clear(USER_BY_ID_CACHE);
+      clear(USER_BY_NAME_CACHE);
+    } else {
+      invalidation.getUserIds().forEach(id -> evict(USER_BY_ID_CACHE, id));
+      if (invalidation.isUnknownUsernames()) {
+        clear(USER_BY_NAME_CACHE);
+      } else {
+        invalidation.getUsernames().forEach(username -> evict(USER_BY_NAME_CACHE, username));
+      }
+    }
+    if (invalidation.hasUsers()) {
+      // Pages embed the users, which pages hold a given user is not known
+      clear(FIND_USERS_CACHE);
+    }
+    if (invalidation.isUserCountChanged() || invalidation.isAllUsers()) {
+      clear(COUNT_USERS_CACHE);
+    }
+
+    if (invalidation.isAllGroups()) {
+      clear(GROUP_BY_ID_CACHE);
+    } else {
+      invalidation.getGroupIds().forEach(id -> evict(GROUP_BY_ID_CACHE, id));
+    }
+    if (invalidation.hasGroups()) {
+      clear(FIND_GROUPS_CACHE);
+    }
+  }
+
+  protected void invalidateLocalState(KeycloakCacheInvalidation invalidation) {
+    if (invalidation.isRoles()) {
+      realmIndex.invalidateRoles();
+    }
+    if (invalidation.isGroups()) {
+      realmIndex.invalidateGroups();
+    }
+  }
+
+  private void evict(String cacheName, Object key) {
+    Cache cache = cacheManager.getCache(cacheName);
+    if (cache != null) {
+      cache.evict(key);
+    }
+  }
+
+  private void clear(String cacheName) {
+    Cache cache = cacheManager.getCache(cacheName);
+    if (cache != null) {
+      cache.clear();
+    }
+  }
+}
@@ -19,13 +19,18 @@
 package org.jhapy.frontend.client.security.keycloak;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import javax.ws.rs.NotFoundException;
 import javax.ws.rs.core.Response;
 import org.apache.commons.lang3.StringUtils;
 import org.jhapy.commons.config.AppProperties;
@@ -45,7 +50,9 @@ import org.jhapy.dto.serviceQuery.generic.SaveQuery;
 import org.jhapy.dto.serviceQuery.security.securityRole.GetSecurityRoleByNameQuery;
 import org.jhapy.dto.serviceQuery.security.securityUser.GetSecurityUserByUsernameQuery;
 import org.jhapy.dto.utils.Page;
+import org.jhapy.dto.utils.StoredFile;
 import org.jhapy.frontend.converter.SecurityConverter;
+import org.jhapy.frontend.utils.PictureUtils;
 import org.keycloak.admin.client.Keycloak;
 import org.keycloak.admin.client.resource.GroupResource;
 import org.keycloak.admin.client.resource.RealmResource;
@@ -58,7 +65,6 @@ import org.keycloak.representations.idm.RoleRepresentation;
 import org.keycloak.representations.idm.UserRepresentation;
 import org.keycloak.representations.info.MemoryInfoRepresentation;
 import org.keycloak.representations.info.SystemInfoRepresentation;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -76,74 +82,104 @@ import org.springframework.web.client.RestTemplate;
 @Component
 public class KeycloakClient implements HasLogger {
 
+  private static final int MEMBERS_PAGE_SIZE = 100;
+  private static final int MAX_INVALIDATED_MEMBERS = 1000;
+
   protected final AppProperties appProperties;
   protected final SecurityConverter securityConverter;
+  protected final KeycloakAdminClientProvider keycloakAdminClientProvider;
+  protected final KeycloakUserPageAssembler userPageAssembler;
+  protected final KeycloakRealmIndex realmIndex;
+  protected final KeycloakCacheInvalidator cacheInvalidator;
 
   public KeycloakClient(AppProperties appProperties,
-      SecurityConverter securityConverter) {
+      SecurityConverter securityConverter,
+      KeycloakAdminClientProvider keycloakAdminClientProvider,
+      KeycloakUserPageAssembler userPageAssembler,
+      KeycloakRealmIndex realmIndex,
+      KeycloakCacheInvalidator cacheInvalidator) {
     this.appProperties = appProperties;
     this.securityConverter = securityConverter;
+    this.keycloakAdminClientProvider = keycloakAdminClientProvider;
+    this.userPageAssembler = userPageAssembler;
+    this.realmIndex = realmIndex;
+    this.cacheInvalidator = cacheInvalidator;
   }
 
+  /**
+   * @return the shared admin client, must not be closed
+   */
   public Keycloak getKeycloakInstance() {
-    return Keycloak.getInstance(appProperties.getKeycloakAdmin().getServerAuthUrl(),
-        appProperties.getKeycloakAdmin().getMasterRealm(),
-        appProperties.getKeycloakAdmin().getUsername(),
-        appProperties.getKeycloakAdmin().getPassword(),
-        appProperties.getKeycloakAdmin().getClientId());
+    return keycloakAdminClientProvider.getKeycloak();
   }
 
   public RealmResource getKeycloakRealmInstance() {
     return getKeycloakInstance().realm(appProperties.getKeycloakAdmin().getApplicationRealm());
   }
 
-  @CacheEvict(cacheNames = {"allUsers", "userByName", "userById", "findUsers",
-      "countUsers"}, allEntries = true)
   public void cleanUserCache() {
+    cacheInvalidator.invalidate(new KeycloakCacheInvalidation().allUsers());
   }
 
-  @Cacheable("userByName")
+  @Cacheable(cacheNames = "userByName", key = "#query.username")
   public ServiceResult<SecurityKeycloakUser> getUserByUsername(
       GetSecurityUserByUsernameQuery query) {
     var loggerPrefix = getLoggerPrefix("getUserByUsername");
 
-    List<UserRepresentation> users = getKeycloakRealmInstance().users()
-        .search(query.getUsername());
+    RealmResource realm = getKeycloakRealmInstance();
+    List<UserRepresentation> users = realm.users().search(query.getUsername());
 
     if (users.size() == 0) {
       logger().warn(loggerPrefix + "User not found (username=" + query.getUsername() + ")");
       return new ServiceResult<>(false, "User not found", null);
     } else {
-      return getUserById(new GetByStrIdQuery(users.get(0).getId()));
+      return new ServiceResult<>(
+          userPageAssembler.assemble(realm, users.get(0), UserProjection.FULL));
     }
   }
 
-  @Cacheable("userById")
+  @Cacheable(cacheNames = "userById", key = "#query.id")
   public ServiceResult<SecurityKeycloakUser> getUserById(GetByStrIdQuery query) {
     var loggerPrefix = getLoggerPrefix("getUser");
 
-    UserResource userResource = getKeycloakRealmInstance().users().get(query.getId());
-    if (userResource != null) {
-      List<GroupRepresentation> groups = userResource.groups();
-      List<RoleRepresentation> roles = userResource.roles().realmLevel().listAll().stream()
-          .filter(roleRepresentation -> roleRepresentation.getName().startsWith("ROLE"))
-          .collect(
-              Collectors.toList());
-      List<RoleRepresentation> effectiveRoles = userResource.roles().realmLevel()
-          .listEffective();
+    RealmResource realm = getKeycloakRealmInstance();
+    UserRepresentation userRepresentation;
+    try {
+      userRepresentation = realm.users().get(query.getId()).toRepresentation();
+    } catch (NotFoundException e) {
+      userRepresentation = null;
+    }
+    if (userRepresentation != null) {
+      return new ServiceResult<>(
+          userPageAssembler.assemble(realm, userRepresentation, UserProjection.FULL));
+    } else {
+      logger().warn(loggerPrefix + "User not found (id=" + query.getId() + ")");
+      return new ServiceResult<>(false, "User not found", null);
+    }
+  }
 
-      SecurityKeycloakUser securityUser = securityConverter
-          .convertToDto(userResource.toRepresentation());
-      securityUser.setGroups(securityConverter.convertToDtoSecurityKeycloakGroups(groups));
-      securityUser.setRoles(securityConverter.convertToDtoSecurityKeycloakRoles(roles));
-      securityUser
-          .setEffectiveRoles(securityConverter.convertToDtoSecurityKeycloakRoles(effectiveRoles));
+  /**
+   * Full size picture of a user, the users only carry a thumbnail. Not cached : read when
+   * displayed or edited.
+   */
+  public ServiceResult<StoredFile> getUserPicture(GetByStrIdQuery query) {
+    var loggerPrefix = getLoggerPrefix("getUserPicture");
 
-      return new ServiceResult(securityUser);
-    } else {
+    UserRepresentation userRepresentation;
+    try {
+      userRepresentation = getKeycloakRealmInstance().users().get(query.getId())
+          .toRepresentation();
+    } catch (NotFoundException e) {
       logger().warn(loggerPrefix + "User not found (id=" + query.getId() + ")");
       return new ServiceResult<>(false, "User not found", null);
     }
+    if (userRepresentation.getAttributes() == null
+        || userRepresentation.getAttributes().get("picture") == null
+        || userRepresentation.getAttributes().get("picture").get(0).startsWith("http")) {
+      return new ServiceResult<>(true, null, null);
+    }
+    return new ServiceResult<>(
+        PictureUtils.fromBase64(userRepresentation.getAttributes().get("picture").get(0)));
   }
 
   public ServiceResult<Boolean> userExists(String username) {
@@ -189,8 +225,11 @@ public class KeycloakClient implements HasLogger {
     }
   }
 
-  @CacheEvict(cacheNames = {"allUsers", "userByName", "userById", "findUsers",
-      "countUsers"}, allEntries = true)
+  /**
+   * Updates only what changed : the representation when a field or an attribute differs, the
+   * realm roles with one remove and one add call, the groups left or joined. The saved user is
+   * built from what was read and written, only its effective roles are read again.
+   */
   public ServiceResult<SecurityKeycloakUser> saveUser(SaveQuery<SecurityKeycloakUser> query) {
     var loggerPrefix = getLoggerPrefix("saveUser");
 
@@ -199,32 +238,15 @@ public class KeycloakClient implements HasLogger {
           .get(query.getEntity().getId());
       SecurityKeycloakUser user = query.getEntity();
       UserRepresentation userRepresentation = userResource.toRepresentation();
-      userRepresentation.setEmail(user.getEmail());
-      userRepresentation.setFirstName(user.getFirstName());
-      userRepresentation.setLastName(user.getLastName());
-      userRepresentation.setUsername(user.getUsername());
-      userRepresentation.setEmailVerified(user.getEmailVerified());
-      userRepresentation.setEnabled(user.getIsActivated());
-      if (userRepresentation.getAttributes() == null) {
-        userRepresentation.setAttributes(new HashMap<>());
-      }
-      user.getAttributes().forEach((s, o) -> userRepresentation.getAttributes()
-          .put(s, Collections.singletonList(o.toString())));
+      KeycloakCacheInvalidation invalidation = new KeycloakCacheInvalidation()
+          .user(user.getId(), userRepresentation.getUsername())
+          .user(user.getId(), user.getUsername());
 
-      userRepresentation.getAttributes()
-          .put("title", Collections.singletonList(user.getTitle()));
-      if (user.getPicture() != null) {
-        //    logger().debug(loggerPrefix+"Initial Picture : " + userRepresentation.getAttributes().get("picture").get(0) );
-        userRepresentation.getAttributes().put("picture", Collections.singletonList(
-            new String(
-                java.util.Base64.getEncoder().encode(user.getPicture().getContent()))));
-        //    logger().debug(loggerPrefix+"New Picture : " + userRepresentation.getAttributes().get("picture").get(0) );
-      }
-      if (user.getMobileNumber() != null) {
-        userRepresentation.getAttributes()
-            .put("phone", Collections.singletonList(user.getMobileNumber()));
+      if (applyUserChanges(userRepresentation, user)) {
+        userResource.update(userRepresentation);
+      } else {
+        logger().debug(loggerPrefix + "User '" + user.getUsername() + "' unchanged");
       }
-      userResource.update(userRepresentation);
 
       if (StringUtils.isNoneBlank(query.getEntity().getPassword())) {
         CredentialRepresentation passwordCred = new CredentialRepresentation();
@@ -234,28 +256,17 @@ public class KeycloakClient implements HasLogger {
         userResource.resetPassword(passwordCred);
       }
 
-      if (userResource.roles() != null && userResource.roles().realmLevel() != null) {
-        List<RoleRepresentation> userRoles = userResource.roles().realmLevel().listAll();
-        if (userRoles != null && userRoles.size() > 0) {
-          userResource.roles().realmLevel().remove(userRoles.stream()
-              .filter(
-                  roleRepresentation -> roleRepresentation.getName().startsWith("ROLE"))
-              .collect(
-                  Collectors.toList()));
-        }
-      }
-      if (query.getEntity().getRoles() != null && query.getEntity().getRoles().size() > 0) {
-        userResource.roles().realmLevel()
-            .add(
-                securityConverter.convertToDomainRoleRepresentations(query.getEntity().getRoles()));
-      }
-
-      userResource.groups()
-          .forEach(
-              groupRepresentation -> userResource.leaveGroup(groupRepresentation.getId()));
-      query.getEntity().getGroups().forEach(group -> userResource.joinGroup(group.getId()));
-
-      return getUserById(new GetByStrIdQuery(query.getEntity().getId()));
+      List<RoleRepresentation> roles = saveUserRoles(userResource, user);
+      List<GroupRepresentation> groups = saveUserGroups(userResource, user, invalidation);
+      cacheInvalidator.invalidate(invalidation);
+
+      SecurityKeycloakUser savedUser = securityConverter.convertToDto(userRepresentation);
+      savedUser.setRoles(securityConverter.convertToDtoSecurityKeycloakRoles(roles));
+      savedUser.setGroups(securityConverter.convertToDtoSecurityKeycloakGroups(groups));
+      // Composite and group roles included
+      savedUser.setEffectiveRoles(securityConverter.convertToDtoSecurityKeycloakRoles(
+          userResource.roles().realmLevel().listEffective()));
+      return new ServiceResult<>(savedUser);
     } else {
       Response response = getKeycloakRealmInstance().users()
           .create(securityConverter.convertToDomain(query.getEntity()));
@@ -269,6 +280,10 @@ public class KeycloakClient implements HasLogger {
           passwordCred.setValue(query.getEntity().getPassword());
           getKeycloakRealmInstance().users().get(userId).resetPassword(passwordCred);
         }
+        // A previous lookup by username may have cached that it did not exist
+        cacheInvalidator.invalidate(new KeycloakCacheInvalidation()
+            .user(userId, query.getEntity().getUsername())
+            .userCountChanged());
         return getUserById(new GetByStrIdQuery(userId));
       } else {
         ErrorRepresentation error = response.readEntity(ErrorRepresentation.class);
@@ -282,19 +297,140 @@ public class KeycloakClient implements HasLogger {
     }
   }
 
-  @CacheEvict(cacheNames = {"allUsers", "userByName", "userById", "findUsers",
-      "countUsers"}, allEntries = true)
+  /**
+   * @return true when the representation differs from the stored one
+   */
+  protected boolean applyUserChanges(UserRepresentation userRepresentation,
+      SecurityKeycloakUser user) {
+    Map<String, List<String>> initialAttributes = new HashMap<>();
+    if (userRepresentation.getAttributes() != null) {
+      userRepresentation.getAttributes()
+          .forEach((name, values) -> initialAttributes.put(name, new ArrayList<>(values)));
+    }
+    boolean changed = !Objects.equals(userRepresentation.getEmail(), user.getEmail())
+        || !Objects.equals(userRepresentation.getFirstName(), user.getFirstName())
+        || !Objects.equals(userRepresentation.getLastName(), user.getLastName())
+        || !Objects.equals(userRepresentation.getUsername(), user.getUsername())
+        || !Objects.equals(userRepresentation.isEmailVerified(), user.getEmailVerified())
+        || !Objects.equals(userRepresentation.isEnabled(), user.getIsActivated());
+
+    userRepresentation.setEmail(user.getEmail());
+    userRepresentation.setFirstName(user.getFirstName());
+    userRepresentation.setLastName(user.getLastName());
+    userRepresentation.setUsername(user.getUsername());
+    userRepresentation.setEmailVerified(user.getEmailVerified());
+    userRepresentation.setEnabled(user.getIsActivated());
+    if (userRepresentation.getAttributes() == null) {
+      userRepresentation.setAttributes(new HashMap<>());
+    }
+    if (user.getAttributes() != null) {
+      user.getAttributes().forEach((s, o) -> userRepresentation.getAttributes()
+          .put(s, Collections.singletonList(o.toString())));
+    }
+
+    // A [null] value would be seen as a change on every save
+    if (user.getTitle() != null) {
+      userRepresentation.getAttributes()
+          .put("title", Collections.singletonList(user.getTitle()));
+    } else {
+      userRepresentation.getAttributes().remove("title");
+    }
+    // A thumbnail comes from the stored picture, saving it would replace the picture
+    if (user.getPicture() != null && !PictureUtils.isThumbnail(user.getPicture())) {
+      userRepresentation.getAttributes().put("picture", Collections.singletonList(
+          new String(
+              java.util.Base64.getEncoder().encode(user.getPicture().getContent()))));
+    }
+    if (user.getMobileNumber() != null) {
+      userRepresentation.getAttributes()
+          .put("phone", Collections.singletonList(user.getMobileNumber()));
+    }
+    return changed || !initialAttributes.equals(userRepresentation.getAttributes());
+  }
+
+  /**
+   * Removes and adds only the {@code ROLE*} realm roles that differ, one call each.
+   *
+   * @return the {@code ROLE*} realm roles of the user once saved
+   */
+  protected List<RoleRepresentation> saveUserRoles(UserResource userResource,
+      SecurityKeycloakUser user) {
+    Map<String, RoleRepresentation> currentRoles = userResource.roles().realmLevel().listAll()
+        .stream()
+        .filter(roleRepresentation -> roleRepresentation.getName().startsWith("ROLE"))
+        .collect(Collectors.toMap(RoleRepresentation::getName, Function.identity(),
+            (first, second) -> first, LinkedHashMap::new));
+    Map<String, RoleRepresentation> wantedRoles = new LinkedHashMap<>();
+    if (user.getRoles() != null) {
+      // Ids are needed for the role mappings, the index has them
+      securityConverter.convertToDomainRoleRepresentations(user.getRoles())
+          .forEach(roleRepresentation -> wantedRoles.putIfAbsent(roleRepresentation.getName(),
+              realmIndex.getRoleByName(roleRepresentation.getName())
+                  .orElse(roleRepresentation)));
+    }
+
+    List<RoleRepresentation> removedRoles = currentRoles.values().stream()
+        .filter(roleRepresentation -> !wantedRoles.containsKey(roleRepresentation.getName()))
+        .collect(Collectors.toList());
+    List<RoleRepresentation> addedRoles = wantedRoles.values().stream()
+        .filter(roleRepresentation -> !currentRoles.containsKey(roleRepresentation.getName()))
+        .collect(Collectors.toList());
+    if (!removedRoles.isEmpty()) {
+      userResource.roles().realmLevel().remove(removedRoles);
+    }
+    if (!addedRoles.isEmpty()) {
+      userResource.roles().realmLevel().add(addedRoles);
+    }
+    return new ArrayList<>(wantedRoles.values());
+  }
+
+  /**
+   * Leaves and joins only the groups that differ, Keycloak has one call per membership.
+   *
+   * @return the groups of the user once saved
+   */
+  protected List<GroupRepresentation> saveUserGroups(UserResource userResource,
+      SecurityKeycloakUser user, KeycloakCacheInvalidation invalidation) {
+    Map<String, GroupRepresentation> currentGroups = userResource.groups().stream()
+        .collect(Collectors.toMap(GroupRepresentation::getId, Function.identity(),
+            (first, second) -> first, LinkedHashMap::new));
+    Map<String, GroupRepresentation> wantedGroups = new LinkedHashMap<>();
+    if (user.getGroups() != null) {
+      user.getGroups().forEach(group -> wantedGroups.putIfAbsent(group.getId(),
+          currentGroups.containsKey(group.getId()) ? currentGroups.get(group.getId())
+              : realmIndex.getGroupById(group.getId())
+                  .orElseGet(() -> securityConverter.convertToDomain(group))));
+    }
+
+    currentGroups.keySet().stream().filter(groupId -> !wantedGroups.containsKey(groupId))
+        .forEach(groupId -> {
+          userResource.leaveGroup(groupId);
+          invalidation.group(groupId);
+        });
+    wantedGroups.keySet().stream().filter(groupId -> !currentGroups.containsKey(groupId))
+        .forEach(groupId -> {
+          userResource.joinGroup(groupId);
+          invalidation.group(groupId);
+        });
+    return new ArrayList<>(wantedGroups.values());
+  }
+
   public ServiceResult<Void> deleteUser(DeleteByStrIdQuery query) {
     var loggerPrefix = getLoggerPrefix("deleteUser");
 
     UserResource existing = getKeycloakRealmInstance().users().get(query.getId());
 
-    if (existing == null) {
+    KeycloakCacheInvalidation invalidation = new KeycloakCacheInvalidation().userCountChanged();
+    try {
+      invalidation.user(query.getId(), existing.toRepresentation().getUsername());
+      existing.groups().forEach(group -> invalidation.group(group.getId()));
+    } catch (NotFoundException e) {
       logger().warn(loggerPrefix + "User not found (id=" + query.getId() + ")");
       return new ServiceResult<>(false, "User does not exists", null);
     }
 
     Response response = getKeycloakRealmInstance().users().delete(query.getId());
+    cacheInvalidator.invalidate(invalidation);
 
     if (response.getStatus() != 201) {
       response.close();
@@ -310,35 +446,31 @@ public class KeycloakClient implements HasLogger {
 
   @Cacheable("findUsers")
   public ServiceResult<Page<SecurityKeycloakUser>> findUsers(FindAnyMatchingQuery query) {
-    int totalElements = getKeycloakRealmInstance().users().count(query.getFilter());
+    return doFindUsers(query, UserProjection.FULL);
+  }
+
+  /**
+   * One count and one search for the page, then only the per user lookups the projection needs.
+   */
+  @Cacheable("findUsers")
+  public ServiceResult<Page<SecurityKeycloakUser>> findUsers(FindAnyMatchingQuery query,
+      UserProjection projection) {
+    return doFindUsers(query, projection);
+  }
+
+  protected ServiceResult<Page<SecurityKeycloakUser>> doFindUsers(FindAnyMatchingQuery query,
+      UserProjection projection) {
+    RealmResource realm = getKeycloakRealmInstance();
+    int totalElements = realm.users().count(query.getFilter());
     int start =
         (query.getPageable().getPage() * query.getPageable().getSize()) + query.getPageable()
             .getOffset();
-    int end = Math.min(start + query.getPageable().getSize(), totalElements);
 
     Page<SecurityKeycloakUser> result = new Page<>();
 
-    List<UserRepresentation> users = getKeycloakRealmInstance().users()
-        .search(query.getFilter(), start, end);
-    result.setContent(users.stream().map(userRepresentation -> {
-      UserResource userResource = getKeycloakRealmInstance().users()
-          .get(userRepresentation.getId());
-      List<GroupRepresentation> groups = userResource.groups();
-      List<RoleRepresentation> roles = userResource.roles().realmLevel().listAll().stream()
-          .filter(roleRepresentation -> roleRepresentation.getName().startsWith("ROLE"))
-          .collect(
-              Collectors.toList());
-      List<RoleRepresentation> effectiveRoles = userResource.roles().realmLevel()
-          .listEffective();
-      SecurityKeycloakUser securityUser = securityConverter
-          .convertToDto(userResource.toRepresentation());
-      securityUser.setGroups(securityConverter.convertToDtoSecurityKeycloakGroups(groups));
-      securityUser.setRoles(securityConverter.convertToDtoSecurityKeycloakRoles(roles));
-      securityUser
-          .setEffectiveRoles(securityConverter.convertToDtoSecurityKeycloakRoles(effectiveRoles));
-
-      return securityUser;
-    }).collect(Collectors.toList()));
+    List<UserRepresentation> users = start >= totalElements ? Collections.emptyList()
+        : realm.users().search(query.getFilter(), start, query.getPageable().getSize());
+    result.setContent(userPageAssembler.assemble(realm, users, projection));
 
     result.setSize(result.getContent().size());
     result.setTotalElements((long) totalElements);
@@ -370,28 +502,23 @@ public class KeycloakClient implements HasLogger {
 
   }
 
-  @CacheEvict(cacheNames = {"allRoles", "roleByName", "roleById", "findRoles",
-      "countRoles"}, allEntries = true)
   public void cleanRoleCache() {
+    cacheInvalidator.invalidate(new KeycloakCacheInvalidation().roles());
   }
 
-  @Cacheable("allRoles")
   public ServiceResult<List<SecurityKeycloakRole>> getRoles() {
-    return new ServiceResult(securityConverter.convertToDtoSecurityKeycloakRoles(
-        getKeycloakRealmInstance().roles().list().stream()
+    return new ServiceResult<>(securityConverter.convertToDtoSecurityKeycloakRoles(
+        realmIndex.getRoles().stream()
             .filter(roleRepresentation -> roleRepresentation.getName().startsWith("ROLE"))
-            .sorted(Comparator.comparing(RoleRepresentation::getDescription)).collect(
-            Collectors.toList())));
+            .sorted(Comparator.comparing(RoleRepresentation::getDescription,
+                Comparator.nullsLast(Comparator.naturalOrder())))
+            .collect(Collectors.toList())));
   }
 
-  @Cacheable("roleByName")
   public ServiceResult<SecurityKeycloakRole> getRoleByName(GetSecurityRoleByNameQuery query) {
     var loggerPrefix = getLoggerPrefix("getRoleByName");
 
-    Optional<RoleRepresentation> _roleRepresentation = getKeycloakRealmInstance().roles().list()
-        .stream()
-        .filter(roleRepresentation -> roleRepresentation.getName().equals(query.getName()))
-        .findFirst();
+    Optional<RoleRepresentation> _roleRepresentation = realmIndex.getRoleByName(query.getName());
     if (_roleRepresentation.isEmpty()) {
       logger().warn(loggerPrefix + "Role not found (name=" + query.getName() + ")");
       return new ServiceResult<>(false, "Role not found", null);
@@ -400,39 +527,36 @@ public class KeycloakClient implements HasLogger {
     }
   }
 
-  @Cacheable("roleById")
   public ServiceResult<SecurityKeycloakRole> getRoleById(GetByStrIdQuery query) {
     var loggerPrefix = getLoggerPrefix("getRole");
 
-    RoleRepresentation roleRepresentation = getKeycloakRealmInstance().rolesById()
-        .getRole(query.getId());
-    if (roleRepresentation == null) {
+    Optional<RoleRepresentation> _roleRepresentation = realmIndex.getRoleById(query.getId());
+    if (_roleRepresentation.isEmpty()) {
       logger().warn(loggerPrefix + "Role not found (id=" + query.getId() + ")");
       return new ServiceResult<>(false, "Role not found", null);
     } else {
-      return new ServiceResult<>(securityConverter.convertToDto(roleRepresentation));
+      return new ServiceResult<>(securityConverter.convertToDto(_roleRepresentation.get()));
     }
   }
 
-  @Cacheable(value = "findRoles", key = "#query")
   public ServiceResult<Page<SecurityKeycloakRole>> findRoles(FindAnyMatchingQuery query) {
-    int totalElements = getKeycloakRealmInstance().roles().list(query.getFilter(), true).size();
-   // int start = query.getPageable().getOffset();
+    List<RoleRepresentation> roles = realmIndex.findRoles(query.getFilter());
+    int totalElements = roles.size();
     int start =
         (query.getPageable().getPage() * query.getPageable().getSize()) + query.getPageable()
             .getOffset();
+    start = Math.min(start, totalElements);
     int end = Math.min(start + query.getPageable().getSize(), totalElements);
 
     Page<SecurityKeycloakRole> result = new Page<>();
 
-    List<RoleRepresentation> roles = getKeycloakRealmInstance().roles()
-        .list(query.getFilter(), true);
     if (query.getPageable() != null && !query.getPageable().getSort().isEmpty()) {
       var order = query.getPageable().getSort().stream().collect(Collectors.toList()).get(0);
       if (order.getProperty().equals("name")) {
         roles.sort(Comparator.comparing(RoleRepresentation::getName));
       } else if (order.getProperty().equals("description")) {
-        roles.sort(Comparator.comparing(RoleRepresentation::getDescription));
+        roles.sort(Comparator.comparing(RoleRepresentation::getDescription,
+            Comparator.nullsLast(Comparator.naturalOrder())));
       }
     }
 
@@ -450,49 +574,43 @@ public class KeycloakClient implements HasLogger {
     return new ServiceResult<>(result);
   }
 
-  @Cacheable("countRoles")
   public ServiceResult<Long> countRoles(CountAnyMatchingQuery query) {
-    return new ServiceResult<>(
-        (long) getKeycloakRealmInstance().roles().list(query.getFilter(), true).size());
+    return new ServiceResult<>((long) realmIndex.findRoles(query.getFilter()).size());
   }
 
-  @CacheEvict(cacheNames = {"allRoles", "roleByName", "roleById", "findRoles",
-      "countRoles"}, allEntries = true)
   public ServiceResult<SecurityKeycloakRole> saveRole(SaveQuery<SecurityKeycloakRole> query) {
     if (query.getEntity().getId() != null) {
       RoleResource roleResource = getKeycloakRealmInstance().roles()
           .get(query.getEntity().getName());
-      roleResource.toRepresentation();
       RoleRepresentation roleRepresentation = securityConverter.convertToDomain(query.getEntity());
       roleResource.update(roleRepresentation);
+      // The role name is its key : the users and groups holding it are not changed
+      cacheInvalidator.invalidate(new KeycloakCacheInvalidation().roles());
 
       return getRoleById(new GetByStrIdQuery(query.getEntity().getId()));
     } else {
       RoleRepresentation roleRepresentation = securityConverter.convertToDomain(query.getEntity());
       getKeycloakRealmInstance().roles().create(roleRepresentation);
+      cacheInvalidator.invalidate(new KeycloakCacheInvalidation().roles());
 
       return getRoleByName(new GetSecurityRoleByNameQuery(query.getEntity().getName()));
     }
   }
 
-  @CacheEvict(cacheNames = {"allRoles", "roleByName", "roleById", "findRoles",
-      "countRoles"}, allEntries = true)
   public ServiceResult<Void> deleteRole(DeleteByStrIdQuery query) {
     var loggerPrefix = getLoggerPrefix("deleteRole");
 
-    List<RoleRepresentation> existing = getKeycloakRealmInstance().roles().list().stream()
-        .filter(roleRepresentation -> roleRepresentation.getId().equals(query.getId())).collect(
-            Collectors.toList());
+    Optional<RoleRepresentation> existing = realmIndex.getRoleById(query.getId());
 
-    if (existing.size() == 0) {
+    if (existing.isEmpty()) {
       logger().warn(loggerPrefix + "Role not found (id=" + query.getId() + ")");
       return new ServiceResult<>(false, "Role does not exists", null);
     }
-    existing.forEach(roleRepresentation -> getKeycloakRealmInstance().roles()
-        .deleteRole(roleRepresentation.getName()));
+    getKeycloakRealmInstance().roles().deleteRole(existing.get().getName());
+    // Removed from the role mappings of the users and groups holding it
+    cacheInvalidator.invalidate(new KeycloakCacheInvalidation().roles().allUsers().allGroups());
 
-    if (getKeycloakRealmInstance().roles().list().stream()
-        .anyMatch(roleRepresentation -> roleRepresentation.getId().equals(query.getId()))) {
+    if (realmIndex.getRoleById(query.getId()).isPresent()) {
       logger().warn(loggerPrefix + "Role not deleted (id=" + query.getId() + ")");
       return new ServiceResult(false, "Role not deleted", null);
     } else {
@@ -500,28 +618,22 @@ public class KeycloakClient implements HasLogger {
     }
   }
 
-  @CacheEvict(cacheNames = {"allGroups", "groupByName", "groupById", "findGroups",
-      "countGroups"}, allEntries = true)
   public void cleanGroupCache() {
+    cacheInvalidator.invalidate(new KeycloakCacheInvalidation().groups());
   }
 
-  @Cacheable("allGroups")
   public ServiceResult<List<SecurityKeycloakGroup>> getGroups() {
-    return new ServiceResult(securityConverter
-        .convertToDtoSecurityKeycloakGroups(getKeycloakRealmInstance().groups().groups().stream()
+    return new ServiceResult<>(securityConverter
+        .convertToDtoSecurityKeycloakGroups(realmIndex.getGroups().stream()
             .sorted(Comparator.comparing(GroupRepresentation::getName)).collect(
                 Collectors.toList())));
   }
 
-  @Cacheable("groupByName")
   public ServiceResult<SecurityKeycloakGroup> getGroupByName(GetByNameQuery query) {
     var loggerPrefix = getLoggerPrefix("getGroupByName");
 
-    Optional<GroupRepresentation> _groupRepresentations = getKeycloakRealmInstance().groups()
-        .groups()
-        .stream()
-        .filter(groupRepresentation -> groupRepresentation.getName().equals(query.getName()))
-        .findFirst();
+    Optional<GroupRepresentation> _groupRepresentations = realmIndex
+        .getGroupByName(query.getName());
     if (_groupRepresentations.isEmpty()) {
       logger().warn(loggerPrefix + "Group not found (name=" + query.getName() + ")");
       return new ServiceResult<>(false, "Group not found", null);
@@ -530,7 +642,7 @@ public class KeycloakClient implements HasLogger {
     }
   }
 
-  @Cacheable("groupById")
+  @Cacheable(cacheNames = "groupById", key = "#query.id")
   public ServiceResult<SecurityKeycloakGroup> getGroupById(GetByStrIdQuery query) {
     var loggerPrefix = getLoggerPrefix("getGroupById");
 
@@ -557,30 +669,36 @@ public class KeycloakClient implements HasLogger {
     }
   }
 
+  /**
+   * Groups and their realm roles come from the realm index, only the members are read from
+   * Keycloak, one call per group of the page.
+   */
   @Cacheable("findGroups")
   public ServiceResult<Page<SecurityKeycloakGroup>> findGroups(FindAnyMatchingQuery query) {
-    int totalElements = getKeycloakRealmInstance().groups().count(query.getFilter())
-        .get("count")
-        .intValue();
+    List<GroupRepresentation> groups = realmIndex.findGroups(query.getFilter());
+    int totalElements = groups.size();
     int start =
         (query.getPageable().getPage() * query.getPageable().getSize()) + query.getPageable()
             .getOffset();
+    start = Math.min(start, totalElements);
     int end = Math.min(start + query.getPageable().getSize(), totalElements);
 
     Page<SecurityKeycloakGroup> result = new Page<>();
 
-    List<GroupRepresentation> groups = getKeycloakRealmInstance().groups()
-        .groups(query.getFilter(), start, end, true);
-
-    result.setContent(groups.stream().map(groupRepresentation -> {
-      GroupResource groupResource = getKeycloakRealmInstance().groups()
-          .group(groupRepresentation.getId());
-      List<RoleRepresentation> roles = groupResource.roles().realmLevel().listAll().stream()
+    RealmResource realm = getKeycloakRealmInstance();
+    result.setContent(groups.subList(start, end).stream().map(groupRepresentation -> {
+      List<RoleRepresentation> effectiveRoles = groupRepresentation.getRealmRoles() == null
+          ? Collections.emptyList()
+          : groupRepresentation.getRealmRoles().stream()
+              .map(realmIndex::getRoleByName)
+              .flatMap(Optional::stream)
+              .collect(Collectors.toList());
+      List<RoleRepresentation> roles = effectiveRoles.stream()
           .filter(roleRepresentation -> roleRepresentation.getName().startsWith("ROLE"))
           .collect(
               Collectors.toList());
-      List<RoleRepresentation> effectiveRoles = groupResource.roles().realmLevel().listAll();
-      List<UserRepresentation> members = groupResource.members();
+      List<UserRepresentation> members = realm.groups().group(groupRepresentation.getId())
+          .members();
 
       SecurityKeycloakGroup securityGroup = securityConverter.convertToDto(groupRepresentation);
       securityGroup.setRoles(securityConverter.convertToDtoSecurityKeycloakRoles(roles));
@@ -600,14 +718,10 @@ public class KeycloakClient implements HasLogger {
     return new ServiceResult<>(result);
   }
 
-  @Cacheable("countGroups")
   public ServiceResult<Long> countGroups(CountAnyMatchingQuery query) {
-    return new ServiceResult<>(
-        getKeycloakRealmInstance().groups().count(query.getFilter()).get("count"));
+    return new ServiceResult<>((long) realmIndex.findGroups(query.getFilter()).size());
   }
 
-  @CacheEvict(cacheNames = {"allGroups", "groupByName", "groupById", "findGroups",
-      "countGroups"}, allEntries = true)
   public ServiceResult<SecurityKeycloakGroup> saveGroup(SaveQuery<SecurityKeycloakGroup> query) {
     var loggerPrefix = getLoggerPrefix("saveGroup");
     if (query.getEntity().getId() != null) {
@@ -632,6 +746,12 @@ public class KeycloakClient implements HasLogger {
             .add(
                 securityConverter.convertToDomainRoleRepresentations(query.getEntity().getRoles()));
       }
+      // Name and effective roles of the members changed
+      KeycloakCacheInvalidation invalidation = new KeycloakCacheInvalidation()
+          .group(query.getEntity().getId())
+          .groups();
+      invalidateMembers(groupResource, invalidation);
+      cacheInvalidator.invalidate(invalidation);
 
       return getGroupById(new GetByStrIdQuery(query.getEntity().getId()));
     } else {
@@ -660,6 +780,7 @@ public class KeycloakClient implements HasLogger {
               .add(securityConverter
                   .convertToDomainRoleRepresentations(query.getEntity().getRoles()));
         }
+        cacheInvalidator.invalidate(new KeycloakCacheInvalidation().group(groupId).groups());
 
         return getGroupByName(new GetByNameQuery(query.getEntity().getName()));
       } else {
@@ -674,19 +795,40 @@ public class KeycloakClient implements HasLogger {
     }
   }
 
-  @CacheEvict(cacheNames = {"allGroups", "groupByName", "groupById", "findGroups",
-      "countGroups"}, allEntries = true)
+  /**
+   * Adds every member of the group to the invalidation, a page at a time since {@code
+   * members()} only returns the first page. Past {@link #MAX_INVALIDATED_MEMBERS} members all
+   * the users are invalidated instead.
+   */
+  private void invalidateMembers(GroupResource groupResource,
+      KeycloakCacheInvalidation invalidation) {
+    for (int first = 0; first < MAX_INVALIDATED_MEMBERS; first += MEMBERS_PAGE_SIZE) {
+      List<UserRepresentation> members = groupResource.members(first, MEMBERS_PAGE_SIZE);
+      members.forEach(member -> invalidation.user(member.getId(), member.getUsername()));
+      if (members.size() < MEMBERS_PAGE_SIZE) {
+        return;
+      }
+    }
+    invalidation.allUsers();
+  }
+
   public ServiceResult<Void> deleteGroup(DeleteByStrIdQuery query) {
     var loggerPrefix = getLoggerPrefix("deleteGroup");
 
-    if (getKeycloakRealmInstance().groups().group(query.getId()) == null) {
+    GroupResource groupResource = getKeycloakRealmInstance().groups().group(query.getId());
+    KeycloakCacheInvalidation invalidation = new KeycloakCacheInvalidation()
+        .group(query.getId())
+        .groups();
+    try {
+      invalidateMembers(groupResource, invalidation);
+    } catch (NotFoundException e) {
       logger().warn(loggerPrefix + "Group not found (id=" + query.getId() + ")");
       return new ServiceResult<>(false, "Group does not exists", null);
     }
-    getKeycloakRealmInstance().groups().group(query.getId()).remove();
+    groupResource.remove();
+    cacheInvalidator.invalidate(invalidation);
 
-    if (getKeycloakRealmInstance().groups().groups().stream()
-        .anyMatch(group -> group.getId().equals(query.getId()))) {
+    if (realmIndex.getGroupById(query.getId()).isPresent()) {
       logger().warn(loggerPrefix + "Group not deleted (id=" + query.getId() + ")");
       return new ServiceResult(false, "Group not deleted", null);
     } else {
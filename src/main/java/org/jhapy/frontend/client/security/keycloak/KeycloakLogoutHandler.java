@@ -22,6 +22,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.jhapy.commons.utils.HasLogger;
+import org.jhapy.frontend.client.AccessTokenCache;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
@@ -40,11 +41,13 @@ import org.springframework.web.util.UriComponentsBuilder;
 public class KeycloakLogoutHandler extends SecurityContextLogoutHandler implements HasLogger {
 
   private final RestTemplate restTemplate;
+  private final AccessTokenCache accessTokenCache;
 
   @Override
   public void logout(HttpServletRequest request, HttpServletResponse response,
       Authentication authentication) {
     super.logout(request, response, authentication);
+    accessTokenCache.evict(authentication);
 
     propagateLogoutToKeycloak((OidcUser) authentication.getPrincipal());
   }
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client.security.keycloak;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.StringUtils;
+import org.jhapy.commons.utils.HasLogger;
+import org.jhapy.frontend.config.AppProperties;
+import org.keycloak.admin.client.resource.RealmResource;
+import org.keycloak.representations.idm.GroupRepresentation;
+import org.keycloak.representations.idm.RoleRepresentation;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Local copy of the realm roles and top level groups of the application realm. Lookups by name or
+ * id, filtering, sorting and paging are done in memory instead of listing the realm on Keycloak
+ * for every call.
+ *
+ * <p>Roles and groups are indexed separately : a role change only reloads the roles. An
+ * invalidated part is reloaded on its next use, and the loaded parts are refreshed in the
+ * background to pick up the changes made outside the application. Readers never wait for a
+ * background refresh.</p>
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class KeycloakRealmIndex implements HasLogger {
+
+  private final KeycloakAdminClientProvider keycloakAdminClientProvider;
+  private final AppProperties appProperties;
+
+  private final AtomicReference<Snapshot<RoleRepresentation>> roles = new AtomicReference<>();
+  private final AtomicReference<Snapshot<GroupRepresentation>> groups = new AtomicReference<>();
+  // Bumped by every invalidation, a load started before it is not installed
+  private final AtomicLong rolesGeneration = new AtomicLong();
+  private final AtomicLong groupsGeneration = new AtomicLong();
+
+  public KeycloakRealmIndex(KeycloakAdminClientProvider keycloakAdminClientProvider,
+      AppProperties appProperties) {
+    this.keycloakAdminClientProvider = keycloakAdminClientProvider;
+    this.appProperties = appProperties;
+  }
+
+  public List<RoleRepresentation> getRoles() {
+    return roles().getAll();
+  }
+
+  public Optional<RoleRepresentation> getRoleByName(String name) {
+    return Optional.ofNullable(roles().getByName().get(name));
+  }
+
+  public Optional<RoleRepresentation> getRoleById(String id) {
+    return Optional.ofNullable(roles().getById().get(id));
+  }
+
+  /**
+   * @return a new list of the roles whose name contains the filter, ignoring the case
+   */
+  public List<RoleRepresentation> findRoles(String filter) {
+    return filter(roles().getAll(), RoleRepresentation::getName, filter);
+  }
+
+  public List<GroupRepresentation> getGroups() {
+    return groups().getAll();
+  }
+
+  public Optional<GroupRepresentation> getGroupByName(String name) {
+    return Optional.ofNullable(groups().getByName().get(name));
+  }
+
+  public Optional<GroupRepresentation> getGroupById(String id) {
+    return Optional.ofNullable(groups().getById().get(id));
+  }
+
+  /**
+   * @return a new list of the top level groups whose name contains the filter, ignoring the case
+   */
+  public List<GroupRepresentation> findGroups(String filter) {
+    return filter(groups().getAll(), GroupRepresentation::getName, filter);
+  }
+
+  public void invalidateRoles() {
+    rolesGeneration.incrementAndGet();
+    roles.set(null);
+  }
+
+  public void invalidateGroups() {
+    groupsGeneration.incrementAndGet();
+    groups.set(null);
+  }
+
+  /**
+   * Reloads the parts already loaded, the index is not built until it is used.
+   */
+  @Scheduled(fixedDelayString = "${jhapy.keycloak-admin-pool.realm-index-refresh-millis:300000}")
+  public void refresh() {
+    var loggerPrefix = getLoggerPrefix("refresh");
+    try {
+      // Not replaced if invalidated meanwhile : it could miss the change
+      var currentRoles = roles.get();
+      if (currentRoles != null) {
+        roles.compareAndSet(currentRoles, loadRoles());
+      }
+      var currentGroups = groups.get();
+      if (currentGroups != null) {
+        groups.compareAndSet(currentGroups, loadGroups());
+      }
+    } catch (RuntimeException e) {
+      // The current index stays in use until the next refresh
+      warn(loggerPrefix, "Cannot refresh the realm index : {0}", e.getMessage());
+    }
+  }
+
+  private Snapshot<RoleRepresentation> roles() {
+    return get(roles, rolesGeneration, this::loadRoles);
+  }
+
+  private Snapshot<GroupRepresentation> groups() {
+    return get(groups, groupsGeneration, this::loadGroups);
+  }
+
+  private <T> Snapshot<T> get(AtomicReference<Snapshot<T>> snapshot, AtomicLong generation,
+      Supplier<Snapshot<T>> loader) {
+    var current = snapshot.get();
+    while (current == null) {
+      synchronized (this) {
+        current = snapshot.get();
+        if (current == null) {
+          long loadGeneration = generation.get();
+          var loaded = loader.get();
+          // Invalidated while loading : the change may be missing, load again
+          if (generation.get() == loadGeneration && snapshot.compareAndSet(null, loaded)) {
+            current = loaded;
+          }
+        }
+      }
+    }
+    return current;
+  }
+
+  protected Snapshot<RoleRepresentation> loadRoles() {
+    var loggerPrefix = getLoggerPrefix("loadRoles");
+    var result = new Snapshot<>(() -> getRealm().roles().list(), RoleRepresentation::getId,
+        RoleRepresentation::getName);
+    debug(loggerPrefix, "{0} roles indexed", result.getAll().size());
+    return result;
+  }
+
+  protected Snapshot<GroupRepresentation> loadGroups() {
+    var loggerPrefix = getLoggerPrefix("loadGroups");
+    // Full representations : the realm roles of every group come with it
+    var result = new Snapshot<>(
+        () -> getRealm().groups().groups(null, 0, Integer.MAX_VALUE, false),
+        GroupRepresentation::getId, GroupRepresentation::getName);
+    debug(loggerPrefix, "{0} groups indexed", result.getAll().size());
+    return result;
+  }
+
+  protected RealmResource getRealm() {
+    return keycloakAdminClientProvider.getKeycloak()
+        .realm(appProperties.getKeycloakAdmin().getApplicationRealm());
+  }
+
+  private static <T> List<T> filter(List<T> values, Function<T, String> name, String filter) {
+    if (StringUtils.isBlank(filter)) {
+      return new ArrayList<>(values);
+    }
+    String lowerCaseFilter = filter.toLowerCase(Locale.ROOT);
+    return values.stream()
+        .filter(value -> name.apply(value) != null
+            && name.apply(value).toLowerCase(Locale.ROOT).contains(lowerCaseFilter))
+        .collect(Collectors.toList());
+  }
+
+  private static final class Snapshot<T> {
+
+    private final List<T> all;
+    private final Map<String, T> byId;
+    private final Map<String, T> byName;
+
+    Snapshot(Supplier<List<T>> loader, Function<T, String> id, Function<T, String> name) {
+      this.all = Collections.unmodifiableList(new ArrayList<>(loader.get()));
+      this.byId = all.stream().collect(Collectors.toUnmodifiableMap(id, Function.identity(),
+          (first, second) -> first));
+      this.byName = all.stream().collect(Collectors.toUnmodifiableMap(name, Function.identity(),
+          (first, second) -> first));
+    }
+
+    List<T> getAll() {
+      return all;
+    }
+
+    Map<String, T> getById() {
+      return byId;
+    }
+
+    Map<String, T> getByName() {
+      return byName;
+    }
+  }
+}
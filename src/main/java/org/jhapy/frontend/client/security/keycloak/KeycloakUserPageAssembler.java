@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client.security.keycloak;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import org.jhapy.dto.domain.security.SecurityKeycloakUser;
+import org.jhapy.frontend.client.async.AsyncRemoteCalls;
+import org.jhapy.frontend.converter.SecurityConverter;
+import org.keycloak.admin.client.resource.RealmResource;
+import org.keycloak.admin.client.resource.UserResource;
+import org.keycloak.representations.idm.GroupRepresentation;
+import org.keycloak.representations.idm.RoleRepresentation;
+import org.keycloak.representations.idm.UserRepresentation;
+
+/**
+ * Builds the users of a page from the representations returned by one search : no extra read of
+ * the representation, memberships only when the projection asks for them, looked up by at most
+ * {@code parallelism} threads so one page does not drain the admin connection pool.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class KeycloakUserPageAssembler {
+
+  private final SecurityConverter securityConverter;
+  private final AsyncRemoteCalls asyncRemoteCalls;
+  private final int parallelism;
+
+  public KeycloakUserPageAssembler(SecurityConverter securityConverter,
+      AsyncRemoteCalls asyncRemoteCalls, int parallelism) {
+    this.securityConverter = securityConverter;
+    this.asyncRemoteCalls = asyncRemoteCalls;
+    this.parallelism = Math.max(1, parallelism);
+  }
+
+  public List<SecurityKeycloakUser> assemble(RealmResource realm, List<UserRepresentation> users,
+      UserProjection projection) {
+    if (projection == UserProjection.SUMMARY || users.size() <= 1 || parallelism == 1) {
+      return users.stream().map(user -> assemble(realm, user, projection))
+          .collect(Collectors.toList());
+    }
+
+    // The caller works too and only waits for the users in progress : no deadlock when called
+    // from a task of the same executor, helpers starting late find nothing left to do
+    var results = new SecurityKeycloakUser[users.size()];
+    var next = new AtomicInteger();
+    var done = new CountDownLatch(users.size());
+    var failure = new AtomicReference<RuntimeException>();
+    Runnable worker = () -> {
+      int index;
+      while ((index = next.getAndIncrement()) < results.length) {
+        try {
+          if (failure.get() == null) {
+            results[index] = assemble(realm, users.get(index), projection);
+          }
+        } catch (RuntimeException e) {
+          failure.compareAndSet(null, e);
+        } finally {
+          done.countDown();
+        }
+      }
+    };
+    for (int i = 1; i < Math.min(parallelism, users.size()); i++) {
+      asyncRemoteCalls.getExecutor().execute(worker);
+    }
+    worker.run();
+    try {
+      done.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while loading the users", e);
+    }
+    if (failure.get() != null) {
+      throw failure.get();
+    }
+    return Arrays.asList(results);
+  }
+
+  public SecurityKeycloakUser assemble(RealmResource realm, UserRepresentation user,
+      UserProjection projection) {
+    SecurityKeycloakUser securityUser = securityConverter.convertToDto(user);
+    if (projection == UserProjection.SUMMARY) {
+      return securityUser;
+    }
+
+    UserResource userResource = realm.users().get(user.getId());
+    List<GroupRepresentation> groups = userResource.groups();
+    List<RoleRepresentation> roles = userResource.roles().realmLevel().listAll().stream()
+        .filter(roleRepresentation -> roleRepresentation.getName().startsWith("ROLE"))
+        .collect(Collectors.toList());
+    securityUser.setGroups(securityConverter.convertToDtoSecurityKeycloakGroups(groups));
+    securityUser.setRoles(securityConverter.convertToDtoSecurityKeycloakRoles(roles));
+
+    if (projection == UserProjection.FULL) {
+      List<RoleRepresentation> effectiveRoles = userResource.roles().realmLevel()
+          .listEffective();
+      securityUser
+          .setEffectiveRoles(securityConverter.convertToDtoSecurityKeycloakRoles(effectiveRoles));
+    }
+    return securityUser;
+  }
+}
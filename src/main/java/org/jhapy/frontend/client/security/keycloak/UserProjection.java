@@ -0,0 +1,42 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client.security.keycloak;
+
+/**
+ * What {@link KeycloakClient#findUsers} resolves for every user of a page, each level adds HTTP
+ * calls to Keycloak per user.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public enum UserProjection {
+  /**
+   * The user representation of the search only, for grids showing neither roles nor groups.
+   */
+  SUMMARY,
+  /**
+   * Plus the groups and the {@code ROLE*} realm roles of the user.
+   */
+  MEMBERSHIPS,
+  /**
+   * Plus the effective realm roles, for the user details.
+   */
+  FULL
+}
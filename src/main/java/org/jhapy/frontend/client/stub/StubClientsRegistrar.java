@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client.stub;
+
+import org.jhapy.commons.utils.HasLogger;
+import org.jhapy.frontend.client.security.keycloak.KeycloakClient;
+import org.jhapy.frontend.config.AppProperties;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Replace the Feign clients and the {@link KeycloakClient} by in-process stubs, so the frontend
+ * can be load tested without any backend.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class StubClientsRegistrar implements BeanDefinitionRegistryPostProcessor, HasLogger {
+
+  private static final String FEIGN_CLIENT_FACTORY_BEAN =
+      "org.springframework.cloud.openfeign.FeignClientFactoryBean";
+
+  private ConfigurableListableBeanFactory beanFactory;
+  private StubDataFactory stubDataFactory;
+
+  @Override
+  public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry)
+      throws BeansException {
+    var loggerPrefix = getLoggerPrefix("postProcessBeanDefinitionRegistry");
+
+    for (String beanName : registry.getBeanDefinitionNames()) {
+      var clientType = getClientType(registry.getBeanDefinition(beanName));
+      if (clientType == null) {
+        continue;
+      }
+      var stubDefinition = new RootBeanDefinition(clientType);
+      stubDefinition.setInstanceSupplier(() -> createStub(clientType));
+      stubDefinition.setPrimary(true);
+
+      registry.removeBeanDefinition(beanName);
+      registry.registerBeanDefinition(beanName, stubDefinition);
+      debug(loggerPrefix, "{0} replaced by a stub", clientType.getSimpleName());
+    }
+  }
+
+  @Override
+  public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory)
+      throws BeansException {
+    this.beanFactory = beanFactory;
+  }
+
+  protected Class<?> getClientType(BeanDefinition beanDefinition) {
+    String className = null;
+    var objectType = beanDefinition.getAttribute(FactoryBean.OBJECT_TYPE_ATTRIBUTE);
+    if (objectType instanceof Class) {
+      className = ((Class<?>) objectType).getName();
+    } else if (objectType instanceof String) {
+      className = (String) objectType;
+    } else if (FEIGN_CLIENT_FACTORY_BEAN.equals(beanDefinition.getBeanClassName())) {
+      var type = beanDefinition.getPropertyValues().get("type");
+      className = type instanceof Class ? ((Class<?>) type).getName() : (String) type;
+    } else if (KeycloakClient.class.getName().equals(beanDefinition.getBeanClassName())) {
+      return KeycloakClient.class;
+    }
+    if (className == null) {
+      return null;
+    }
+
+    var type = ClassUtils.resolveClassName(className, getClass().getClassLoader());
+    // Every Feign client, @AuthorizedFeignClient being meta-annotated with @FeignClient
+    return type.isInterface() && AnnotatedElementUtils.hasAnnotation(type, FeignClient.class)
+        ? type : null;
+  }
+
+  protected Object createStub(Class<?> clientType) {
+    if (stubDataFactory == null) {
+      stubDataFactory = new StubDataFactory(
+          beanFactory.getBean(AppProperties.class).getLoadTest());
+    }
+    var proxyFactory = new ProxyFactory();
+    if (clientType.isInterface()) {
+      proxyFactory.addInterface(clientType);
+    } else {
+      // Subclass proxy, the constructor of the client is not called
+      proxyFactory.setTargetClass(clientType);
+      proxyFactory.setProxyTargetClass(true);
+    }
+    proxyFactory.addAdvice(new StubRemoteServiceInterceptor(clientType, stubDataFactory,
+        beanFactory.getBean(AppProperties.class).getLoadTest()));
+    return proxyFactory.getProxy(getClass().getClassLoader());
+  }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client.stub;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.jhapy.dto.serviceQuery.ServiceResult;
+import org.jhapy.dto.utils.Page;
+import org.jhapy.dto.utils.Pageable;
+import org.jhapy.frontend.config.AppProperties;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.core.ResolvableType;
+
+/**
+ * Deterministic remote call results : same method and arguments, same content. Beans are created
+ * with their no-args constructor and only their simple properties are filled.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class StubDataFactory {
+
+  private static final Instant EPOCH = Instant.parse("2020-01-01T00:00:00Z");
+  private static final int MAX_DEPTH = 3;
+
+  private final AppProperties.LoadTest properties;
+
+  public StubDataFactory(AppProperties.LoadTest properties) {
+    this.properties = properties;
+  }
+
+  public Object create(ResolvableType type, String methodName, Object[] args) {
+    return create(type, new Context(methodName, args), 0, 0);
+  }
+
+  protected Object create(ResolvableType type, Context context, int index, int depth) {
+    Class<?> rawClass = type.resolve(Object.class);
+
+    if (ServiceResult.class.isAssignableFrom(rawClass)) {
+      var dataType = type.as(ServiceResult.class).getGeneric(0);
+      if (dataType.resolve(Void.class) == Void.class) {
+        return new ServiceResult<>();
+      }
+      return new ServiceResult<>(create(dataType, context, index, depth));
+    }
+    if (Page.class.isAssignableFrom(rawClass)) {
+      return createPage(type.as(Page.class).getGeneric(0), context, depth);
+    }
+    if (Collection.class.isAssignableFrom(rawClass)) {
+      Collection<Object> collection =
+          Set.class.isAssignableFrom(rawClass) ? new LinkedHashSet<>() : new ArrayList<>();
+      if (depth < MAX_DEPTH) {
+        var elementType = type.as(Collection.class).getGeneric(0);
+        for (int i = 0; i < properties.getListSize(); i++) {
+          collection.add(create(elementType, context, i, depth + 1));
+        }
+      }
+      return collection;
+    }
+    if (Map.class.isAssignableFrom(rawClass)) {
+      return new HashMap<>();
+    }
+    if (rawClass == String.class) {
+      return createString(context, index);
+    }
+    if (rawClass == Long.class || rawClass == long.class) {
+      return context.isCount() ? properties.getTotalElements() : (long) index;
+    }
+    if (rawClass == Integer.class || rawClass == int.class) {
+      return context.isCount() ? properties.getTotalElements().intValue() : index;
+    }
+    if (rawClass == Double.class || rawClass == double.class) {
+      return (double) index;
+    }
+    if (rawClass == Boolean.class || rawClass == boolean.class) {
+      return Boolean.TRUE;
+    }
+    if (rawClass == byte[].class) {
+      return new byte[properties.getStringLength()];
+    }
+    if (rawClass == Instant.class) {
+      return EPOCH.plusSeconds(index);
+    }
+    if (rawClass == LocalDateTime.class) {
+      return LocalDateTime.ofInstant(EPOCH.plusSeconds(index), ZoneOffset.UTC);
+    }
+    if (rawClass == LocalDate.class) {
+      return LocalDate.ofInstant(EPOCH, ZoneOffset.UTC).plusDays(index);
+    }
+    if (rawClass == Locale.class) {
+      return Locale.ENGLISH;
+    }
+    if (rawClass.isEnum()) {
+      var constants = rawClass.getEnumConstants();
+      return constants.length == 0 ? null : constants[index % constants.length];
+    }
+    if (rawClass.isInterface() || rawClass.isArray() || rawClass.isPrimitive()
+        || rawClass.getName().startsWith("java.") || depth >= MAX_DEPTH) {
+      return null;
+    }
+    return createBean(rawClass, context, index, depth);
+  }
+
+  protected Page<Object> createPage(ResolvableType elementType, Context context, int depth) {
+    int size = context.getPageSize().orElse(properties.getListSize());
+    int number = context.getPageNumber().orElse(0);
+
+    List<Object> content = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      content.add(create(elementType, context, number * size + i, depth + 1));
+    }
+
+    Page<Object> page = new Page<>();
+    page.setContent(content);
+    page.setSize(size);
+    page.setNumber(number);
+    page.setNumberOfElements(size);
+    page.setTotalElements(properties.getTotalElements());
+    page.setTotalPages((int) (properties.getTotalElements() / Math.max(size, 1)) + 1);
+    return page;
+  }
+
+  protected Object createBean(Class<?> beanClass, Context context, int index, int depth) {
+    Object bean;
+    try {
+      bean = BeanUtils.instantiateClass(beanClass);
+    } catch (RuntimeException e) {
+      return null;
+    }
+    var beanWrapper = new BeanWrapperImpl(bean);
+    for (var propertyDescriptor : beanWrapper.getPropertyDescriptors()) {
+      var name = propertyDescriptor.getName();
+      if (!beanWrapper.isWritableProperty(name)) {
+        continue;
+      }
+      var propertyType = beanWrapper.getPropertyTypeDescriptor(name).getResolvableType();
+      try {
+        var value = create(propertyType, context, index, depth + 1);
+        if (value != null) {
+          beanWrapper.setPropertyValue(name, value);
+        }
+      } catch (RuntimeException e) {
+        // Property left empty, the stub stays usable
+      }
+    }
+    return bean;
+  }
+
+  protected String createString(Context context, int index) {
+    var value = new StringBuilder(properties.getStringLength());
+    value.append(context.methodName).append('-').append(index);
+    while (value.length() < properties.getStringLength()) {
+      value.append('x');
+    }
+    value.setLength(properties.getStringLength());
+    return value.toString();
+  }
+
+  protected static class Context {
+
+    private final String methodName;
+    private final Pageable pageable;
+
+    Context(String methodName, Object[] args) {
+      this.methodName = methodName;
+      this.pageable = findPageable(args);
+    }
+
+    boolean isCount() {
+      return methodName.startsWith("count");
+    }
+
+    Optional<Integer> getPageSize() {
+      return pageable == null ? Optional.empty() : Optional.of(pageable.getSize());
+    }
+
+    Optional<Integer> getPageNumber() {
+      return pageable == null ? Optional.empty() : Optional.of(pageable.getPage());
+    }
+
+    private static Pageable findPageable(Object[] args) {
+      if (args == null) {
+        return null;
+      }
+      for (Object arg : args) {
+        if (arg instanceof Pageable) {
+          return (Pageable) arg;
+        }
+        if (arg != null) {
+          var beanWrapper = new BeanWrapperImpl(arg);
+          if (beanWrapper.isReadableProperty("pageable")) {
+            var pageable = beanWrapper.getPropertyValue("pageable");
+            if (pageable instanceof Pageable) {
+              return (Pageable) pageable;
+            }
+          }
+        }
+      }
+      return null;
+    }
+  }
+}
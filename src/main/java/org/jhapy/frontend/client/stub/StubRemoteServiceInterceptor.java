@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.client.stub;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.jhapy.dto.serviceQuery.ServiceResult;
+import org.jhapy.frontend.config.AppProperties;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.core.ResolvableType;
+
+/**
+ * Answers the remote operations of a stubbed client after the configured latency, void operations
+ * (cache eviction, ...) only wait. Default methods (fallbacks, logging helpers) run as declared,
+ * any other method not returning a {@link ServiceResult} would reach the real backend and throws.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class StubRemoteServiceInterceptor implements MethodInterceptor {
+
+  private final Class<?> clientType;
+  private final StubDataFactory stubDataFactory;
+  private final long latencyMillis;
+
+  public StubRemoteServiceInterceptor(Class<?> clientType, StubDataFactory stubDataFactory,
+      AppProperties.LoadTest properties) {
+    this.clientType = clientType;
+    this.stubDataFactory = stubDataFactory;
+    this.latencyMillis = properties.getServiceLatencyMillis()
+        .getOrDefault(clientType.getSimpleName(), properties.getLatencyMillis());
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    var method = invocation.getMethod();
+    var proxy = ((ProxyMethodInvocation) invocation).getProxy();
+    if (method.getDeclaringClass() == Object.class) {
+      return switch (method.getName()) {
+        case "equals" -> proxy == invocation.getArguments()[0];
+        case "hashCode" -> System.identityHashCode(proxy);
+        default -> "Stub " + clientType.getSimpleName();
+      };
+    }
+    if (method.isDefault()) {
+      return invokeDefault(proxy, method, invocation.getArguments());
+    }
+    boolean isVoid = method.getReturnType() == void.class;
+    if (!isVoid && !ServiceResult.class.isAssignableFrom(method.getReturnType())) {
+      throw new UnsupportedOperationException(
+          clientType.getSimpleName() + "." + method.getName() + " is not stubbed");
+    }
+    if (latencyMillis > 0) {
+      TimeUnit.MILLISECONDS.sleep(latencyMillis);
+    }
+    if (isVoid) {
+      return null;
+    }
+    // Resolved against the client type, for the generic methods of CrudService
+    return stubDataFactory.create(ResolvableType.forMethodReturnType(method, clientType),
+        method.getName(), invocation.getArguments());
+  }
+
+  private static Object invokeDefault(Object proxy, Method method, Object[] arguments)
+      throws Throwable {
+    var declaringInterface = method.getDeclaringClass();
+    return MethodHandles.privateLookupIn(declaringInterface, MethodHandles.lookup())
+        .unreflectSpecial(method, declaringInterface)
+        .bindTo(proxy)
+        .invokeWithArguments(arguments);
+  }
+}
@@ -8,13 +8,12 @@ import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.FlexComponent.JustifyContentMode;
 import com.vaadin.flow.component.orderedlayout.FlexLayout.FlexDirection;
 import com.vaadin.flow.component.orderedlayout.FlexLayout.FlexWrap;
+import com.vaadin.flow.function.SerializableSupplier;
 import com.vaadin.flow.server.StreamResource;
 import java.io.ByteArrayInputStream;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.lang3.StringUtils;
 import org.jhapy.commons.utils.HasLogger;
-import org.jhapy.dto.serviceQuery.ServiceResult;
-import org.jhapy.dto.serviceQuery.generic.GetByStrIdQuery;
 import org.jhapy.dto.utils.StoredFile;
 import org.jhapy.frontend.client.BaseServices;
 import org.jhapy.frontend.component.cropperjs.CropperConfiguration;
@@ -39,12 +38,13 @@ public class ImageViewerDialog extends AbstractDialog implements HasLogger {
   public ImageViewerDialog(StoredFile storedFile, boolean isReadOnly) {
     this.storedFile = storedFile;
     if (storedFile != null && storedFile.getId() != null) {
-      ServiceResult<StoredFile> _storedFile = BaseServices
-          .getResourceService().getById(new GetByStrIdQuery(storedFile.getId()));
-      if (_storedFile.getIsSuccess() && _storedFile.getData() != null) {
-        storedFile.setContent(_storedFile.getData().getContent());
-        storedFile.setOrginalContent(_storedFile.getData().getOrginalContent());
-      }
+      // Loaded with the other files of the round trip, before the image is requested
+      BaseServices.getStoredFileBatcher().load(storedFile.getId(), _storedFile -> {
+        if (_storedFile != null) {
+          storedFile.setContent(_storedFile.getContent());
+          storedFile.setOrginalContent(_storedFile.getOrginalContent());
+        }
+      });
     }
 
     this.isReadOnly = isReadOnly;
@@ -67,11 +67,11 @@ public class ImageViewerDialog extends AbstractDialog implements HasLogger {
     contentLayout.setFlexDirection(FlexDirection.COLUMN);
 
     if (storedFile != null && !isReadOnly) {
-      buildCropper(storedFile.getOrginalContent(), storedFile.getFilename(),
+      buildCropper(storedFile::getOrginalContent, storedFile.getFilename(),
           storedFile != null ? storedFile.getMetadata().get("copperData") : null);
     } else {
       contentLayout.add(new Image(new StreamResource(
-          storedFile.getFilename(), () -> new ByteArrayInputStream(storedFile.getContent())),
+          storedFile.getFilename(), () -> toInputStream(storedFile.getContent())),
           storedFile.getFilename()));
     }
 
@@ -178,9 +178,10 @@ public class ImageViewerDialog extends AbstractDialog implements HasLogger {
     return false;
   }
 
-  protected void buildCropper(byte[] content, String filename, String cropperData) {
+  protected void buildCropper(SerializableSupplier<byte[]> content, String filename,
+      String cropperData) {
     StreamResource imageResource = new StreamResource(filename,
-        () -> new ByteArrayInputStream(content));
+        () -> toInputStream(content.get()));
 
     cropperJs = new CropperJs(imageResource);
     cropperJs.setWidthFull();
@@ -259,4 +260,9 @@ public class ImageViewerDialog extends AbstractDialog implements HasLogger {
 
     contentLayout.add(toolsLayout);
   }
+
+  private static ByteArrayInputStream toInputStream(byte[] content) {
+    // Empty when the file could not be loaded
+    return new ByteArrayInputStream(content == null ? new byte[0] : content);
+  }
 }
@@ -26,8 +26,11 @@ import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H3;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.upload.Upload;
+import com.vaadin.flow.component.upload.receivers.FileBuffer;
 import com.vaadin.flow.shared.Registration;
+import java.io.File;
 import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import org.jhapy.frontend.components.fileUpload.MemoryBuffer;
 
@@ -97,6 +100,44 @@ public class ImportFileDialog<T extends Serializable> extends Dialog {
   public void open(String title, String message, String additionalMessage,
       String actionName,
       Consumer<byte[]> confirmHandler, Runnable cancelHandler) {
+    fileUpload.setReceiver(buffer);
+    open(title, message, additionalMessage, actionName,
+        () -> confirmHandler.accept(buffer.getBuf()), cancelHandler);
+  }
+
+  /**
+   * Opens the dialog, the uploaded file is written to a temporary file instead of being kept in
+   * memory.
+   *
+   * @param title The title text
+   * @param message Detail message (optional, may be empty)
+   * @param additionalMessage Additional message (optional, may be empty)
+   * @param actionName The action name to be shown on the Confirm button
+   * @param confirmHandler The confirmation handler function, owns the temporary file
+   * @param cancelHandler The cancellation handler function
+   */
+  public void openForFile(String title, String message, String additionalMessage,
+      String actionName,
+      Consumer<File> confirmHandler, Runnable cancelHandler) {
+    FileBuffer fileBuffer = new FileBuffer();
+    AtomicBoolean confirmed = new AtomicBoolean();
+    fileUpload.setReceiver(fileBuffer);
+    open(title, message, additionalMessage, actionName, () -> {
+          confirmed.set(true);
+          confirmHandler.accept(fileBuffer.getFileData().getFile());
+        }, () -> {
+          // Also called when the dialog closes once confirmed
+          if (!confirmed.get() && fileBuffer.getFileData() != null) {
+            fileBuffer.getFileData().getFile().delete();
+          }
+          if (cancelHandler != null) {
+            cancelHandler.run();
+          }
+        });
+  }
+
+  private void open(String title, String message, String additionalMessage,
+      String actionName, Runnable confirmAction, Runnable cancelHandler) {
     titleField.setText(title);
     messageLabel.setText(message);
     extraMessageLabel.setText(additionalMessage);
@@ -111,7 +152,7 @@ public class ImportFileDialog<T extends Serializable> extends Dialog {
       registrationForConfirm.remove();
     }
     registrationForConfirm = confirmButton
-        .addClickListener(e -> confirmHandler.accept(buffer.getBuf()));
+        .addClickListener(e -> confirmAction.run());
     if (registrationForCancel != null) {
       registrationForCancel.remove();
     }
@@ -7,11 +7,10 @@ import com.vaadin.flow.component.html.Anchor;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.FlexLayout.ContentAlignment;
 import com.vaadin.flow.component.orderedlayout.FlexLayout.FlexDirection;
+import com.vaadin.flow.function.SerializableSupplier;
 import com.vaadin.flow.server.StreamResource;
 import java.io.ByteArrayInputStream;
 import org.jhapy.commons.utils.HasLogger;
-import org.jhapy.dto.serviceQuery.ServiceResult;
-import org.jhapy.dto.serviceQuery.generic.GetByStrIdQuery;
 import org.jhapy.dto.utils.PdfConvert;
 import org.jhapy.dto.utils.StoredFile;
 import org.jhapy.frontend.client.BaseServices;
@@ -31,12 +30,13 @@ public class PdfViewerDialog extends AbstractDialog implements HasLogger {
   public PdfViewerDialog(StoredFile storedFile) {
     this.storedFile = storedFile;
     if (storedFile != null && storedFile.getId() != null) {
-      ServiceResult<StoredFile> _storedFile = BaseServices
-          .getResourceService().getById(new GetByStrIdQuery(storedFile.getId()));
-      if (_storedFile.getIsSuccess() && _storedFile.getData() != null) {
-        storedFile.setContent(_storedFile.getData().getContent());
-        storedFile.setPdfContent(_storedFile.getData().getPdfContent());
-      }
+      // Loaded with the other files of the round trip, before the document is requested
+      BaseServices.getStoredFileBatcher().load(storedFile.getId(), _storedFile -> {
+        if (_storedFile != null) {
+          storedFile.setContent(_storedFile.getContent());
+          storedFile.setPdfContent(_storedFile.getPdfContent());
+        }
+      });
     }
   }
 
@@ -58,7 +58,7 @@ public class PdfViewerDialog extends AbstractDialog implements HasLogger {
     contentLayout.setFlexDirection(FlexDirection.COLUMN);
 
     if (storedFile != null) {
-      byte[] fileContent = storedFile.getContent();
+      SerializableSupplier<byte[]> fileContent = storedFile::getContent;
       String filename = storedFile.getFilename();
       if (!storedFile.getMimeType().contains("pdf")) {
         if (!storedFile.getPdfConvertStatus().equals(
@@ -69,21 +69,21 @@ public class PdfViewerDialog extends AbstractDialog implements HasLogger {
                       : "error.docConvert.cannotConvert"), VaadinIcon.DOWNLOAD,
                   ButtonVariant.LUMO_ERROR);
           Anchor downloadLink = new Anchor(new StreamResource(storedFile.getFilename(),
-              () -> new ByteArrayInputStream(storedFile.getContent())), "");
+              () -> toInputStream(storedFile.getContent())), "");
           downloadLink.getElement().setAttribute("download", true);
           downloadLink.add(downloadButton);
           contentLayout.setAlignContent(ContentAlignment.CENTER);
           contentLayout.add(downloadLink);
           fileContent = null;
         } else {
-          fileContent = storedFile.getPdfContent();
+          fileContent = storedFile::getPdfContent;
           filename = filename.substring(0, filename.lastIndexOf(".")) + ".pdf";
         }
       }
       if (fileContent != null) {
-        byte[] finalFileContent = fileContent;
+        SerializableSupplier<byte[]> finalFileContent = fileContent;
         pdfViewer = new PdfViewer(new StreamResource(
-            filename, () -> new ByteArrayInputStream(finalFileContent)));
+            filename, () -> toInputStream(finalFileContent.get())));
         pdfViewer.setHeight("100%");
         contentLayout.add(pdfViewer);
       }
@@ -105,4 +105,9 @@ public class PdfViewerDialog extends AbstractDialog implements HasLogger {
   public boolean canMaximize() {
     return true;
   }
+
+  private static ByteArrayInputStream toInputStream(byte[] content) {
+    // Empty when the file could not be loaded
+    return new ByteArrayInputStream(content == null ? new byte[0] : content);
+  }
 }
@@ -77,6 +77,7 @@ import org.jhapy.frontend.config.AppProperties;
 import org.jhapy.frontend.layout.size.Right;
 import org.jhapy.frontend.security.SecurityUtils;
 import org.jhapy.frontend.utils.LumoStyles;
+import org.jhapy.frontend.utils.PictureUtils;
 import org.jhapy.frontend.utils.UIUtils;
 import org.jhapy.frontend.utils.i18n.MyI18NProvider;
 import org.jhapy.frontend.views.JHapyMainView3;
@@ -286,7 +287,7 @@ public class AppBar extends FlexBoxLayout implements LocaleChangeObserver, HasLo
     avatar.setAlt("User menu");
     avatar.setSrc(UIUtils.IMG_PATH + "icons8-question-mark-64.png");
 
-    StoredFile userAvatar = AppContext.getInstance().getCurrentAvatar();
+    StoredFile userAvatar = PictureUtils.thumbnail(AppContext.getInstance().getCurrentAvatar());
     if (userAvatar != null) {
       avatar.setSrc(new StreamResource(userAvatar.getFilename(),
           () -> new ByteArrayInputStream(userAvatar.getContent())));
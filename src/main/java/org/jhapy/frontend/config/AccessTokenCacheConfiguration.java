@@ -0,0 +1,59 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.config;
+
+import java.time.Duration;
+import org.jhapy.commons.security.oauth2.AuthorizationHeaderUtil;
+import org.jhapy.frontend.client.AccessTokenCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.client.AuthorizedClientServiceOAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientProviderBuilder;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+
+/**
+ * Cached access tokens for outbound calls, refreshed ahead of their expiry.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+@Configuration
+public class AccessTokenCacheConfiguration {
+
+  @Bean(destroyMethod = "shutdown")
+  public AccessTokenCache accessTokenCache(AppProperties appProperties,
+      ClientRegistrationRepository clientRegistrationRepository,
+      OAuth2AuthorizedClientService authorizedClientService,
+      AuthorizationHeaderUtil authorizationHeaderUtil) {
+    var tokenCache = appProperties.getRemoteCalls().getTokenCache();
+
+    // Not bound to the current request, tokens can be refreshed from any thread
+    var authorizedClientManager = new AuthorizedClientServiceOAuth2AuthorizedClientManager(
+        clientRegistrationRepository, authorizedClientService);
+    authorizedClientManager.setAuthorizedClientProvider(
+        OAuth2AuthorizedClientProviderBuilder.builder()
+            .refreshToken(configurer -> configurer
+                .clockSkew(Duration.ofSeconds(tokenCache.getRefreshAheadSeconds())))
+            .build());
+
+    return new AccessTokenCache(authorizedClientManager, authorizationHeaderUtil, tokenCache);
+  }
+}
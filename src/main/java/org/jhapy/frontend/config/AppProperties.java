@@ -18,6 +18,12 @@
 
 package org.jhapy.frontend.config;
 
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import lombok.Data;
 import lombok.Getter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -30,6 +36,18 @@ public class AppProperties extends org.jhapy.commons.config.AppProperties {
 
   private final LoginForm loginForm = new LoginForm();
 
+  private final RemoteCalls remoteCalls = new RemoteCalls();
+
+  private final LoadTest loadTest = new LoadTest();
+
+  private final KeycloakAdminPool keycloakAdminPool = new KeycloakAdminPool();
+
+  private final SessionTracking sessionTracking = new SessionTracking();
+
+  private final LocalCache localCache = new LocalCache();
+
+  private final Caches caches = new Caches();
+
   @Data
   public static class LoginForm {
 
@@ -49,4 +67,484 @@ public class AppProperties extends org.jhapy.commons.config.AppProperties {
     private String googleUrl;
     private String publicKey;
   }
+
+  /**
+   * Shared Keycloak admin client, see {@code jhapy.keycloak-admin} for the server and credentials.
+   */
+  @Data
+  public static final class KeycloakAdminPool {
+
+    private Integer connectionPoolSize = 20;
+
+    /**
+     * Maximum lifetime of a pooled connection.
+     */
+    private Long connectionTtlSeconds = 300L;
+
+    /**
+     * Pooled connections idle for longer are closed.
+     */
+    private Long idleTimeoutSeconds = 60L;
+
+    private Integer connectTimeoutMillis = 5000;
+
+    private Integer socketTimeoutMillis = 30000;
+
+    /**
+     * Wait for a free connection of the pool before failing.
+     */
+    private Integer checkoutTimeoutMillis = 5000;
+
+    /**
+     * The admin token is refreshed when it expires within this delay.
+     */
+    private Integer minTokenValiditySeconds = 30;
+
+    /**
+     * Period of the background token check, shorter than {@code minTokenValiditySeconds} so the
+     * token is refreshed off the request path.
+     */
+    private Long tokenRefreshIntervalMillis = 15000L;
+
+    /**
+     * Users of a page whose memberships are looked up at the same time.
+     */
+    private Integer userLookupParallelism = 8;
+
+    /**
+     * Period of the background refresh of the realm roles and groups index.
+     */
+    private Long realmIndexRefreshMillis = 300000L;
+
+    /**
+     * Invalidate the cache entries changed directly in Keycloak, read from the admin events of
+     * the realm. Admin events must be enabled on the realm.
+     */
+    private Boolean adminEventPollEnabled = Boolean.FALSE;
+
+    private Long adminEventPollMillis = 30000L;
+
+    /**
+     * Admin events read per request.
+     */
+    private Integer adminEventPollBatchSize = 100;
+
+    /**
+     * Users imported or exported at the same time by a bulk transfer.
+     */
+    private Integer bulkParallelism = 8;
+
+    /**
+     * Users read per request by a bulk export.
+     */
+    private Integer bulkPageSize = 100;
+
+    /**
+     * Retries of a failed call of a bulk transfer, on I/O errors, 5xx and 429 answers.
+     */
+    private Integer bulkMaxRetries = 3;
+
+    /**
+     * Delay before the first retry, doubled on each retry.
+     */
+    private Long bulkRetryBackoffMillis = 500L;
+  }
+
+  /**
+   * Last contact of the user sessions, kept in the {@code userSessions} Hazelcast map.
+   */
+  @Data
+  public static final class SessionTracking {
+
+    /**
+     * Last contacts are buffered on each node and written to the cluster at this interval.
+     */
+    private Long flushIntervalMillis = 5000L;
+
+    /**
+     * Requests under these paths (static resources) do not count as a contact.
+     */
+    private List<String> ignoredPathPrefixes = new ArrayList<>(
+        List.of("/VAADIN/", "/frontend/", "/frontend-es5/", "/frontend-es6/", "/images/",
+            "/icons/", "/img/", "/webjars/", "/management/", "/favicon.ico", "/sw.js",
+            "/sw-runtime-resources-precache.js", "/manifest.webmanifest", "/offline.html"));
+
+    /**
+     * Sessions without contact for longer are removed and ended, a few Vaadin heartbeat
+     * intervals so the idle but opened tabs are kept.
+     */
+    private Long deadSessionTimeoutSeconds = 900L;
+
+    /**
+     * Period of the dead sessions cleanup, run by the oldest member of the cluster only.
+     */
+    private Long cleanupIntervalMillis = 60000L;
+  }
+
+  /**
+   * In-process first level in front of the Hazelcast caches.
+   */
+  @Data
+  public static final class LocalCache {
+
+    /**
+     * When disabled every cache read goes to Hazelcast.
+     */
+    private Boolean enabled = true;
+
+    /**
+     * Maximum entries kept per cache, the least recently used are dropped first.
+     */
+    private Integer maxEntries = 1000;
+
+    /**
+     * Time to live of a local entry, the staleness allowed if an invalidation message is lost.
+     */
+    private Long timeToLiveSeconds = 30L;
+
+    /**
+     * Time to live per cache name, 0 keeps the cache out of the local level.
+     */
+    private Map<String, Long> cacheTimeToLiveSeconds = new HashMap<>();
+  }
+
+  /**
+   * Hazelcast map of each Spring cache, by cache name.
+   */
+  @Data
+  public static final class Caches {
+
+    /**
+     * Warn at startup for each cache used by a {@code @Cacheable} without a policy here.
+     */
+    private Boolean warnOnMissingPolicy = true;
+
+    private Map<String, CachePolicy> policies = new HashMap<>(Map.of(
+        "userById", CachePolicy.of(10000, 3600, 600),
+        "userByName", CachePolicy.of(10000, 3600, 600),
+        "groupById", CachePolicy.of(2000, 3600, 600),
+        "findUsers", CachePolicy.of(1000, 300, 120),
+        "findGroups", CachePolicy.of(1000, 300, 120),
+        "countUsers", CachePolicy.of(200, 300, 120)));
+  }
+
+  @Data
+  public static final class CachePolicy {
+
+    /**
+     * Maximum entries per cluster member, 0 for no limit.
+     */
+    private Integer maxEntries = 0;
+
+    /**
+     * 0 keeps the entries until evicted.
+     */
+    private Integer timeToLiveSeconds = 0;
+
+    /**
+     * Entries not read for longer are removed, 0 for no limit.
+     */
+    private Integer maxIdleSeconds = 0;
+
+    private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+
+    /**
+     * OBJECT saves the deserialization of local reads at the cost of a copy on each write.
+     */
+    private InMemoryFormat inMemoryFormat = InMemoryFormat.BINARY;
+
+    /**
+     * Hazelcast near cache, an alternative to the local cache tier for the caches kept out of
+     * it.
+     */
+    private Boolean nearCache = false;
+
+    public static CachePolicy of(int maxEntries, int timeToLiveSeconds, int maxIdleSeconds) {
+      var cachePolicy = new CachePolicy();
+      cachePolicy.setMaxEntries(maxEntries);
+      cachePolicy.setTimeToLiveSeconds(timeToLiveSeconds);
+      cachePolicy.setMaxIdleSeconds(maxIdleSeconds);
+      return cachePolicy;
+    }
+  }
+
+  /**
+   * Stub backend of the {@code loadtest} profile.
+   */
+  @Data
+  public static final class LoadTest {
+
+    /**
+     * Latency of every stubbed remote call.
+     */
+    private Long latencyMillis = 20L;
+
+    /**
+     * Latency per client interface (simple name), overriding {@code latencyMillis}.
+     */
+    private Map<String, Long> serviceLatencyMillis = new HashMap<>();
+
+    /**
+     * Elements of the returned lists, pages use the requested page size.
+     */
+    private Integer listSize = 25;
+
+    /**
+     * Length of the generated string values, drives the payload size.
+     */
+    private Integer stringLength = 32;
+
+    /**
+     * Total elements reported by the pages and the count operations.
+     */
+    private Long totalElements = 1000L;
+
+    /**
+     * Request header authenticating a new HTTP session as the named user, the {@code loadtest}
+     * profile replaces the Keycloak login flow with it.
+     */
+    private String userHeader = "X-Load-Test-User";
+
+    /**
+     * Authorities granted to the load test users.
+     */
+    private List<String> authorities = new ArrayList<>(List.of("ROLE_ADMIN", "ROLE_USER"));
+  }
+
+  @Data
+  public static final class RemoteCalls {
+
+    private final WireFormat wireFormat = new WireFormat();
+
+    private final StaleFallback staleFallback = new StaleFallback();
+
+    private final Async async = new Async();
+
+    private final TokenCache tokenCache = new TokenCache();
+
+    private final Metrics metrics = new Metrics();
+
+    private final Bulkhead bulkhead = new Bulkhead();
+
+    private final ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+    private final Hedging hedging = new Hedging();
+
+    @Data
+    public static final class WireFormat {
+
+      /**
+       * Ask remote services for gzip compressed responses (Accept-Encoding negotiation).
+       */
+      private Boolean compressionEnabled = Boolean.TRUE;
+
+      /**
+       * Ask remote services for Smile encoded responses, services not supporting it will answer
+       * with JSON.
+       */
+      private Boolean binaryEnabled = Boolean.FALSE;
+
+      /**
+       * Names of the remote services known to accept Smile encoded request bodies.
+       */
+      private List<String> binaryRequestServices = new ArrayList<>();
+    }
+
+    @Data
+    public static final class StaleFallback {
+
+      /**
+       * Serve the last successful result of read operations when the remote call fails.
+       */
+      private Boolean enabled = Boolean.TRUE;
+
+      private Integer maxEntries = 10000;
+
+      /**
+       * Results older than this are not served anymore.
+       */
+      private Long maxAgeSeconds = 3600L;
+
+      /**
+       * Method name prefixes identifying idempotent read operations.
+       */
+      private List<String> readOperationPrefixes = new ArrayList<>(
+          List.of("find", "get", "count"));
+
+      /**
+       * Client interfaces (simple name) never cached, typically the ones returning large
+       * content.
+       */
+      private List<String> excludedServices = new ArrayList<>(List.of("ResourceService"));
+    }
+
+    @Data
+    public static final class Async {
+
+      /**
+       * Threads kept alive to run fanned out remote calls.
+       */
+      private Integer corePoolSize = 8;
+
+      private Integer maxPoolSize = 32;
+
+      /**
+       * Calls waiting for a thread, once full the caller runs the call itself.
+       */
+      private Integer queueCapacity = 256;
+
+      private Integer keepAliveSeconds = 60;
+
+      private String threadNamePrefix = "remote-call-";
+    }
+
+    @Data
+    public static final class TokenCache {
+
+      /**
+       * Cache the authorization header of the logged users instead of resolving it on every
+       * outbound call.
+       */
+      private Boolean enabled = Boolean.TRUE;
+
+      /**
+       * Tokens are refreshed this long before they expire.
+       */
+      private Long refreshAheadSeconds = 60L;
+
+      /**
+       * Delay before a failed refresh is tried again, the current token is used meanwhile.
+       */
+      private Long refreshRetrySeconds = 10L;
+
+      private Integer maxEntries = 10000;
+    }
+
+    @Data
+    public static final class Metrics {
+
+      /**
+       * Record latency, outcome and payload size of every remote operation.
+       */
+      private Boolean enabled = Boolean.TRUE;
+
+      /**
+       * Publish the histogram buckets, used by the monitoring backend to aggregate percentiles.
+       */
+      private Boolean percentileHistogram = Boolean.TRUE;
+
+      /**
+       * Percentiles computed locally, displayed in the metrics view. The hedging percentile is
+       * added when hedging is enabled.
+       */
+      private List<Double> percentiles = new ArrayList<>(List.of(0.5, 0.95, 0.99));
+    }
+
+    @Data
+    public static final class Bulkhead {
+
+      /**
+       * Cap the concurrent calls to each remote service (Feign client name), so a slow service
+       * cannot hold all the request threads.
+       */
+      private Boolean enabled = Boolean.TRUE;
+
+      private Integer maxConcurrentCalls = 25;
+
+      /**
+       * How long a call waits for a free slot before falling back.
+       */
+      private Long maxWaitMillis = 100L;
+
+      /**
+       * Max concurrent calls per remote service, overriding {@code maxConcurrentCalls}.
+       */
+      private Map<String, Integer> services = new HashMap<>();
+    }
+
+    @Data
+    public static final class ConcurrencyLimit {
+
+      /**
+       * Shrink the allowed in-flight calls of a remote service when its latency rises.
+       */
+      private Boolean enabled = Boolean.TRUE;
+
+      private Integer initialLimit = 10;
+
+      private Integer minLimit = 2;
+
+      private Integer maxLimit = 25;
+
+      /**
+       * The limit shrinks once the short term latency of an operation exceeds its long term
+       * latency times this factor.
+       */
+      private Double latencyTolerance = 2.0;
+
+      /**
+       * Applied to the limit on each failed call.
+       */
+      private Double backoffRatio = 0.9;
+
+      /**
+       * Share of the new limit taken on each call, smooths the limit changes.
+       */
+      private Double smoothing = 0.2;
+
+      /**
+       * Calls averaged by the short term latency.
+       */
+      private Integer shortWindowSamples = 10;
+
+      /**
+       * Calls averaged by the long term latency, the reference of the operation.
+       */
+      private Integer longWindowSamples = 600;
+    }
+
+    @Data
+    public static final class Hedging {
+
+      /**
+       * Send a second attempt of a slow idempotent read to another instance, first answer wins.
+       */
+      private Boolean enabled = Boolean.FALSE;
+
+      /**
+       * Hedged operations, either a method name ({@code getById}) or a client interface and
+       * method ({@code ElementTrlService.findByIso3}).
+       */
+      private List<String> operations = new ArrayList<>(
+          List.of("findAnyMatching", "getById", "findByIso3"));
+
+      /**
+       * The second attempt is sent once the first one is slower than this latency percentile.
+       */
+      private Double percentile = 0.95;
+
+      /**
+       * Delay used until the percentile is known.
+       */
+      private Long defaultDelayMillis = 250L;
+
+      private Long minDelayMillis = 20L;
+
+      /**
+       * Hedges allowed per call, per remote service. Keeps the extra load bounded during an
+       * incident.
+       */
+      private Double budgetRatio = 0.05;
+
+      /**
+       * Hedges that can be sent in a row when the budget is full.
+       */
+      private Double budgetBurst = 10.0;
+
+      /**
+       * Second attempts running at the same time, no hedge is sent past it.
+       */
+      private Integer maxConcurrentHedges = 10;
+    }
+  }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import org.jhapy.frontend.client.async.AsyncRemoteCalls;
+import org.jhapy.frontend.client.async.ContextPropagatingTaskDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Bounded executor used to fan out remote calls.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+@Configuration
+public class AsyncRemoteCallsConfiguration {
+
+  /**
+   * The executor is not exposed as a bean, it would replace the Spring Boot application task
+   * executor.
+   */
+  @Bean(destroyMethod = "shutdown")
+  public AsyncRemoteCalls asyncRemoteCalls(AppProperties appProperties) {
+    var async = appProperties.getRemoteCalls().getAsync();
+
+    var executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(async.getCorePoolSize());
+    executor.setMaxPoolSize(async.getMaxPoolSize());
+    executor.setQueueCapacity(async.getQueueCapacity());
+    executor.setKeepAliveSeconds(async.getKeepAliveSeconds());
+    executor.setThreadNamePrefix(async.getThreadNamePrefix());
+    executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+    // Saturated : slow the caller down rather than failing the screen
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.setWaitForTasksToCompleteOnShutdown(false);
+    executor.initialize();
+
+    return new AsyncRemoteCalls(executor);
+  }
+}
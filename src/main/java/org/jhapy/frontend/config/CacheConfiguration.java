@@ -20,16 +20,22 @@ package org.jhapy.frontend.config;
 
 import com.hazelcast.config.Config;
 import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
 import com.hazelcast.config.ManagementCenterConfig;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
+import io.micrometer.core.instrument.MeterRegistry;
 import javax.annotation.PreDestroy;
-import org.jhapy.commons.config.AppProperties;
 import org.jhapy.commons.utils.HasLogger;
 import org.jhapy.commons.utils.PrefixedKeyGenerator;
 import org.jhapy.commons.utils.SpringProfileConstants;
+import org.jhapy.frontend.config.cache.CachePolicyValidator;
+import org.jhapy.frontend.config.cache.TwoTierCacheManager;
+import org.jhapy.frontend.config.hazelcast.HazelcastSerializers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.boot.info.BuildProperties;
@@ -81,10 +87,18 @@ public class CacheConfiguration implements HasLogger {
   }
 
   @Bean
-  public CacheManager cacheManager(HazelcastInstance hazelcastInstance) {
+  public CacheManager cacheManager(HazelcastInstance hazelcastInstance,
+      AppProperties appProperties, MeterRegistry meterRegistry) {
     var loggerPrefix = getLoggerPrefix("cacheManager");
     logger().info(loggerPrefix + "Starting HazelcastCacheManager");
-    return new com.hazelcast.spring.cache.HazelcastCacheManager(hazelcastInstance);
+    var hazelcastCacheManager = new com.hazelcast.spring.cache.HazelcastCacheManager(
+        hazelcastInstance);
+    if (!Boolean.TRUE.equals(appProperties.getLocalCache().getEnabled())) {
+      return hazelcastCacheManager;
+    }
+    logger().info(loggerPrefix + "Adding local cache tier");
+    return new TwoTierCacheManager(hazelcastCacheManager, hazelcastInstance,
+        appProperties.getLocalCache(), meterRegistry);
   }
 
   @Bean
@@ -158,8 +172,12 @@ public class CacheConfiguration implements HasLogger {
       }
     }
     config.setManagementCenterConfig(new ManagementCenterConfig());
+    HazelcastSerializers.register(config.getSerializationConfig());
     config.addMapConfig(initializeDefaultMapConfig(appProperties));
     config.addMapConfig(initializeDomainMapConfig(appProperties));
+    config.addMapConfig(initializeUserSessionsMapConfig(appProperties));
+    appProperties.getCaches().getPolicies().forEach((cacheName, cachePolicy) -> config
+        .addMapConfig(initializeCacheMapConfig(cacheName, cachePolicy, appProperties)));
     return Hazelcast.newHazelcastInstance(config);
   }
 
@@ -199,6 +217,40 @@ public class CacheConfiguration implements HasLogger {
     return mapConfig;
   }
 
+  private MapConfig initializeCacheMapConfig(String cacheName,
+      AppProperties.CachePolicy cachePolicy, AppProperties appProperties) {
+    MapConfig mapConfig = new MapConfig(cacheName);
+    mapConfig.setBackupCount(appProperties.getHazelcast().getBackupCount());
+    mapConfig.setTimeToLiveSeconds(cachePolicy.getTimeToLiveSeconds());
+    mapConfig.setMaxIdleSeconds(cachePolicy.getMaxIdleSeconds());
+    mapConfig.setInMemoryFormat(cachePolicy.getInMemoryFormat());
+    if (cachePolicy.getMaxEntries() > 0) {
+      mapConfig.getEvictionConfig().setEvictionPolicy(cachePolicy.getEvictionPolicy());
+      mapConfig.getEvictionConfig().setMaxSizePolicy(MaxSizePolicy.PER_NODE);
+      mapConfig.getEvictionConfig().setSize(cachePolicy.getMaxEntries());
+    }
+    if (Boolean.TRUE.equals(cachePolicy.getNearCache())) {
+      mapConfig.setNearCacheConfig(new NearCacheConfig(cacheName)
+          .setInMemoryFormat(cachePolicy.getInMemoryFormat())
+          .setInvalidateOnChange(true)
+          .setTimeToLiveSeconds(cachePolicy.getTimeToLiveSeconds())
+          .setMaxIdleSeconds(cachePolicy.getMaxIdleSeconds()));
+    }
+    return mapConfig;
+  }
+
+  private MapConfig initializeUserSessionsMapConfig(AppProperties appProperties) {
+    MapConfig mapConfig = new MapConfig(SessionManager.USER_SESSIONS_MAP);
+    mapConfig.setBackupCount(appProperties.getHazelcast().getBackupCount());
+
+        /*
+        Sessions are never evicted, they are ended by the dead sessions cleanup
+        which only looks up the expired ones through this index.
+        */
+    mapConfig.addIndexConfig(new IndexConfig(IndexType.SORTED, "lastContact"));
+    return mapConfig;
+  }
+
   @Autowired(required = false)
   public void setGitProperties(GitProperties gitProperties) {
     this.gitProperties = gitProperties;
@@ -209,6 +261,11 @@ public class CacheConfiguration implements HasLogger {
     this.buildProperties = buildProperties;
   }
 
+  @Bean
+  public CachePolicyValidator cachePolicyValidator(AppProperties appProperties) {
+    return new CachePolicyValidator(appProperties.getCaches());
+  }
+
   @Bean
   public KeyGenerator keyGenerator() {
     return new PrefixedKeyGenerator(this.gitProperties, this.buildProperties);
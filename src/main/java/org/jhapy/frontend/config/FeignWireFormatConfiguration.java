@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jhapy.frontend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import feign.RequestInterceptor;
+import feign.codec.Decoder;
+import feign.codec.Encoder;
+import feign.optionals.OptionalDecoder;
+import java.util.ArrayList;
+import java.util.List;
+import org.jhapy.commons.utils.HasLogger;
+import org.jhapy.frontend.client.codec.WireFormatDecoder;
+import org.jhapy.frontend.client.codec.WireFormatEncoder;
+import org.jhapy.frontend.client.codec.WireFormatRequestInterceptor;
+import org.jhapy.frontend.client.metrics.PayloadSizeDecoder;
+import org.jhapy.frontend.client.metrics.RemoteCallMetrics;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Shared Feign encoder, decoder and interceptor negotiating compressed and Smile encoded payloads
+ * with the remote services. Being declared in the main context, they replace the defaults of every
+ * Feign client.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+@Configuration
+public class FeignWireFormatConfiguration implements HasLogger {
+
+  private final ObjectFactory<HttpMessageConverters> messageConverters;
+  private final AppProperties appProperties;
+  private final ObjectMapper smileMapper;
+
+  private volatile HttpMessageConverters decoderMessageConverters;
+
+  public FeignWireFormatConfiguration(ObjectFactory<HttpMessageConverters> messageConverters,
+      AppProperties appProperties, Jackson2ObjectMapperBuilder objectMapperBuilder) {
+    this.messageConverters = messageConverters;
+    this.appProperties = appProperties;
+    // Not exposed as a bean, it would replace the JSON ObjectMapper of the application
+    this.smileMapper = objectMapperBuilder.factory(new SmileFactory()).build();
+
+    var loggerPrefix = getLoggerPrefix("FeignWireFormatConfiguration");
+    var wireFormat = appProperties.getRemoteCalls().getWireFormat();
+    logger().info(loggerPrefix + "Compression : " + wireFormat.getCompressionEnabled()
+        + ", Smile : " + wireFormat.getBinaryEnabled() + ", Smile requests for : "
+        + wireFormat.getBinaryRequestServices());
+  }
+
+  /**
+   * Smile responses go through the same Optional and ResponseEntity decoders as the JSON ones.
+   */
+  @Bean
+  public Decoder feignDecoder(RemoteCallMetrics remoteCallMetrics) {
+    return new PayloadSizeDecoder(new WireFormatDecoder(
+        new OptionalDecoder(new ResponseEntityDecoder(
+            new SpringDecoder(this::getDecoderMessageConverters)))), remoteCallMetrics);
+  }
+
+  @Bean
+  public Encoder feignEncoder() {
+    return new WireFormatEncoder(new SpringEncoder(messageConverters), smileMapper,
+        appProperties.getRemoteCalls().getWireFormat());
+  }
+
+  @Bean
+  public RequestInterceptor wireFormatRequestInterceptor() {
+    return new WireFormatRequestInterceptor(appProperties.getRemoteCalls().getWireFormat());
+  }
+
+  /**
+   * The message converters of the application with a Smile one in front, built on first use
+   * like the ones of the default Feign decoder.
+   */
+  protected HttpMessageConverters getDecoderMessageConverters() {
+    if (decoderMessageConverters == null) {
+      List<HttpMessageConverter<?>> converters = new ArrayList<>();
+      converters.add(new MappingJackson2SmileHttpMessageConverter(smileMapper));
+      converters.addAll(messageConverters.getObject().getConverters());
+      decoderMessageConverters = new HttpMessageConverters(false, converters);
+    }
+    return decoderMessageConverters;
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.config;
+
+import com.hazelcast.core.HazelcastInstance;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jhapy.frontend.client.async.AsyncRemoteCalls;
+import org.jhapy.frontend.client.security.keycloak.KeycloakAdminClientProvider;
+import org.jhapy.frontend.client.security.keycloak.KeycloakAdminEventPoller;
+import org.jhapy.frontend.client.security.keycloak.KeycloakBulkTransfer;
+import org.jhapy.frontend.client.security.keycloak.KeycloakCacheInvalidator;
+import org.jhapy.frontend.client.security.keycloak.KeycloakRealmIndex;
+import org.jhapy.frontend.client.security.keycloak.KeycloakUserPageAssembler;
+import org.jhapy.frontend.converter.SecurityConverter;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Shared, pooled Keycloak admin client, closed with the application context, the realm index, the
+ * cluster wide cache invalidation, the bulk transfers and the assembler of the user pages built
+ * with it.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+@Configuration
+public class KeycloakAdminClientConfiguration {
+
+  @Bean(destroyMethod = "close")
+  public KeycloakAdminClientProvider keycloakAdminClientProvider(AppProperties appProperties,
+      MeterRegistry meterRegistry) {
+    return new KeycloakAdminClientProvider(appProperties, meterRegistry);
+  }
+
+  @Bean
+  public KeycloakRealmIndex keycloakRealmIndex(
+      KeycloakAdminClientProvider keycloakAdminClientProvider, AppProperties appProperties) {
+    return new KeycloakRealmIndex(keycloakAdminClientProvider, appProperties);
+  }
+
+  @Bean
+  public KeycloakCacheInvalidator keycloakCacheInvalidator(CacheManager cacheManager,
+      HazelcastInstance hazelcastInstance, KeycloakRealmIndex keycloakRealmIndex) {
+    return new KeycloakCacheInvalidator(cacheManager, hazelcastInstance, keycloakRealmIndex);
+  }
+
+  @Bean
+  public KeycloakAdminEventPoller keycloakAdminEventPoller(
+      KeycloakAdminClientProvider keycloakAdminClientProvider,
+      KeycloakCacheInvalidator keycloakCacheInvalidator, HazelcastInstance hazelcastInstance,
+      AppProperties appProperties) {
+    return new KeycloakAdminEventPoller(keycloakAdminClientProvider, keycloakCacheInvalidator,
+        hazelcastInstance, appProperties);
+  }
+
+  @Bean(destroyMethod = "shutdown")
+  public KeycloakBulkTransfer keycloakBulkTransfer(
+      KeycloakAdminClientProvider keycloakAdminClientProvider,
+      KeycloakRealmIndex keycloakRealmIndex, KeycloakCacheInvalidator keycloakCacheInvalidator,
+      AppProperties appProperties) {
+    return new KeycloakBulkTransfer(keycloakAdminClientProvider, keycloakRealmIndex,
+        keycloakCacheInvalidator, appProperties);
+  }
+
+  @Bean
+  public KeycloakUserPageAssembler keycloakUserPageAssembler(SecurityConverter securityConverter,
+      AsyncRemoteCalls asyncRemoteCalls, AppProperties appProperties) {
+    return new KeycloakUserPageAssembler(securityConverter, asyncRemoteCalls,
+        appProperties.getKeycloakAdminPool().getUserLookupParallelism());
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.config;
+
+import org.jhapy.frontend.client.stub.StubClientsRegistrar;
+import org.jhapy.frontend.filter.LoadTestAuthenticationFilter;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * {@code loadtest} profile : all the remote services are replaced by in-process stubs answering
+ * after a configurable latency with deterministic content, see {@code jhapy.load-test}. New HTTP
+ * sessions are authenticated from a request header instead of the Keycloak login flow.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+@Configuration
+@Profile(LoadTestConfiguration.SPRING_PROFILE_LOAD_TEST)
+public class LoadTestConfiguration {
+
+  public static final String SPRING_PROFILE_LOAD_TEST = "loadtest";
+
+  @Bean
+  public static StubClientsRegistrar stubClientsRegistrar() {
+    return new StubClientsRegistrar();
+  }
+
+  @Bean
+  public FilterRegistrationBean<LoadTestAuthenticationFilter> loadTestAuthenticationFilter(
+      AppProperties appProperties) {
+    var registration = new FilterRegistrationBean<>(
+        new LoadTestAuthenticationFilter(appProperties.getLoadTest()));
+    // Before the Spring Security filter chain, which loads the context from the HTTP session
+    registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+    return registration;
+  }
+}
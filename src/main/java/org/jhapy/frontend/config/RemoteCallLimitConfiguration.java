@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jhapy.frontend.aop.limit.RemoteCallLimitAspect;
+import org.jhapy.frontend.client.limit.RemoteCallLimiters;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per remote service bulkheads and adaptive concurrency limits.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+@Configuration
+@EnableAspectJAutoProxy
+public class RemoteCallLimitConfiguration {
+
+  @Bean
+  public RemoteCallLimiters remoteCallLimiters(AppProperties appProperties,
+      MeterRegistry meterRegistry, Environment environment) {
+    return new RemoteCallLimiters(appProperties.getRemoteCalls(), meterRegistry, environment);
+  }
+
+  @Bean
+  public RemoteCallLimitAspect remoteCallLimitAspect(RemoteCallLimiters remoteCallLimiters) {
+    return new RemoteCallLimitAspect(remoteCallLimiters);
+  }
+}
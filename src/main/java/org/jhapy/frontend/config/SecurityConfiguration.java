@@ -27,6 +27,7 @@ import java.util.List;
 import org.jhapy.commons.security.oauth2.AudienceValidator;
 import org.jhapy.commons.security.oauth2.JwtGrantedAuthorityConverter;
 import org.jhapy.commons.utils.HasLogger;
+import org.jhapy.frontend.client.AccessTokenCache;
 import org.jhapy.frontend.client.security.SecurityRoleService;
 import org.jhapy.frontend.client.security.keycloak.KeycloakLogoutHandler;
 import org.jhapy.frontend.client.security.keycloak.KeycloakOauth2UserService;
@@ -235,8 +236,8 @@ public class SecurityConfiguration extends VaadinSecurityConfigurerAdapter imple
   }
 
   @Bean
-  public KeycloakLogoutHandler keycloakLogoutHandler() {
-    return new KeycloakLogoutHandler(new RestTemplate());
+  public KeycloakLogoutHandler keycloakLogoutHandler(AccessTokenCache accessTokenCache) {
+    return new KeycloakLogoutHandler(new RestTemplate(), accessTokenCache);
   }
 
   @Bean
@@ -1,18 +1,23 @@
 package org.jhapy.frontend.config;
 
+import com.hazelcast.cluster.Member;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicates;
 import com.vaadin.flow.server.ServiceInitEvent;
 import com.vaadin.flow.server.VaadinServiceInitListener;
 import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.concurrent.ConcurrentMap;
+import java.util.Iterator;
 import org.jhapy.commons.security.SecurityUtils;
 import org.jhapy.commons.utils.HasLogger;
 import org.jhapy.dto.messageQueue.EndSession;
 import org.jhapy.frontend.client.audit.AuditServices;
+import org.jhapy.frontend.filter.ExpireSessionEntryProcessor;
 import org.jhapy.frontend.utils.SessionInfo;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
 
 /**
  * @author Alexandre Clavaud.
@@ -23,14 +28,18 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 @EnableScheduling
 public class SessionManager implements VaadinServiceInitListener, HasLogger {
 
+  public static final String USER_SESSIONS_MAP = "userSessions";
+
   private final HazelcastInstance hazelcastInstance;
+  private final AppProperties appProperties;
 
-  public SessionManager(HazelcastInstance hazelcastInstance) {
+  public SessionManager(HazelcastInstance hazelcastInstance, AppProperties appProperties) {
     this.hazelcastInstance = hazelcastInstance;
+    this.appProperties = appProperties;
   }
 
-  private ConcurrentMap<String, SessionInfo> retrieveMap() {
-    return hazelcastInstance.getMap("userSessions");
+  private IMap<String, SessionInfo> retrieveMap() {
+    return hazelcastInstance.getMap(USER_SESSIONS_MAP);
   }
 
   @Override
@@ -49,22 +58,46 @@ public class SessionManager implements VaadinServiceInitListener, HasLogger {
         trace(loggerPrefix, "End remote session");
 
         var sessionId = e.getSession().getSession().getId();
-        retrieveMap().remove(sessionId);
-
-        AuditServices.getAuditServiceQueue()
-            .endSession(new EndSession(sessionId, Instant.now()));
+        // Already ended when removed by the dead sessions cleanup
+        if (retrieveMap().remove(sessionId) != null) {
+          AuditServices.getAuditServiceQueue()
+              .endSession(new EndSession(sessionId, Instant.now()));
+        }
       }
     });
   }
 
-  // @Scheduled(fixedDelay = 60 * 1000)
+  /**
+   * Ends the sessions without contact since the configured timeout. Only run by the oldest member
+   * of the cluster, the expired sessions are found through the <code>lastContact</code> index and
+   * removed on their owning member so the cost follows the expired sessions, not all of them.
+   */
+  @Scheduled(fixedDelayString = "${jhapy.session-tracking.cleanup-interval-millis:60000}")
   public void removeDeadSessions() {
     var loggerPrefix = getLoggerPrefix("removedDeadSessions");
-    retrieveMap().forEach((s, sessionInfo) -> {
-      if (sessionInfo.getLastContact().plusMinutes(2).isBefore(LocalDateTime.now())) {
-        info(loggerPrefix, "Remove dead session : {0}", sessionInfo);
-        retrieveMap().remove(s);
-      }
-    });
+    if (!isOldestMember()) {
+      return;
+    }
+    var cutoff = LocalDateTime.now()
+        .minusSeconds(appProperties.getSessionTracking().getDeadSessionTimeoutSeconds());
+    try {
+      var removed = retrieveMap().executeOnEntries(new ExpireSessionEntryProcessor(cutoff),
+          Predicates.lessThan("lastContact", cutoff));
+      removed.forEach((sessionId, sessionInfo) -> {
+        if (sessionInfo != null) {
+          info(loggerPrefix, "Remove dead session : {0}", sessionInfo);
+          AuditServices.getAuditServiceQueue()
+              .endSession(new EndSession(sessionId, Instant.now()));
+        }
+      });
+    } catch (Exception e) {
+      error(loggerPrefix, e, "Unexpected error while removing dead sessions : {0}",
+          e.getMessage());
+    }
+  }
+
+  protected boolean isOldestMember() {
+    Iterator<Member> members = hazelcastInstance.getCluster().getMembers().iterator();
+    return members.hasNext() && members.next().localMember();
   }
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jhapy.frontend.config;
+
+import org.jhapy.frontend.aop.fallback.LastKnownGoodAspect;
+import org.jhapy.frontend.client.fallback.LastKnownGoodStore;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+/**
+ * Serve the last known good result of read operations while a remote service is unavailable.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+@Configuration
+@EnableAspectJAutoProxy
+public class StaleFallbackConfiguration {
+
+  @Bean
+  public LastKnownGoodStore lastKnownGoodStore(AppProperties appProperties) {
+    return new LastKnownGoodStore(appProperties.getRemoteCalls().getStaleFallback());
+  }
+
+  @Bean
+  public LastKnownGoodAspect lastKnownGoodAspect(LastKnownGoodStore lastKnownGoodStore) {
+    return new LastKnownGoodAspect(lastKnownGoodStore);
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.config.cache;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+import org.jhapy.commons.utils.HasLogger;
+import org.jhapy.frontend.config.AppProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.AnnotationCacheOperationSource;
+import org.springframework.cache.interceptor.CacheOperation;
+import org.springframework.cache.interceptor.CacheableOperation;
+import org.springframework.context.ApplicationListener;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Warns at startup for each cache filled by a {@code @Cacheable} of the application beans
+ * without an entry in {@code jhapy.caches.policies}, such a cache falls back to the Hazelcast
+ * <code>default</code> map, unbounded and without expiry.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class CachePolicyValidator implements ApplicationListener<ApplicationReadyEvent>,
+    HasLogger {
+
+  private static final String APPLICATION_PACKAGE = "org.jhapy.";
+
+  private final AppProperties.Caches caches;
+  private final AnnotationCacheOperationSource cacheOperationSource =
+      new AnnotationCacheOperationSource();
+
+  public CachePolicyValidator(AppProperties.Caches caches) {
+    this.caches = caches;
+  }
+
+  @Override
+  public void onApplicationEvent(ApplicationReadyEvent event) {
+    var loggerPrefix = getLoggerPrefix("onApplicationEvent");
+    if (!Boolean.TRUE.equals(caches.getWarnOnMissingPolicy())) {
+      return;
+    }
+    var beanFactory = event.getApplicationContext().getBeanFactory();
+    Set<String> cacheNames = new TreeSet<>();
+    for (String beanName : beanFactory.getBeanDefinitionNames()) {
+      Class<?> beanType = beanFactory.getType(beanName, false);
+      if (beanType != null && beanType.getName().startsWith(APPLICATION_PACKAGE)) {
+        collectCacheableNames(ClassUtils.getUserClass(beanType), cacheNames);
+      }
+    }
+    cacheNames.removeAll(caches.getPolicies().keySet());
+    cacheNames.forEach(cacheName -> warn(loggerPrefix,
+        "No policy for cache ''{0}'', add it under jhapy.caches.policies", cacheName));
+  }
+
+  private void collectCacheableNames(Class<?> beanType, Set<String> cacheNames) {
+    for (Method method : ReflectionUtils.getUniqueDeclaredMethods(beanType,
+        ReflectionUtils.USER_DECLARED_METHODS)) {
+      Collection<CacheOperation> cacheOperations = cacheOperationSource
+          .getCacheOperations(method, beanType);
+      if (cacheOperations != null) {
+        cacheOperations.stream().filter(CacheableOperation.class::isInstance)
+            .forEach(cacheOperation -> cacheNames.addAll(cacheOperation.getCacheNames()));
+      }
+    }
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.config.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded in-process store of a {@link TwoTierCache}, least recently used first out, each entry
+ * expiring after the time to live.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+class LocalCacheStore {
+
+  private final long timeToLiveNanos;
+  private final Map<Object, Entry> entries;
+
+  LocalCacheStore(int maxEntries, long timeToLiveSeconds) {
+    this.timeToLiveNanos = timeToLiveSeconds * 1_000_000_000L;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  synchronized Object get(Object key) {
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (System.nanoTime() - entry.expiresAt > 0) {
+      entries.remove(key);
+      return null;
+    }
+    return entry.value;
+  }
+
+  synchronized void put(Object key, Object value) {
+    entries.put(key, new Entry(value, System.nanoTime() + timeToLiveNanos));
+  }
+
+  synchronized void evict(Object key) {
+    entries.remove(key);
+  }
+
+  synchronized void clear() {
+    entries.clear();
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  private static final class Entry {
+
+    private final Object value;
+    private final long expiresAt;
+
+    private Entry(Object value, long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.config.cache;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import org.jhapy.commons.utils.HasLogger;
+import org.jhapy.dto.serviceQuery.ServiceResult;
+import org.jhapy.frontend.config.hazelcast.ServiceResultSerializer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+/**
+ * Spring cache reading a local store first, then the Hazelcast cache.
+ *
+ * <p>The local store keeps the service results serialized with the {@link
+ * ServiceResultSerializer} also registered in Hazelcast, every read gets its own copy as from
+ * Hazelcast, only the network hop is saved. Other values are only kept by Hazelcast. Evictions go
+ * to Hazelcast and are broadcast so the other nodes drop their local entry.</p>
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class TwoTierCache implements Cache, HasLogger {
+
+  /**
+   * Local form of a cached null, the serialization of null being null
+   */
+  private static final Object NULL_VALUE = new Object();
+
+  private final Cache l2;
+  private final LocalCacheStore l1;
+  private final ServiceResultSerializer serializer;
+  private final TwoTierCacheManager cacheManager;
+
+  private final LongAdder l1Hits = new LongAdder();
+  private final LongAdder l2Hits = new LongAdder();
+  private final LongAdder l2Misses = new LongAdder();
+
+  TwoTierCache(Cache l2, LocalCacheStore l1, ServiceResultSerializer serializer,
+      TwoTierCacheManager cacheManager) {
+    this.l2 = l2;
+    this.l1 = l1;
+    this.serializer = serializer;
+    this.cacheManager = cacheManager;
+  }
+
+  @Override
+  public String getName() {
+    return l2.getName();
+  }
+
+  @Override
+  public Object getNativeCache() {
+    return l2.getNativeCache();
+  }
+
+  @Override
+  public ValueWrapper get(Object key) {
+    Object local = l1.get(key);
+    if (local == NULL_VALUE) {
+      l1Hits.increment();
+      return new SimpleValueWrapper(null);
+    }
+    if (local != null) {
+      try {
+        var value = serializer.fromBytes((byte[]) local);
+        l1Hits.increment();
+        return new SimpleValueWrapper(value);
+      } catch (IOException | RuntimeException e) {
+        // Read from Hazelcast instead
+        warn(getLoggerPrefix("get", getName()), "Cannot read the local entry : {0}",
+            e.getMessage());
+        l1.evict(key);
+      }
+    }
+    ValueWrapper value = l2.get(key);
+    if (value != null) {
+      l2Hits.increment();
+      putLocal(key, value.get());
+    } else {
+      l2Misses.increment();
+    }
+    return value;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Class<T> type) {
+    ValueWrapper value = get(key);
+    if (value == null || value.get() == null) {
+      return null;
+    }
+    if (type != null && !type.isInstance(value.get())) {
+      throw new IllegalStateException(
+          "Cached value is not of required type [" + type.getName() + "]: " + value.get());
+    }
+    return (T) value.get();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, Callable<T> valueLoader) {
+    ValueWrapper value = get(key);
+    if (value != null) {
+      return (T) value.get();
+    }
+    T loaded = l2.get(key, valueLoader);
+    putLocal(key, loaded);
+    return loaded;
+  }
+
+  /**
+   * Fills the cache after a miss. Not broadcast : the other nodes have no local entry for a key
+   * missing in Hazelcast, except for the few seconds of their own time to live.
+   */
+  @Override
+  public void put(Object key, Object value) {
+    l2.put(key, value);
+    putLocal(key, value);
+  }
+
+  @Override
+  public ValueWrapper putIfAbsent(Object key, Object value) {
+    ValueWrapper existing = l2.putIfAbsent(key, value);
+    l1.evict(key);
+    return existing;
+  }
+
+  @Override
+  public void evict(Object key) {
+    l2.evict(key);
+    l1.evict(key);
+    cacheManager.publish(getName(), key);
+  }
+
+  @Override
+  public boolean evictIfPresent(Object key) {
+    boolean present = l2.evictIfPresent(key);
+    l1.evict(key);
+    cacheManager.publish(getName(), key);
+    return present;
+  }
+
+  @Override
+  public void clear() {
+    l2.clear();
+    l1.clear();
+    cacheManager.publish(getName(), null);
+  }
+
+  @Override
+  public boolean invalidate() {
+    boolean notEmpty = l2.invalidate();
+    l1.clear();
+    cacheManager.publish(getName(), null);
+    return notEmpty;
+  }
+
+  private void putLocal(Object key, Object value) {
+    if (value == null) {
+      l1.put(key, NULL_VALUE);
+    } else if (value instanceof ServiceResult) {
+      try {
+        l1.put(key, serializer.toBytes((ServiceResult<?>) value));
+      } catch (IOException e) {
+        warn(getLoggerPrefix("putLocal", getName()), "Cannot keep the entry locally : {0}",
+            e.getMessage());
+        l1.evict(key);
+      }
+    } else {
+      l1.evict(key);
+    }
+  }
+
+  /**
+   * Drops the local entry only, on reception of another node invalidation.
+   */
+  void evictLocal(Object key) {
+    if (key == null) {
+      l1.clear();
+    } else {
+      l1.evict(key);
+    }
+  }
+
+  long getL1Hits() {
+    return l1Hits.sum();
+  }
+
+  long getL2Hits() {
+    return l2Hits.sum();
+  }
+
+  long getL2Misses() {
+    return l2Misses.sum();
+  }
+
+  long getL1Size() {
+    return l1.size();
+  }
+
+  /**
+   * @return hits of the local store over all the reads
+   */
+  double getL1HitRatio() {
+    long hits = getL1Hits();
+    long total = hits + getL2Hits() + getL2Misses();
+    return total == 0 ? 0 : (double) hits / total;
+  }
+
+  /**
+   * @return hits of Hazelcast over the reads missing the local store
+   */
+  double getL2HitRatio() {
+    long hits = getL2Hits();
+    long total = hits + getL2Misses();
+    return total == 0 ? 0 : (double) hits / total;
+  }
+}
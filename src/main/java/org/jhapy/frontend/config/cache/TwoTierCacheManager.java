@@ -0,0 +1,176 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.config.cache;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.MessageListener;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.jhapy.commons.utils.HasLogger;
+import org.jhapy.frontend.config.AppProperties;
+import org.jhapy.frontend.config.hazelcast.ServiceResultSerializer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Cache manager keeping a bounded local copy of the Hazelcast caches, so the hot entries are read
+ * without a network hop.
+ *
+ * <p>Evictions go to Hazelcast, then are published on a Hazelcast topic : every other node drops
+ * its local copy of the key. The local time to live bounds the staleness when a
+ * message is lost.</p>
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class TwoTierCacheManager implements CacheManager,
+    MessageListener<TwoTierCacheInvalidation>, HasLogger {
+
+  public static final String TOPIC_NAME = "twoTierCacheInvalidation";
+
+  public static final String GETS = "jhapy.cache.gets";
+  public static final String HIT_RATIO = "jhapy.cache.hit.ratio";
+  public static final String LOCAL_SIZE = "jhapy.cache.local.size";
+
+  private final CacheManager l2CacheManager;
+  private final HazelcastInstance hazelcastInstance;
+  private final AppProperties.LocalCache localCache;
+  private final MeterRegistry meterRegistry;
+
+  private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+  private final ServiceResultSerializer serializer = new ServiceResultSerializer();
+
+  private ITopic<TwoTierCacheInvalidation> topic;
+  private UUID listenerId;
+
+  public TwoTierCacheManager(CacheManager l2CacheManager, HazelcastInstance hazelcastInstance,
+      AppProperties.LocalCache localCache, MeterRegistry meterRegistry) {
+    this.l2CacheManager = l2CacheManager;
+    this.hazelcastInstance = hazelcastInstance;
+    this.localCache = localCache;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @PostConstruct
+  public void postConstruct() {
+    topic = hazelcastInstance.getTopic(TOPIC_NAME);
+    listenerId = topic.addMessageListener(this);
+  }
+
+  @PreDestroy
+  public void preDestroy() {
+    var loggerPrefix = getLoggerPrefix("preDestroy");
+    try {
+      topic.removeMessageListener(listenerId);
+    } catch (RuntimeException e) {
+      // Hazelcast may already be shut down
+      debug(loggerPrefix, "Cannot remove the listener : {0}", e.getMessage());
+    }
+  }
+
+  @Override
+  public Cache getCache(String name) {
+    Cache cache = caches.get(name);
+    if (cache != null) {
+      return cache;
+    }
+    Cache l2 = l2CacheManager.getCache(name);
+    if (l2 == null) {
+      return null;
+    }
+    return caches.computeIfAbsent(name, cacheName -> createCache(l2));
+  }
+
+  @Override
+  public Collection<String> getCacheNames() {
+    return l2CacheManager.getCacheNames();
+  }
+
+  @Override
+  public void onMessage(Message<TwoTierCacheInvalidation> message) {
+    if (message.getPublishingMember() != null && message.getPublishingMember().localMember()) {
+      return;
+    }
+    var invalidation = message.getMessageObject();
+    Cache cache = caches.get(invalidation.getCacheName());
+    if (cache instanceof TwoTierCache) {
+      ((TwoTierCache) cache).evictLocal(invalidation.getKey());
+    }
+  }
+
+  void publish(String cacheName, Object key) {
+    var loggerPrefix = getLoggerPrefix("publish");
+    try {
+      topic.publish(new TwoTierCacheInvalidation(cacheName, key));
+    } catch (RuntimeException e) {
+      // The other nodes catch up when their local entry expires
+      warn(loggerPrefix, "Cannot publish the invalidation of {0} : {1}", cacheName,
+          e.getMessage());
+    }
+  }
+
+  private Cache createCache(Cache l2) {
+    long timeToLiveSeconds = localCache.getCacheTimeToLiveSeconds()
+        .getOrDefault(l2.getName(), localCache.getTimeToLiveSeconds());
+    if (timeToLiveSeconds <= 0) {
+      return l2;
+    }
+    var cache = new TwoTierCache(l2,
+        new LocalCacheStore(localCache.getMaxEntries(), timeToLiveSeconds), serializer, this);
+    registerMetrics(cache);
+    return cache;
+  }
+
+  private void registerMetrics(TwoTierCache cache) {
+    FunctionCounter.builder(GETS, cache, TwoTierCache::getL1Hits)
+        .description("Cache reads by tier and result")
+        .tags("cache", cache.getName(), "tier", "l1", "result", "hit")
+        .register(meterRegistry);
+    FunctionCounter.builder(GETS, cache, TwoTierCache::getL2Hits)
+        .description("Cache reads by tier and result")
+        .tags("cache", cache.getName(), "tier", "l2", "result", "hit")
+        .register(meterRegistry);
+    FunctionCounter.builder(GETS, cache, TwoTierCache::getL2Misses)
+        .description("Cache reads by tier and result")
+        .tags("cache", cache.getName(), "tier", "l2", "result", "miss")
+        .register(meterRegistry);
+    Gauge.builder(HIT_RATIO, cache, TwoTierCache::getL1HitRatio)
+        .description("Hit ratio of the cache tier")
+        .tags("cache", cache.getName(), "tier", "l1")
+        .register(meterRegistry);
+    Gauge.builder(HIT_RATIO, cache, TwoTierCache::getL2HitRatio)
+        .description("Hit ratio of the cache tier")
+        .tags("cache", cache.getName(), "tier", "l2")
+        .register(meterRegistry);
+    Gauge.builder(LOCAL_SIZE, cache, TwoTierCache::getL1Size)
+        .description("Entries in the local cache tier")
+        .tag("cache", cache.getName())
+        .register(meterRegistry);
+  }
+}
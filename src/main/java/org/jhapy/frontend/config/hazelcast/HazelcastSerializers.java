@@ -0,0 +1,51 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.config.hazelcast;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.config.SerializerConfig;
+import org.jhapy.dto.serviceQuery.ServiceResult;
+import org.jhapy.frontend.utils.SessionInfo;
+
+/**
+ * Registers the compact serializers of the values stored in Hazelcast, the user sessions and the
+ * cached <code>ServiceResult</code>, in place of the default Java serialization.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public final class HazelcastSerializers {
+
+  public static final int SESSION_INFO_TYPE_ID = 1001;
+  public static final int SERVICE_RESULT_TYPE_ID = 1002;
+
+  private HazelcastSerializers() {
+  }
+
+  public static SerializationConfig register(SerializationConfig serializationConfig) {
+    serializationConfig.addSerializerConfig(new SerializerConfig()
+        .setTypeClass(SessionInfo.class)
+        .setImplementation(new SessionInfoSerializer()));
+    serializationConfig.addSerializerConfig(new SerializerConfig()
+        .setTypeClass(ServiceResult.class)
+        .setImplementation(new ServiceResultSerializer()));
+    return serializationConfig;
+  }
+}
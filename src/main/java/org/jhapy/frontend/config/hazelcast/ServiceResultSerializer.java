@@ -0,0 +1,132 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.config.hazelcast;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import org.jhapy.commons.utils.HasLogger;
+import org.jhapy.dto.serviceQuery.ServiceResult;
+
+/**
+ * Writes the cached <code>ServiceResult</code> as Smile. The concrete types of the generic
+ * content (pages, DTOs, collections) are kept as type ids, the repeated property names and short
+ * values are written once and referenced afterwards. Final types are typed too : a {@code Long}
+ * content would come back as an {@code Integer} otherwise.
+ *
+ * <p>Only the jHapy DTOs and the JDK value types are accepted as polymorphic types. A value
+ * Jackson cannot write falls back to the Java serialization, flagged by the first byte.</p>
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class ServiceResultSerializer implements StreamSerializer<ServiceResult>, HasLogger {
+
+  private static final byte FORMAT_SMILE = 1;
+  private static final byte FORMAT_JAVA = 2;
+
+  private final ObjectMapper mapper;
+
+  public ServiceResultSerializer() {
+    var smileFactory = new SmileFactory();
+    smileFactory.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+    mapper = new ObjectMapper(smileFactory);
+    mapper.registerModule(new JavaTimeModule());
+    mapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+    mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    mapper.activateDefaultTyping(BasicPolymorphicTypeValidator.builder()
+            .allowIfSubType("org.jhapy.")
+            .allowIfSubType("java.util.")
+            .allowIfSubType("java.time.")
+            .allowIfSubType("java.lang.")
+            .allowIfSubType("java.math.")
+            .allowIfSubTypeIsArray()
+            .build(), ObjectMapper.DefaultTyping.EVERYTHING,
+        JsonTypeInfo.As.PROPERTY);
+  }
+
+  @Override
+  public int getTypeId() {
+    return HazelcastSerializers.SERVICE_RESULT_TYPE_ID;
+  }
+
+  @Override
+  public void write(ObjectDataOutput out, ServiceResult serviceResult) throws IOException {
+    out.writeByteArray(toBytes(serviceResult));
+  }
+
+  @Override
+  public ServiceResult read(ObjectDataInput in) throws IOException {
+    return fromBytes(in.readByteArray());
+  }
+
+  /**
+   * Also used outside of Hazelcast, by the local cache tier.
+   *
+   * @return the format byte followed by the serialized result
+   */
+  public byte[] toBytes(ServiceResult serviceResult) throws IOException {
+    var outputStream = new ByteArrayOutputStream();
+    try {
+      outputStream.write(FORMAT_SMILE);
+      mapper.writeValue(outputStream, serviceResult);
+    } catch (JsonProcessingException e) {
+      warn(getLoggerPrefix("toBytes"), "Cannot write {0} as Smile, use Java serialization : {1}",
+          serviceResult.getClass().getName(), e.getMessage());
+      outputStream.reset();
+      outputStream.write(FORMAT_JAVA);
+      try (var objectOutputStream = new ObjectOutputStream(outputStream)) {
+        objectOutputStream.writeObject(serviceResult);
+      }
+    }
+    return outputStream.toByteArray();
+  }
+
+  public ServiceResult fromBytes(byte[] content) throws IOException {
+    byte format = content[0];
+    if (format == FORMAT_SMILE) {
+      return (ServiceResult) mapper.readValue(content, 1, content.length - 1, Object.class);
+    } else if (format == FORMAT_JAVA) {
+      try (var objectInputStream = new ObjectInputStream(
+          new ByteArrayInputStream(content, 1, content.length - 1))) {
+        return (ServiceResult) objectInputStream.readObject();
+      } catch (ClassNotFoundException e) {
+        throw new HazelcastSerializationException(e);
+      }
+    }
+    throw new HazelcastSerializationException(
+        "Unsupported ServiceResult serialization format : " + format);
+  }
+}
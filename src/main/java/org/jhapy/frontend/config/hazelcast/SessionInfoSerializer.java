@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.config.hazelcast;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import org.jhapy.frontend.utils.SessionInfo;
+
+/**
+ * Writes the <code>SessionInfo</code> fields one after the other, dates as epoch seconds and
+ * nanos, without the class descriptor and field names of the Java serialization.
+ *
+ * <p>The first byte is the layout version, bump it and keep reading the previous one when a
+ * field is added so members of different versions can share the map during a rolling
+ * upgrade.</p>
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class SessionInfoSerializer implements StreamSerializer<SessionInfo> {
+
+  private static final byte VERSION = 1;
+
+  @Override
+  public int getTypeId() {
+    return HazelcastSerializers.SESSION_INFO_TYPE_ID;
+  }
+
+  @Override
+  public void write(ObjectDataOutput out, SessionInfo sessionInfo) throws IOException {
+    out.writeByte(VERSION);
+    out.writeUTF(sessionInfo.getUsername());
+    out.writeUTF(sessionInfo.getSourceIp());
+    out.writeUTF(sessionInfo.getJSessionId());
+    writeDateTime(out, sessionInfo.getLoginDateTime());
+    writeDateTime(out, sessionInfo.getLogoutDateTime());
+    writeDateTime(out, sessionInfo.getLastContact());
+  }
+
+  @Override
+  public SessionInfo read(ObjectDataInput in) throws IOException {
+    byte version = in.readByte();
+    if (version != VERSION) {
+      throw new HazelcastSerializationException(
+          "Unsupported SessionInfo serialization version : " + version);
+    }
+    var sessionInfo = new SessionInfo();
+    sessionInfo.setUsername(in.readUTF());
+    sessionInfo.setSourceIp(in.readUTF());
+    sessionInfo.setJSessionId(in.readUTF());
+    sessionInfo.setLoginDateTime(readDateTime(in));
+    sessionInfo.setLogoutDateTime(readDateTime(in));
+    sessionInfo.setLastContact(readDateTime(in));
+    return sessionInfo;
+  }
+
+  private static void writeDateTime(ObjectDataOutput out, LocalDateTime dateTime)
+      throws IOException {
+    out.writeBoolean(dateTime != null);
+    if (dateTime != null) {
+      out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+      out.writeInt(dateTime.getNano());
+    }
+  }
+
+  private static LocalDateTime readDateTime(ObjectDataInput in) throws IOException {
+    if (!in.readBoolean()) {
+      return null;
+    }
+    long epochSecond = in.readLong();
+    return LocalDateTime.ofEpochSecond(epochSecond, in.readInt(), ZoneOffset.UTC);
+  }
+}
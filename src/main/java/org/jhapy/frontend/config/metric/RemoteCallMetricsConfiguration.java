@@ -0,0 +1,66 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.config.metric;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import org.jhapy.frontend.aop.metrics.RemoteCallMetricsAspect;
+import org.jhapy.frontend.client.metrics.PayloadSizeRequestInterceptor;
+import org.jhapy.frontend.client.metrics.RemoteCallMetrics;
+import org.jhapy.frontend.config.AppProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+/**
+ * Latency, outcome and payload size of the remote calls, circuit breaker transitions.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+@Configuration
+@EnableAspectJAutoProxy
+public class RemoteCallMetricsConfiguration {
+
+  @Bean
+  public RemoteCallMetrics remoteCallMetrics(MeterRegistry meterRegistry,
+      AppProperties appProperties, ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistry) {
+    // The hedging delay is read from the timers
+    var hedging = appProperties.getRemoteCalls().getHedging();
+    var remoteCallMetrics = new RemoteCallMetrics(meterRegistry,
+        appProperties.getRemoteCalls().getMetrics(),
+        Boolean.TRUE.equals(hedging.getEnabled()) ? List.of(hedging.getPercentile()) : List.of());
+    circuitBreakerRegistry.ifAvailable(remoteCallMetrics::bindCircuitBreakers);
+    return remoteCallMetrics;
+  }
+
+  @Bean
+  public RemoteCallMetricsAspect remoteCallMetricsAspect(RemoteCallMetrics remoteCallMetrics) {
+    return new RemoteCallMetricsAspect(remoteCallMetrics);
+  }
+
+  @Bean
+  public PayloadSizeRequestInterceptor payloadSizeRequestInterceptor(
+      RemoteCallMetrics remoteCallMetrics) {
+    return new PayloadSizeRequestInterceptor(remoteCallMetrics);
+  }
+}
@@ -22,15 +22,10 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
-import org.apache.tika.Tika;
-import org.apache.tika.config.TikaConfig;
-import org.apache.tika.mime.MimeType;
-import org.apache.tika.mime.MimeTypeException;
 import org.jhapy.dto.domain.security.SecurityKeycloakGroup;
 import org.jhapy.dto.domain.security.SecurityKeycloakRole;
 import org.jhapy.dto.domain.security.SecurityKeycloakUser;
-import org.jhapy.dto.utils.StoredFile;
+import org.jhapy.frontend.utils.PictureUtils;
 import org.keycloak.representations.idm.GroupRepresentation;
 import org.keycloak.representations.idm.RoleRepresentation;
 import org.keycloak.representations.idm.UserRepresentation;
@@ -111,23 +106,9 @@ public abstract class SecurityConverter {
       if (pictureStr.startsWith("http")) {
         dto.getAttributes().put("picture", pictureStr);
       } else {
-        byte[] pictureDecoded = java.util.Base64.getDecoder().decode(pictureStr);
-        try {
-          MimeType mimeType = TikaConfig.getDefaultConfig().getMimeRepository()
-              .forName((new Tika()).detect(pictureDecoded));
-          String fileExt = mimeType.getExtension();
-
-          StoredFile storedFile = new StoredFile();
-          storedFile.setContent(pictureDecoded);
-          storedFile.setOrginalContent(pictureDecoded);
-          storedFile.setId(UUID.randomUUID().toString());
-          storedFile.setFilename(storedFile.getId() + fileExt);
-          storedFile.setFilesize((long) pictureDecoded.length);
-          storedFile.setMimeType(mimeType.toString());
-          dto.setPicture(storedFile);
-        } catch (MimeTypeException e) {
-          e.printStackTrace();
-        }
+        // Users are converted by pages and cached : only a thumbnail, the picture is read with
+        // KeycloakClient.getUserPicture when displayed
+        dto.setPicture(PictureUtils.thumbnailFromBase64(pictureStr));
       }
     }
     Objects.requireNonNull(domain.getAttributes())
@@ -32,6 +32,7 @@ import com.vaadin.flow.component.orderedlayout.FlexLayout.FlexDirection;
 import com.vaadin.flow.component.orderedlayout.FlexLayout.FlexWrap;
 import com.vaadin.flow.component.upload.Upload;
 import com.vaadin.flow.component.upload.receivers.MemoryBuffer;
+import com.vaadin.flow.function.SerializableFunction;
 import com.vaadin.flow.server.StreamResource;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -50,6 +51,7 @@ import org.jhapy.frontend.component.cropperjs.model.ViewMode;
 import org.jhapy.frontend.components.AbstractDialog;
 import org.jhapy.frontend.components.FlexBoxLayout;
 import org.jhapy.frontend.utils.AppConst;
+import org.jhapy.frontend.utils.PictureUtils;
 import org.jhapy.frontend.utils.UIUtils;
 
 /**
@@ -65,6 +67,7 @@ public class ImageField extends CustomField<StoredFile> implements HasStyle, Ser
   private AbstractDialog uploadDialog;
   private CropperJs cropperJs;
   private int nbAddedFile = 0;
+  private SerializableFunction<StoredFile, StoredFile> fullPictureLoader;
 
   public ImageField() {
     this(null);
@@ -93,6 +96,10 @@ public class ImageField extends CustomField<StoredFile> implements HasStyle, Ser
   private void addOrUpdateImage() {
     var loggerPrefix = getLoggerPrefix("addOrUpdateImage");
 
+    if (PictureUtils.isThumbnail(storedFile)) {
+      storedFile = getEditablePicture(storedFile);
+    }
+
     MemoryBuffer buffer = new MemoryBuffer();
     Upload upload = new Upload(buffer);
     upload.setAcceptedFileTypes("image/*");
@@ -289,6 +296,34 @@ public class ImageField extends CustomField<StoredFile> implements HasStyle, Ser
     uploadDialog.open();
   }
 
+  /**
+   * Loads the full picture when the value is only a thumbnail (see {@link PictureUtils}), the
+   * thumbnail is edited otherwise.
+   */
+  public void setFullPictureLoader(SerializableFunction<StoredFile, StoredFile> fullPictureLoader) {
+    this.fullPictureLoader = fullPictureLoader;
+  }
+
+  /**
+   * The thumbnails are flagged to be skipped when saved : edit the full picture, or an unflagged
+   * copy of the thumbnail.
+   */
+  protected StoredFile getEditablePicture(StoredFile thumbnail) {
+    StoredFile fullPicture = fullPictureLoader == null ? null : fullPictureLoader.apply(thumbnail);
+    if (fullPicture != null && fullPicture.getContent() != null) {
+      return fullPicture;
+    }
+    StoredFile copy = new StoredFile();
+    copy.setId(thumbnail.getId());
+    copy.setFilename(thumbnail.getFilename());
+    copy.setMimeType(thumbnail.getMimeType());
+    copy.setContent(thumbnail.getContent());
+    copy.setFilesize(thumbnail.getFilesize());
+    copy.getMetadata().putAll(thumbnail.getMetadata());
+    copy.getMetadata().remove(PictureUtils.THUMBNAIL_METADATA);
+    return copy;
+  }
+
   @Override
   protected StoredFile generateModelValue() {
     return storedFile;
@@ -372,7 +407,7 @@ public class ImageField extends CustomField<StoredFile> implements HasStyle, Ser
 
   @Override
   protected void setPresentationValue(StoredFile newPresentationValue) {
-    if (newPresentationValue.getContent() != null) {
+    if (newPresentationValue != null && newPresentationValue.getContent() != null) {
       storedFile = newPresentationValue;
 
       image.setSrc(new StreamResource(newPresentationValue.getFilename(),
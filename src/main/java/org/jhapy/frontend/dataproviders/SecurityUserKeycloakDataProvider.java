@@ -29,6 +29,7 @@ import org.jhapy.dto.serviceQuery.generic.FindAnyMatchingQuery;
 import org.jhapy.dto.utils.Page;
 import org.jhapy.dto.utils.Pageable;
 import org.jhapy.frontend.client.security.SecurityServices;
+import org.jhapy.frontend.client.security.keycloak.UserProjection;
 import org.jhapy.frontend.utils.AppConst;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -45,6 +46,11 @@ public class SecurityUserKeycloakDataProvider extends
 
   protected boolean allowEmptyFilter = false;
 
+  /**
+   * The users grid shows the roles and groups, not the effective roles.
+   */
+  protected UserProjection projection = UserProjection.MEMBERSHIPS;
+
   @Autowired
   public SecurityUserKeycloakDataProvider() {
     super(AppConst.DEFAULT_SORT_DIRECTION,
@@ -60,7 +66,8 @@ public class SecurityUserKeycloakDataProvider extends
         filter.getFilter() != null ? filter.getFilter().replaceAll("\\*", "") : null;
 
     Page<SecurityKeycloakUser> page = SecurityServices.getKeycloakClient().findUsers(
-        new FindAnyMatchingQuery(filterStr, filter.isShowInactive(), pageable)).getData();
+        new FindAnyMatchingQuery(filterStr, filter.isShowInactive(), pageable), projection)
+        .getData();
     if (getPageObserver() != null) {
       getPageObserver().accept(page);
     }
@@ -90,4 +97,12 @@ public class SecurityUserKeycloakDataProvider extends
   public void setAllowEmptyFilter(boolean allowEmptyFilter) {
     this.allowEmptyFilter = allowEmptyFilter;
   }
+
+  public UserProjection getProjection() {
+    return projection;
+  }
+
+  public void setProjection(UserProjection projection) {
+    this.projection = projection;
+  }
 }
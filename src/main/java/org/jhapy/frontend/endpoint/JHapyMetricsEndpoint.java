@@ -34,6 +34,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import org.jhapy.frontend.client.metrics.RemoteCallMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
@@ -246,6 +247,30 @@ public class JHapyMetricsEndpoint {
       resultsHttpPerUri.put(uri, resultsPerUri);
     });
 
+    // Remote calls, one entry per service operation and outcome
+    Collection<Timer> remoteCallTimers = this.meterRegistry.find(RemoteCallMetrics.CALLS)
+        .timers();
+    remoteCallTimers.forEach(timer -> {
+      if (timer.count() == 0) {
+        return;
+      }
+      String operation = timer.getId().getTag("service") + "." + timer.getId().getTag("method");
+
+      Map<String, Number> resultsPerOutcome = new HashMap<>();
+      resultsPerOutcome.put("count", timer.count());
+      resultsPerOutcome.put("max", timer.max(TimeUnit.MILLISECONDS));
+      resultsPerOutcome.put("mean", timer.mean(TimeUnit.MILLISECONDS));
+
+      ValueAtPercentile[] percentiles = timer.takeSnapshot().percentileValues();
+      for (ValueAtPercentile percentile : percentiles) {
+        resultsPerOutcome.put(String.valueOf(percentile.percentile()),
+            percentile.value(TimeUnit.MILLISECONDS));
+      }
+
+      resultsHttpPerUri.computeIfAbsent(operation, key -> new HashMap<>())
+          .put(timer.getId().getTag("outcome").toUpperCase(), resultsPerOutcome);
+    });
+
     return resultsHttpPerUri;
   }
 
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.filter;
+
+import com.hazelcast.map.EntryProcessor;
+import java.time.LocalDateTime;
+import java.util.Map;
+import org.jhapy.frontend.utils.SessionInfo;
+
+/**
+ * Removes a session without contact since the cutoff. Checked again on the owning member : a
+ * contact flushed after the query keeps the session.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class ExpireSessionEntryProcessor implements
+    EntryProcessor<String, SessionInfo, SessionInfo> {
+
+  private final LocalDateTime cutoff;
+
+  public ExpireSessionEntryProcessor(LocalDateTime cutoff) {
+    this.cutoff = cutoff;
+  }
+
+  /**
+   * @return the removed session, null when still alive or already removed
+   */
+  @Override
+  public SessionInfo process(Map.Entry<String, SessionInfo> entry) {
+    SessionInfo sessionInfo = entry.getValue();
+    if (sessionInfo == null || sessionInfo.getLastContact() == null || !sessionInfo
+        .getLastContact().isBefore(cutoff)) {
+      return null;
+    }
+    entry.setValue(null);
+    return sessionInfo;
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.filter;
+
+import com.hazelcast.map.EntryProcessor;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import org.jhapy.frontend.utils.SessionInfo;
+
+/**
+ * Moves the last contact of a set of sessions forward to the same instant, on the members owning
+ * them : the session infos never travel through the network, and only the instant travels with
+ * each partition operation.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class LastContactEntryProcessor implements EntryProcessor<String, SessionInfo, Void> {
+
+  /**
+   * Last contact of the sessions, epoch millis.
+   */
+  private final long lastContact;
+
+  public LastContactEntryProcessor(long lastContact) {
+    this.lastContact = lastContact;
+  }
+
+  @Override
+  public Void process(Map.Entry<String, SessionInfo> entry) {
+    SessionInfo sessionInfo = entry.getValue();
+    if (sessionInfo == null) {
+      // Ended meanwhile
+      return null;
+    }
+    LocalDateTime lastContactDateTime = LocalDateTime
+        .ofInstant(Instant.ofEpochMilli(lastContact), ZoneId.systemDefault());
+    if (sessionInfo.getLastContact() == null || sessionInfo.getLastContact()
+        .isBefore(lastContactDateTime)) {
+      sessionInfo.setLastContact(lastContactDateTime);
+      entry.setValue(sessionInfo);
+    }
+    return null;
+  }
+}
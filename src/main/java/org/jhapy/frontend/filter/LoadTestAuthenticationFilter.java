@@ -0,0 +1,94 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.filter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.stream.Collectors;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.jhapy.commons.utils.HasLogger;
+import org.jhapy.frontend.config.AppProperties;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * {@code loadtest} profile only : authenticates a new HTTP session as the user named by the
+ * {@code jhapy.load-test.user-header} request header, so the session load generator does not have
+ * to go through the Keycloak login flow. The security context is stored in the HTTP session, where
+ * the Spring Security filter chain picks it up.
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class LoadTestAuthenticationFilter extends OncePerRequestFilter implements HasLogger {
+
+  public static final String REGISTRATION_ID = "loadtest";
+
+  private final String userHeader;
+  private final Collection<GrantedAuthority> authorities;
+
+  public LoadTestAuthenticationFilter(AppProperties.LoadTest loadTest) {
+    this.userHeader = loadTest.getUserHeader();
+    this.authorities = loadTest.getAuthorities().stream().map(SimpleGrantedAuthority::new)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    String username = request.getHeader(userHeader);
+    if (StringUtils.hasText(username)) {
+      var session = request.getSession();
+      if (session.getAttribute(
+          HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY) == null) {
+        debug(getLoggerPrefix("doFilterInternal"), "Authenticate load test user {0}", username);
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+            new SecurityContextImpl(authenticate(username)));
+      }
+    }
+    filterChain.doFilter(request, response);
+  }
+
+  protected OAuth2AuthenticationToken authenticate(String username) {
+    var now = Instant.now();
+    var idToken = OidcIdToken.withTokenValue(REGISTRATION_ID + "-" + username)
+        .subject(username)
+        .issuedAt(now)
+        .expiresAt(now.plusSeconds(24 * 3600))
+        .claim("preferred_username", username)
+        .claim("email", username + "@loadtest.local")
+        .claim("given_name", username)
+        .claim("family_name", "LoadTest")
+        .build();
+    var user = new DefaultOidcUser(authorities, idToken, "preferred_username");
+    return new OAuth2AuthenticationToken(user, authorities, REGISTRATION_ID);
+  }
+}
@@ -1,21 +1,33 @@
 package org.jhapy.frontend.filter;
 
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.util.concurrent.ConcurrentMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PreDestroy;
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
 import org.jhapy.commons.utils.HasLogger;
+import org.jhapy.frontend.config.AppProperties;
 import org.jhapy.frontend.utils.SessionInfo;
 import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 /**
+ * Tracks the last contact of the user sessions. A request only records its time locally, the
+ * buffered contacts are written to the {@code userSessions} map in one batch every {@code
+ * jhapy.session-tracking.flush-interval-millis}. Static resources are not tracked.
+ *
  * @author Alexandre Clavaud.
  * @version 1.0
  * @since 17/09/2020
@@ -25,26 +37,76 @@ import org.springframework.stereotype.Component;
 public class SessionFilter implements Filter, HasLogger {
 
   private final HazelcastInstance hazelcastInstance;
+  private final AppProperties appProperties;
 
-  public SessionFilter(HazelcastInstance hazelcastInstance) {
+  private final ConcurrentHashMap<String, Long> lastContacts = new ConcurrentHashMap<>();
+
+  public SessionFilter(HazelcastInstance hazelcastInstance, AppProperties appProperties) {
     this.hazelcastInstance = hazelcastInstance;
+    this.appProperties = appProperties;
   }
 
   @Override
   public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
       throws IOException, ServletException {
-    String sessionId = ((HttpServletRequest) request).getSession().getId();
-    if (sessionId != null) {
-      SessionInfo sessionInfo = retrieveMap().getOrDefault(sessionId, null);
-      if (sessionInfo != null) {
-        sessionInfo.setLastContact(LocalDateTime.now());
-        retrieveMap().replace(sessionId, sessionInfo);
+    HttpServletRequest httpServletRequest = (HttpServletRequest) request;
+    if (!isIgnored(httpServletRequest)) {
+      // Never creates a session
+      HttpSession session = httpServletRequest.getSession(false);
+      if (session != null) {
+        lastContacts.put(session.getId(), System.currentTimeMillis());
       }
     }
     chain.doFilter(request, response);
   }
 
-  private ConcurrentMap<String, SessionInfo> retrieveMap() {
+  @Scheduled(fixedDelayString = "${jhapy.session-tracking.flush-interval-millis:5000}")
+  public void flushLastContacts() {
+    var loggerPrefix = getLoggerPrefix("flushLastContacts");
+    if (lastContacts.isEmpty()) {
+      return;
+    }
+    Map<String, Long> batch = new HashMap<>();
+    // Grouped by second, so that each processor only carries one instant
+    Map<Long, Set<String>> sessionIdsBySecond = new HashMap<>();
+    for (String sessionId : lastContacts.keySet()) {
+      Long lastContact = lastContacts.remove(sessionId);
+      if (lastContact != null) {
+        batch.put(sessionId, lastContact);
+        sessionIdsBySecond.computeIfAbsent(lastContact / 1000, second -> new HashSet<>())
+            .add(sessionId);
+      }
+    }
+    IMap<String, SessionInfo> sessions = retrieveMap();
+    sessionIdsBySecond.forEach((second, sessionIds) -> {
+      try {
+        // Sessions not in the map (not logged in yet, ended) are skipped by the processor
+        sessions.executeOnKeys(sessionIds, new LastContactEntryProcessor(second * 1000));
+      } catch (RuntimeException e) {
+        // Kept for the next flush, unless a newer contact was recorded meanwhile
+        sessionIds.forEach(sessionId -> lastContacts.putIfAbsent(sessionId, batch.get(sessionId)));
+        warn(loggerPrefix, "Cannot update the last contacts : {0}", e.getMessage());
+      }
+    });
+    trace(loggerPrefix, "{0} sessions flushed", batch.size());
+  }
+
+  @PreDestroy
+  public void preDestroy() {
+    flushLastContacts();
+  }
+
+  protected boolean isIgnored(HttpServletRequest request) {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    for (String prefix : appProperties.getSessionTracking().getIgnoredPathPrefixes()) {
+      if (path.startsWith(prefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private IMap<String, SessionInfo> retrieveMap() {
     return hazelcastInstance.getMap("userSessions");
   }
 
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2020-2020 the original author or authors from the JHapy project.
+ *
+ * This file is part of the JHapy project, see https://www.jhapy.org/ for more information.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jhapy.frontend.utils;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+import javax.imageio.ImageIO;
+import org.jhapy.dto.utils.StoredFile;
+
+/**
+ * Profile pictures : MIME type sniffed from the first bytes, and small thumbnails for the grids
+ * and the avatar, cached by content so a picture is decoded and scaled once.
+ *
+ * <p>A thumbnail is flagged in the metadata of its {@link StoredFile}. It must not be saved in
+ * place of the picture it was built from, see {@link #isThumbnail(StoredFile)}.</p>
+ *
+ * @author jHapy Lead Dev.
+ * @version 1.0
+ * @since 19/10/2026
+ */
+public class PictureUtils {
+
+  public static final int THUMBNAIL_SIZE = 128;
+
+  public static final String THUMBNAIL_METADATA = "thumbnail";
+  public static final String ORIGINAL_SIZE_METADATA = "originalSize";
+  public static final String ORIGINAL_MIME_TYPE_METADATA = "originalMimeType";
+
+  private static final String DEFAULT_MIME_TYPE = "application/octet-stream";
+
+  private static final int MAX_CACHED_THUMBNAILS = 2000;
+
+  private static final Map<String, StoredFile> thumbnails = new LinkedHashMap<>(256, 0.75f,
+      true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, StoredFile> eldest) {
+      return size() > MAX_CACHED_THUMBNAILS;
+    }
+  };
+
+  private PictureUtils() {
+  }
+
+  public static String detectMimeType(byte[] header) {
+    if (header == null || header.length < 4) {
+      return DEFAULT_MIME_TYPE;
+    }
+    if (startsWith(header, 0x89, 'P', 'N', 'G')) {
+      return "image/png";
+    }
+    if (startsWith(header, 0xFF, 0xD8, 0xFF)) {
+      return "image/jpeg";
+    }
+    if (startsWith(header, 'G', 'I', 'F', '8')) {
+      return "image/gif";
+    }
+    if (startsWith(header, 'B', 'M')) {
+      return "image/bmp";
+    }
+    if (header.length >= 12 && startsWith(header, 'R', 'I', 'F', 'F') && header[8] == 'W'
+        && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+      return "image/webp";
+    }
+    if (startsWith(header, 'I', 'I', 0x2A, 0x00) || startsWith(header, 'M', 'M', 0x00, 0x2A)) {
+      return "image/tiff";
+    }
+    if (startsWith(header, '<', 's', 'v', 'g') || startsWith(header, '<', '?', 'x', 'm')) {
+      return "image/svg+xml";
+    }
+    return DEFAULT_MIME_TYPE;
+  }
+
+  public static String getExtension(String mimeType) {
+    switch (mimeType) {
+      case "image/png":
+        return ".png";
+      case "image/jpeg":
+        return ".jpg";
+      case "image/gif":
+        return ".gif";
+      case "image/bmp":
+        return ".bmp";
+      case "image/webp":
+        return ".webp";
+      case "image/tiff":
+        return ".tiff";
+      case "image/svg+xml":
+        return ".svg";
+      default:
+        return "";
+    }
+  }
+
+  /**
+   * @return the picture, its original content left empty : it is only filled when cropped
+   */
+  public static StoredFile fromBase64(String base64) {
+    byte[] content = Base64.getDecoder().decode(base64);
+    String mimeType = detectMimeType(content);
+
+    StoredFile storedFile = new StoredFile();
+    storedFile.setContent(content);
+    storedFile.setId(UUID.randomUUID().toString());
+    storedFile.setFilename(storedFile.getId() + getExtension(mimeType));
+    storedFile.setFilesize((long) content.length);
+    storedFile.setMimeType(mimeType);
+    return storedFile;
+  }
+
+  /**
+   * @return the thumbnail of a Base64 encoded picture, built on the first call for a picture
+   */
+  public static StoredFile thumbnailFromBase64(String base64) {
+    return thumbnail(digest(base64.getBytes(StandardCharsets.US_ASCII)),
+        () -> Base64.getDecoder().decode(base64));
+  }
+
+  /**
+   * @return the picture itself when already a thumbnail
+   */
+  public static StoredFile thumbnail(StoredFile picture) {
+    if (picture == null || picture.getContent() == null || isThumbnail(picture)) {
+      return picture;
+    }
+    return thumbnail(digest(picture.getContent()), picture::getContent);
+  }
+
+  public static boolean isThumbnail(StoredFile storedFile) {
+    return storedFile != null && storedFile.getMetadata() != null
+        && "true".equals(storedFile.getMetadata().get(THUMBNAIL_METADATA));
+  }
+
+  private static StoredFile thumbnail(String key, Supplier<byte[]> content) {
+    StoredFile cached;
+    synchronized (thumbnails) {
+      cached = thumbnails.get(key);
+    }
+    if (cached == null) {
+      cached = buildThumbnail(content.get());
+      synchronized (thumbnails) {
+        thumbnails.put(key, cached);
+      }
+    }
+    // Callers may replace the content or the metadata of their copy
+    StoredFile storedFile = new StoredFile();
+    storedFile.setId(cached.getId());
+    storedFile.setContent(cached.getContent());
+    storedFile.setFilename(cached.getFilename());
+    storedFile.setFilesize(cached.getFilesize());
+    storedFile.setMimeType(cached.getMimeType());
+    storedFile.getMetadata().putAll(cached.getMetadata());
+    return storedFile;
+  }
+
+  private static StoredFile buildThumbnail(byte[] content) {
+    String mimeType = detectMimeType(content);
+    byte[] thumbnailContent = scale(content);
+    String thumbnailMimeType = "image/png";
+    if (thumbnailContent == null) {
+      // Not readable by ImageIO (SVG, WebP), displayed as is
+      thumbnailContent = content;
+      thumbnailMimeType = mimeType;
+    }
+
+    StoredFile storedFile = new StoredFile();
+    storedFile.setId(UUID.randomUUID().toString());
+    storedFile.setContent(thumbnailContent);
+    storedFile.setFilename(storedFile.getId() + getExtension(thumbnailMimeType));
+    storedFile.setFilesize((long) thumbnailContent.length);
+    storedFile.setMimeType(thumbnailMimeType);
+    storedFile.getMetadata().put(THUMBNAIL_METADATA, "true");
+    storedFile.getMetadata().put(ORIGINAL_SIZE_METADATA, Integer.toString(content.length));
+    storedFile.getMetadata().put(ORIGINAL_MIME_TYPE_METADATA, mimeType);
+    return storedFile;
+  }
+
+  private static byte[] scale(byte[] content) {
+    try {
+      BufferedImage image = ImageIO.read(new ByteArrayInputStream(content));
+      if (image == null) {
+        return null;
+      }
+      double ratio = Math.min(1.0,
+          (double) THUMBNAIL_SIZE / Math.max(image.getWidth(), image.getHeight()));
+      int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+      int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+
+      BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+      Graphics2D graphics = thumbnail.createGraphics();
+      try {
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+            RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.setRenderingHint(RenderingHints.KEY_RENDERING,
+            RenderingHints.VALUE_RENDER_QUALITY);
+        graphics.drawImage(image, 0, 0, width, height, null);
+      } finally {
+        graphics.dispose();
+      }
+
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      ImageIO.write(thumbnail, "png", outputStream);
+      return outputStream.toByteArray();
+    } catch (IOException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  private static String digest(byte[] value) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(value);
+      return Base64.getEncoder().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static boolean startsWith(byte[] header, int... signature) {
+    if (header.length < signature.length) {
+      return false;
+    }
+    for (int i = 0; i < signature.length; i++) {
+      if ((header[i] & 0xFF) != signature[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -30,6 +30,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.jhapy.commons.utils.HasLogger;
@@ -44,8 +45,11 @@ import org.jhapy.dto.serviceQuery.BaseRemoteQuery;
 import org.jhapy.dto.serviceQuery.ServiceResult;
 import org.jhapy.dto.serviceQuery.i18n.FindByIso3Query;
 import org.jhapy.dto.serviceQuery.i18n.GetByNameAndIso3Query;
+import org.jhapy.frontend.client.batch.GetByNamesAndIso3Query;
+import org.jhapy.frontend.client.batch.RemoteBatcher;
 import org.jhapy.frontend.client.i18n.I18NServices;
 import org.jhapy.frontend.utils.AppConst;
+import org.jhapy.frontend.utils.Pair;
 import org.springframework.stereotype.Component;
 
 /**
@@ -56,12 +60,36 @@ import org.springframework.stereotype.Component;
 @Component
 public class MyI18NProvider implements I18NProvider, HasLogger {
 
+  private static final int BATCH_SIZE = 100;
   private static Locale[] availableLanguages = null;
   private Map<String, ElementTrl> elementMap = new HashMap<>();
   private Map<String, ActionTrl> actionMap = new HashMap<>();
   private Map<String, MessageTrl> messageMap = new HashMap<>();
   private String loadedLocale;
 
+  /*
+   * Translations are not user specific, lookups of missing entries are shared between sessions and
+   * concurrent misses are resolved with one remote call.
+   */
+  private final RemoteBatcher<Pair<String, String>, ElementTrl> elementTrlBatcher =
+      new RemoteBatcher<>("elementTrl",
+          keys -> getByNamesAndIso3(keys, I18NServices.getElementTrlService()::getByNamesAndIso3,
+              ElementTrl::getName),
+          key -> getByNameAndIso3(key, I18NServices.getElementTrlService()::getByNameAndIso3),
+          BATCH_SIZE);
+  private final RemoteBatcher<Pair<String, String>, ActionTrl> actionTrlBatcher =
+      new RemoteBatcher<>("actionTrl",
+          keys -> getByNamesAndIso3(keys, I18NServices.getActionTrlService()::getByNamesAndIso3,
+              ActionTrl::getName),
+          key -> getByNameAndIso3(key, I18NServices.getActionTrlService()::getByNameAndIso3),
+          BATCH_SIZE);
+  private final RemoteBatcher<Pair<String, String>, MessageTrl> messageTrlBatcher =
+      new RemoteBatcher<>("messageTrl",
+          keys -> getByNamesAndIso3(keys, I18NServices.getMessageTrlService()::getByNamesAndIso3,
+              MessageTrl::getName),
+          key -> getByNameAndIso3(key, I18NServices.getMessageTrlService()::getByNameAndIso3),
+          BATCH_SIZE);
+
   public static List<Locale> getAvailableLanguagesInDB(Locale currentLanguage) {
     ServiceResult<List<String>> _languages = I18NServices.getI18NService()
         .getExistingLanguages(new BaseRemoteQuery());
@@ -324,11 +352,8 @@ public class MyI18NProvider implements I18NProvider, HasLogger {
     if (element == null) {
       logger().warn(
           loggerPrefix + "Element '" + name + "' not found locally, check on the server");
-      ServiceResult<ElementTrl> _elementTrl = I18NServices.getElementTrlService()
-          .getByNameAndIso3(new GetByNameAndIso3Query(name, iso3Language));
-      if (_elementTrl != null && _elementTrl.getIsSuccess()
-          && _elementTrl.getData() != null) {
-        element = _elementTrl.getData();
+      element = elementTrlBatcher.get(Pair.of(iso3Language, name));
+      if (element != null) {
         elementMap.put(name, element);
 
         return element;
@@ -353,10 +378,8 @@ public class MyI18NProvider implements I18NProvider, HasLogger {
     if (action == null) {
       logger().warn(
           loggerPrefix + "Action '" + name + "' not found locally, check on the server");
-      ServiceResult<ActionTrl> _actionTrl = I18NServices.getActionTrlService()
-          .getByNameAndIso3(new GetByNameAndIso3Query(name, iso3Language));
-      if (_actionTrl != null && _actionTrl.getIsSuccess() && _actionTrl.getData() != null) {
-        action = _actionTrl.getData();
+      action = actionTrlBatcher.get(Pair.of(iso3Language, name));
+      if (action != null) {
         actionMap.put(name, action);
 
         return action;
@@ -385,11 +408,8 @@ public class MyI18NProvider implements I18NProvider, HasLogger {
     if (message == null) {
       logger().warn(
           loggerPrefix + "Message '" + name + "' not found locally, check on the server");
-      ServiceResult<MessageTrl> _messageTrl = I18NServices.getMessageTrlService()
-          .getByNameAndIso3(new GetByNameAndIso3Query(name, iso3Language));
-      if (_messageTrl != null && _messageTrl.getIsSuccess()
-          && _messageTrl.getData() != null) {
-        message = _messageTrl.getData();
+      message = messageTrlBatcher.get(Pair.of(iso3Language, name));
+      if (message != null) {
         messageMap.put(name, message);
 
         return message;
@@ -402,6 +422,31 @@ public class MyI18NProvider implements I18NProvider, HasLogger {
     }
   }
 
+  private static <T> Map<Pair<String, String>, T> getByNamesAndIso3(
+      List<Pair<String, String>> keys,
+      Function<GetByNamesAndIso3Query, ServiceResult<List<T>>> remoteCall,
+      Function<T, String> nameOf) {
+    Map<Pair<String, String>, T> result = new HashMap<>();
+    Map<String, List<String>> namesByIso3 = keys.stream().collect(Collectors
+        .groupingBy(Pair::getFirst, Collectors.mapping(Pair::getSecond, Collectors.toList())));
+    for (Map.Entry<String, List<String>> entry : namesByIso3.entrySet()) {
+      ServiceResult<List<T>> _result = remoteCall
+          .apply(new GetByNamesAndIso3Query(entry.getValue(), entry.getKey()));
+      if (_result == null || !_result.getIsSuccess() || _result.getData() == null) {
+        return null;
+      }
+      _result.getData().forEach(t -> result.put(Pair.of(entry.getKey(), nameOf.apply(t)), t));
+    }
+    return result;
+  }
+
+  private static <T> T getByNameAndIso3(Pair<String, String> key,
+      Function<GetByNameAndIso3Query, ServiceResult<T>> remoteCall) {
+    ServiceResult<T> _result = remoteCall
+        .apply(new GetByNameAndIso3Query(key.getSecond(), key.getFirst()));
+    return _result != null && _result.getIsSuccess() ? _result.getData() : null;
+  }
+
   public void init(Locale locale) {
     loadRemoteLocales(locale.getISO3Language());
   }
@@ -27,11 +27,14 @@ import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.menubar.MenuBar;
 import com.vaadin.flow.component.menubar.MenuBarVariant;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
+import java.util.Optional;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import org.jhapy.commons.security.oauth2.AuthorizationHeaderUtil;
 import org.jhapy.commons.utils.HasLogger;
+import org.jhapy.frontend.client.AccessTokenCache;
+import org.jhapy.frontend.client.ClientBeanRegistry;
 import org.jhapy.frontend.components.FlexBoxLayout;
 import org.jhapy.frontend.layout.size.Bottom;
 import org.jhapy.frontend.layout.size.Horizontal;
@@ -76,6 +79,10 @@ public abstract class CloudConfigBaseView extends Component implements HasLogger
   public void refresh() {
   }
 
+  protected Optional<String> getAuthorizationHeader() {
+    return ClientBeanRegistry.get(AccessTokenCache.class).getAuthorizationHeader(authentication);
+  }
+
   public void setRefreshRate(Integer refreshRate) {
     var loggerPrefix = getLoggerPrefix("setRefreshRate");
     if (refreshRate == null) {
@@ -222,7 +222,7 @@ public class CloudConfigurationTabContent extends CloudConfigBaseView {
   protected void getDetails(String application, String profile, String label) {
     try {
       final HttpHeaders httpHeaders = new HttpHeaders() {{
-        set("Authorization", authorizationHeaderUtil.getAuthorizationHeader().get());
+        set("Authorization", getAuthorizationHeader().get());
         setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
       }};
 
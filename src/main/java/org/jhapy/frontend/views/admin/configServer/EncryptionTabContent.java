@@ -92,7 +92,7 @@ public class EncryptionTabContent extends CloudConfigBaseView {
     encryptButton.addClickListener(event -> {
       if (StringUtils.isNotBlank(inputTextArea.getValue())) {
         final HttpHeaders httpHeaders = new HttpHeaders() {{
-          set("Authorization", authorizationHeaderUtil.getAuthorizationHeader().get());
+          set("Authorization", getAuthorizationHeader().get());
           setAccept(Collections.singletonList(MediaType.TEXT_PLAIN));
         }};
 
@@ -130,7 +130,7 @@ public class EncryptionTabContent extends CloudConfigBaseView {
     encryptButton.addClickListener(event -> {
       if (StringUtils.isNotBlank(inputTextArea.getValue())) {
         final HttpHeaders httpHeaders = new HttpHeaders() {{
-          set("Authorization", authorizationHeaderUtil.getAuthorizationHeader().get());
+          set("Authorization", getAuthorizationHeader().get());
           setAccept(Collections.singletonList(MediaType.TEXT_PLAIN));
         }};
 
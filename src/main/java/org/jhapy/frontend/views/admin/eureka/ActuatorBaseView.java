@@ -28,6 +28,7 @@ import com.vaadin.flow.component.menubar.MenuBar;
 import com.vaadin.flow.component.menubar.MenuBarVariant;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -37,6 +38,8 @@ import org.jhapy.commons.utils.HasLogger;
 import org.jhapy.dto.registry.EurekaApplication;
 import org.jhapy.dto.registry.EurekaApplicationInstance;
 import org.jhapy.dto.registry.EurekaInfo;
+import org.jhapy.frontend.client.AccessTokenCache;
+import org.jhapy.frontend.client.ClientBeanRegistry;
 import org.jhapy.frontend.components.FlexBoxLayout;
 import org.jhapy.frontend.layout.size.Bottom;
 import org.jhapy.frontend.layout.size.Horizontal;
@@ -82,6 +85,10 @@ public abstract class ActuatorBaseView extends Component implements HasLogger {
   public void refresh() {
   }
 
+  protected Optional<String> getAuthorizationHeader() {
+    return ClientBeanRegistry.get(AccessTokenCache.class).getAuthorizationHeader(authentication);
+  }
+
   public void setRefreshRate(Integer refreshRate) {
     var loggerPrefix = getLoggerPrefix("setRefreshRate");
     if (refreshRate == null) {
@@ -118,7 +118,7 @@ public class ConfigurationTabContent extends ActuatorBaseView {
 
     try {
       final HttpHeaders httpHeaders = new HttpHeaders() {{
-        set("Authorization", authorizationHeaderUtil.getAuthorizationHeader().get());
+        set("Authorization", getAuthorizationHeader().get());
         setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
       }};
 
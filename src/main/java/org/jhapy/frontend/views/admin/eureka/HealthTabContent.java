@@ -104,7 +104,7 @@ public class HealthTabContent extends ActuatorBaseView {
                   + currentEurekaApplicationInstance.getMetadata().get("management.url")
                   + "/restart");
           final HttpHeaders httpHeaders = new HttpHeaders() {{
-            set("Authorization", authorizationHeaderUtil.getAuthorizationHeader().get());
+            set("Authorization", getAuthorizationHeader().get());
             setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
             setContentType(MediaType.APPLICATION_JSON);
           }};
@@ -126,7 +126,7 @@ public class HealthTabContent extends ActuatorBaseView {
                   + currentEurekaApplicationInstance.getMetadata().get("management.url")
                   + "/shutdown");
           final HttpHeaders httpHeaders = new HttpHeaders() {{
-            set("Authorization", authorizationHeaderUtil.getAuthorizationHeader().get());
+            set("Authorization", getAuthorizationHeader().get());
             setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
             setContentType(MediaType.APPLICATION_JSON);
           }};
@@ -369,7 +369,7 @@ public class HealthTabContent extends ActuatorBaseView {
             .getInstanceId());
 
     final HttpHeaders httpHeaders = new HttpHeaders() {{
-      set("Authorization", authorizationHeaderUtil.getAuthorizationHeader().get());
+      set("Authorization", getAuthorizationHeader().get());
       setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
     }};
 
@@ -36,6 +36,7 @@ import org.jhapy.dto.registry.EurekaApplicationInstance;
 import org.jhapy.dto.registry.EurekaInfo;
 import org.jhapy.dto.serviceQuery.BaseRemoteQuery;
 import org.jhapy.dto.serviceQuery.ServiceResult;
+import org.jhapy.frontend.client.BaseServices;
 import org.jhapy.frontend.client.registry.RegistryServices;
 import org.jhapy.frontend.client.security.SecurityServices;
 import org.jhapy.frontend.components.Badge;
@@ -62,6 +63,8 @@ public class HomeTabContent extends ActuatorBaseView {
   protected Component homeContentThirdRow;
   protected EurekaInfo eurekaInfo;
   private List<String> replicas;
+  private ServiceResult<SystemInfo> systemInfoServiceResult;
+  private ServiceResult<MemoryInfo> memoryInfoServiceResult;
 
   public HomeTabContent(UI ui, String I18N_PREFIX,
       AuthorizationHeaderUtil authorizationHeaderUtil) {
@@ -88,8 +91,19 @@ public class HomeTabContent extends ActuatorBaseView {
 
   protected void getDetails(EurekaApplication eurekaApplication,
       EurekaApplicationInstance eurekaApplicationInstance) {
-    ServiceResult<List<String>> replicasResult = RegistryServices.getEurekaService()
-        .replicas(new BaseRemoteQuery());
+    var asyncRemoteCalls = BaseServices.getAsyncRemoteCalls();
+    var eurekaService = RegistryServices.getEurekaService();
+    var keycloakClient = SecurityServices.getKeycloakClient();
+
+    var replicasFuture = asyncRemoteCalls
+        .supply(() -> eurekaService.replicas(new BaseRemoteQuery()));
+    var systemInfoFuture = asyncRemoteCalls.supply(keycloakClient::getServerSystemInfo);
+    var memoryInfoFuture = asyncRemoteCalls.supply(keycloakClient::getServerMemoryInfo);
+
+    ServiceResult<List<String>> replicasResult = replicasFuture.join();
+    systemInfoServiceResult = systemInfoFuture.join();
+    memoryInfoServiceResult = memoryInfoFuture.join();
+
     if (replicasResult.getIsSuccess() && replicasResult.getData() != null) {
       replicas = replicasResult.getData();
     }
@@ -328,9 +342,8 @@ public class HomeTabContent extends ActuatorBaseView {
     Div items = new Div();
     items.addClassNames(BoxShadowBorders.BOTTOM, LumoStyles.Padding.Bottom.L);
 
-    ServiceResult<SystemInfo> systemInfoServiceResult = SecurityServices.getKeycloakClient()
-        .getServerSystemInfo();
-    if (systemInfoServiceResult.getIsSuccess() && systemInfoServiceResult.getData() != null) {
+    if (systemInfoServiceResult != null && systemInfoServiceResult.getIsSuccess()
+        && systemInfoServiceResult.getData() != null) {
       SystemInfo systemInfo = systemInfoServiceResult.getData();
       ListItem versionItem = new ListItem(
           getTranslation("element." + I18N_PREFIX + "keycloakinfo.version"),
@@ -373,9 +386,8 @@ public class HomeTabContent extends ActuatorBaseView {
     Div items = new Div();
     items.addClassNames(BoxShadowBorders.BOTTOM, LumoStyles.Padding.Bottom.L);
 
-    ServiceResult<MemoryInfo> memoryInfoServiceResult = SecurityServices.getKeycloakClient()
-        .getServerMemoryInfo();
-    if (memoryInfoServiceResult.getIsSuccess() && memoryInfoServiceResult.getData() != null) {
+    if (memoryInfoServiceResult != null && memoryInfoServiceResult.getIsSuccess()
+        && memoryInfoServiceResult.getData() != null) {
       MemoryInfo memoryInfo = memoryInfoServiceResult.getData();
       ListItem totalMemoryItem = new ListItem(
           getTranslation("element." + I18N_PREFIX + "keycloakinfo.totalMemory"),
@@ -135,7 +135,7 @@ public class LoggersTabContent extends ActuatorBaseView {
             .getInstanceId());
     try {
       final HttpHeaders httpHeaders = new HttpHeaders() {{
-        set("Authorization", authorizationHeaderUtil.getAuthorizationHeader().get());
+        set("Authorization", getAuthorizationHeader().get());
         setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
       }};
 
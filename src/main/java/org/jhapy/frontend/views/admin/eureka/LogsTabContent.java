@@ -92,7 +92,7 @@ public class LogsTabContent extends ActuatorBaseView {
             .getInstanceId());
     try {
       final HttpHeaders httpHeaders = new HttpHeaders() {{
-        set("Authorization", authorizationHeaderUtil.getAuthorizationHeader().get());
+        set("Authorization", getAuthorizationHeader().get());
         setAccept(Collections.singletonList(MediaType.TEXT_PLAIN));
       }};
 
@@ -60,6 +60,7 @@ import org.jhapy.dto.registry.HttpRequests;
 import org.jhapy.dto.registry.HttpRequests.HttpRequest;
 import org.jhapy.dto.registry.Thread;
 import org.jhapy.dto.registry.Thread.StackTrace;
+import org.jhapy.frontend.client.BaseServices;
 import org.jhapy.frontend.components.Badge;
 import org.jhapy.frontend.components.FlexBoxLayout;
 import org.jhapy.frontend.components.ListItem;
@@ -798,8 +799,7 @@ public class MetricsTabContent extends ActuatorBaseView {
 
     try {
       final HttpHeaders httpHeaders;
-      Optional<String> authorization = authorizationHeaderUtil
-          .getAuthorizationHeader(authentication);
+      Optional<String> authorization = getAuthorizationHeader();
       if (authorization.isPresent()) {
         httpHeaders = new HttpHeaders() {{
           set("Authorization", authorization.get());
@@ -813,19 +813,25 @@ public class MetricsTabContent extends ActuatorBaseView {
           "Application : " + eurekaApplication.getName() + ", Metrics Url = "
               + eurekaApplicationInstance.getMetadata().get("management.url")
               + "/jhametrics");
-      ResponseEntity<String> jhametricsResponseEntity = restTemplate.exchange(URI.create(
-          eurekaApplicationInstance.getMetadata().get("management.url") + "/jhametrics"),
-          HttpMethod.GET,
-          new HttpEntity<>(httpHeaders), String.class);
+      String managementUrl = eurekaApplicationInstance.getMetadata().get("management.url");
+      var asyncRemoteCalls = BaseServices.getAsyncRemoteCalls();
+      var jhametricsFuture = asyncRemoteCalls.supply(() -> restTemplate.exchange(
+          URI.create(managementUrl + "/jhametrics"), HttpMethod.GET,
+          new HttpEntity<>(httpHeaders), String.class));
+      var threadDumpFuture = asyncRemoteCalls.supply(() -> restTemplate.exchange(
+          URI.create(managementUrl + "/threaddump"), HttpMethod.GET,
+          new HttpEntity<>(httpHeaders), String.class));
+      var metricsFuture = asyncRemoteCalls.supply(() -> restTemplate.exchange(
+          URI.create(managementUrl + "/metrics"), HttpMethod.GET,
+          new HttpEntity<>(httpHeaders), String.class));
+
+      ResponseEntity<String> jhametricsResponseEntity = jhametricsFuture.join();
       String jhametricsBody = jhametricsResponseEntity.getBody();
 
       JSONParser jsonParser = new JSONParser();
       JSONObject jhametricsObject = (JSONObject) jsonParser.parse(jhametricsBody);
 
-      ResponseEntity<String> threadDumpResponseEntity = restTemplate.exchange(URI.create(
-          eurekaApplicationInstance.getMetadata().get("management.url") + "/threaddump"),
-          HttpMethod.GET,
-          new HttpEntity<>(httpHeaders), String.class);
+      ResponseEntity<String> threadDumpResponseEntity = threadDumpFuture.join();
       String threaddumpBody = threadDumpResponseEntity.getBody();
 
       JSONObject threaddumpObject = (JSONObject) jsonParser.parse(threaddumpBody);
@@ -834,10 +840,7 @@ public class MetricsTabContent extends ActuatorBaseView {
       Thread[] threads = mapper
           .readValue(threaddumpObject.get("threads").toString(), Thread[].class);
 
-      ResponseEntity<String> metricsResponseEntity = restTemplate.exchange(URI.create(
-          eurekaApplicationInstance.getMetadata().get("management.url") + "/metrics"),
-          HttpMethod.GET,
-          new HttpEntity<>(httpHeaders), String.class);
+      ResponseEntity<String> metricsResponseEntity = metricsFuture.join();
       String metricsBody = metricsResponseEntity.getBody();
 
 //      logger().debug("Thread = " + threads);
@@ -19,6 +19,7 @@
 package org.jhapy.frontend.views.admin.security;
 
 import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.ItemLabelGenerator;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.checkbox.Checkbox;
@@ -26,12 +27,18 @@ import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.formlayout.FormLayout;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.grid.Grid.SelectionMode;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.notification.Notification.Position;
 import com.vaadin.flow.component.textfield.EmailField;
 import com.vaadin.flow.component.textfield.PasswordField;
 import com.vaadin.flow.component.textfield.TextArea;
 import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.data.renderer.TextRenderer;
+import com.vaadin.flow.server.StreamRegistration;
+import com.vaadin.flow.server.StreamResource;
+import com.vaadin.flow.server.VaadinSession;
 import de.codecamp.vaadin.security.spring.access.rules.RequiresRole;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -39,6 +46,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import org.apache.commons.lang3.StringUtils;
+import org.jhapy.commons.utils.HasLogger;
 import org.jhapy.dto.domain.security.SecurityKeycloakGroup;
 import org.jhapy.dto.domain.security.SecurityKeycloakRole;
 import org.jhapy.dto.domain.security.SecurityKeycloakUser;
@@ -46,10 +54,17 @@ import org.jhapy.dto.serviceQuery.SearchQuery;
 import org.jhapy.dto.serviceQuery.SearchQueryResult;
 import org.jhapy.dto.serviceQuery.ServiceResult;
 import org.jhapy.dto.serviceQuery.generic.DeleteByStrIdQuery;
+import org.jhapy.dto.serviceQuery.generic.GetByStrIdQuery;
 import org.jhapy.dto.serviceQuery.generic.SaveQuery;
 import org.jhapy.dto.utils.SecurityConst;
+import org.jhapy.dto.utils.StoredFile;
+import org.jhapy.frontend.client.BaseServices;
 import org.jhapy.frontend.client.security.SecurityServices;
+import org.jhapy.frontend.client.security.keycloak.KeycloakBulkReport;
+import org.jhapy.frontend.client.security.keycloak.KeycloakClient;
+import org.jhapy.frontend.components.ImportFileDialog;
 import org.jhapy.frontend.components.navigation.bar.AppBar;
+import org.jhapy.frontend.customFields.ImageField;
 import org.jhapy.frontend.dataproviders.DefaultFilter;
 import org.jhapy.frontend.dataproviders.SecurityUserKeycloakDataProvider;
 import org.jhapy.frontend.utils.AppConst;
@@ -65,7 +80,8 @@ import org.vaadin.gatanaso.MultiselectComboBox;
 @I18NPageTitle(messageKey = AppConst.TITLE_SECURITY_USERS)
 @RequiresRole(SecurityConst.ROLE_ADMIN)
 public class SecurityKeycloakUsersView extends
-    DefaultMasterDetailsView<SecurityKeycloakUser, DefaultFilter, SearchQuery, SearchQueryResult> {
+    DefaultMasterDetailsView<SecurityKeycloakUser, DefaultFilter, SearchQuery, SearchQueryResult>
+    implements HasLogger {
 
   public SecurityKeycloakUsersView(MyI18NProvider myI18NProvider) {
     super("securityUser.", SecurityKeycloakUser.class, new SecurityUserKeycloakDataProvider(),
@@ -88,6 +104,70 @@ public class SecurityKeycloakUsersView extends
     });
 
     appBar.addActionItem(clearCacheButton);
+
+    Button exportButton = new Button(getTranslation("action.securityUser.export"));
+    exportButton.addClickListener(buttonClickEvent -> {
+      // Streamed to the browser while the users are read
+      final StreamResource resource = new StreamResource("users.jsonl",
+          (outputStream, vaadinSession) -> SecurityServices.getKeycloakBulkTransfer()
+              .exportTo(outputStream, report -> {
+              }));
+      final StreamRegistration registration = VaadinSession.getCurrent().getResourceRegistry()
+          .registerResource(resource);
+      UI.getCurrent().getPage().setLocation(registration.getResourceUri());
+    });
+    appBar.addActionItem(exportButton);
+
+    Button importButton = new Button(getTranslation("action.securityUser.import"));
+    importButton.addClickListener(buttonClickEvent -> {
+      // Uploaded to a temporary file, the import streams it
+      ImportFileDialog<File> importFileDialog = new ImportFileDialog<>();
+      importFileDialog
+          .openForFile(getTranslation("element.securityUser.import"),
+              getTranslation("message.securityUser.import"), null,
+              getTranslation("action.securityUser.import"), file -> {
+                importFileDialog.close();
+                importUsers(file);
+              }, importFileDialog::close);
+    });
+    appBar.addActionItem(importButton);
+  }
+
+  /**
+   * Queues the import of the file, the UI polls for its progress meanwhile.
+   */
+  protected void importUsers(File file) {
+    var loggerPrefix = getLoggerPrefix("importUsers");
+    UI ui = UI.getCurrent();
+    Notification progressNotification = new Notification(
+        getTranslation("message.securityUser.importStarted"), 0, Position.BOTTOM_END);
+    progressNotification.open();
+    ui.setPollInterval(1000);
+
+    SecurityServices.getKeycloakBulkTransfer().importInBackground(file,
+        progress -> ui.access(() -> progressNotification.setText(
+            getTranslation("message.securityUser.importProgress", progress.toString()))))
+        .whenComplete((report, e) -> {
+          if (e != null) {
+            error(loggerPrefix, e, "Import failed : {0}", e.getMessage());
+          }
+          ui.access(() -> {
+            ui.setPollInterval(-1);
+            progressNotification.close();
+            if (report == null) {
+              JHapyMainView3.get()
+                  .displayInfoMessage(getTranslation("message.fileImport.error", ""));
+            } else if (report.getFailed() == 0) {
+              JHapyMainView3.get().displayInfoMessage(
+                  getTranslation("message.fileImport.success"), report.toString());
+            } else {
+              JHapyMainView3.get().displayInfoMessage(
+                  getTranslation("message.fileImport.error", report.toString()),
+                  String.join("\n", report.getErrors()));
+            }
+            dataProvider.refreshAll();
+          });
+        });
   }
 
   protected Grid createGrid() {
@@ -122,6 +202,18 @@ public class SecurityKeycloakUsersView extends
     return grid;
   }
 
+  protected void showDetails(SecurityKeycloakUser entity) {
+    // Grid rows carry no effective roles, the details need the full user
+    if (entity.getId() != null && entity.getEffectiveRoles() == null) {
+      ServiceResult<SecurityKeycloakUser> userServiceResult = SecurityServices.getKeycloakClient()
+          .getUserById(new GetByStrIdQuery(entity.getId()));
+      if (userServiceResult.getIsSuccess() && userServiceResult.getData() != null) {
+        entity = userServiceResult.getData();
+      }
+    }
+    super.showDetails(entity);
+  }
+
   protected Component createDetails(SecurityKeycloakUser securityUser) {
     boolean isNew = securityUser.getId() == null;
     detailsDrawerHeader.setTitle(isNew ? getTranslation("element.global.new") + " : "
@@ -165,11 +257,15 @@ public class SecurityKeycloakUsersView extends
         .setItemLabelGenerator((ItemLabelGenerator<Locale>) Locale::getDisplayName);
     defaultLocaleField.setWidthFull();
 
+    var asyncKeycloakClient = BaseServices.getAsyncRemoteCalls()
+        .of(SecurityServices.getKeycloakClient());
+    var allRolesFuture = asyncKeycloakClient.call(KeycloakClient::getRoles);
+    var allGroupsFuture = asyncKeycloakClient.call(KeycloakClient::getGroups);
+
     MultiselectComboBox<SecurityKeycloakRole> rolesField = new MultiselectComboBox<>();
     rolesField.setItemLabelGenerator(
         (ItemLabelGenerator<SecurityKeycloakRole>) SecurityKeycloakRole::getName);
-    ServiceResult<List<SecurityKeycloakRole>> allRolesServiceResult = SecurityServices
-        .getKeycloakClient().getRoles();
+    ServiceResult<List<SecurityKeycloakRole>> allRolesServiceResult = allRolesFuture.join();
     if (allRolesServiceResult.getIsSuccess() && allRolesServiceResult.getData() != null) {
       rolesField.setItems(allRolesServiceResult.getData());
     }
@@ -178,8 +274,7 @@ public class SecurityKeycloakUsersView extends
     MultiselectComboBox<SecurityKeycloakGroup> groupsField = new MultiselectComboBox<>();
     groupsField.setItemLabelGenerator(
         (ItemLabelGenerator<SecurityKeycloakGroup>) SecurityKeycloakGroup::getName);
-    ServiceResult<List<SecurityKeycloakGroup>> allGroupsServiceResult = SecurityServices
-        .getKeycloakClient().getGroups();
+    ServiceResult<List<SecurityKeycloakGroup>> allGroupsServiceResult = allGroupsFuture.join();
     if (allGroupsServiceResult.getIsSuccess() && allGroupsServiceResult.getData() != null) {
       groupsField.setItems(allGroupsServiceResult.getData());
     }
@@ -188,6 +283,18 @@ public class SecurityKeycloakUsersView extends
     TextArea effectiveRolesField = new TextArea();
     effectiveRolesField.setWidthFull();
 
+    ImageField pictureField = new ImageField();
+    pictureField.setWidthFull();
+    // The users only carry a thumbnail, the full picture is read for edition
+    pictureField.setFullPictureLoader(thumbnail -> {
+      if (securityUser.getId() == null) {
+        return null;
+      }
+      ServiceResult<StoredFile> pictureResult = SecurityServices.getKeycloakClient()
+          .getUserPicture(new GetByStrIdQuery(securityUser.getId()));
+      return pictureResult.getIsSuccess() ? pictureResult.getData() : null;
+    });
+
     Button impressionateButton = UIUtils
         .createButton(getTranslation("action." + I18N_PREFIX + "impressionate"));
     impressionateButton.addClickListener(buttonClickEvent -> SecurityServices.getKeycloakClient()
@@ -212,6 +319,8 @@ public class SecurityKeycloakUsersView extends
     editingForm
         .addFormItem(lastNameField, getTranslation("element." + I18N_PREFIX + "lastName"));
 
+    editingForm
+        .addFormItem(pictureField, getTranslation("element." + I18N_PREFIX + "picture"));
     editingForm.addFormItem(titleField, getTranslation("element." + I18N_PREFIX + "title"));
     editingForm.addFormItem(emailField, getTranslation("element." + I18N_PREFIX + "email"));
     editingForm
@@ -260,6 +369,7 @@ public class SecurityKeycloakUsersView extends
             SecurityKeycloakUser::setLastName);
     binder.bind(emailField, SecurityKeycloakUser::getEmail, SecurityKeycloakUser::setEmail);
     binder.bind(titleField, SecurityKeycloakUser::getTitle, SecurityKeycloakUser::setTitle);
+    binder.bind(pictureField, SecurityKeycloakUser::getPicture, SecurityKeycloakUser::setPicture);
     binder.bind(mobileNumberField, SecurityKeycloakUser::getMobileNumber,
         SecurityKeycloakUser::setMobileNumber);
     binder.bind(isEmailVerifiedField, SecurityKeycloakUser::getEmailVerified,